@@ -0,0 +1,52 @@
+package com.naviksha.service;
+
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.scoring.RiasecVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RIASEC Benchmark
+ * 
+ * Answer scoring through the compiled RiasecAnswerTable, for the sample
+ * persona's partial answers and for all fourteen Likert questions answered.
+ * Independent of catalog size, so it is kept out of ScoringBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class RiasecBenchmark {
+
+    private ScoringService scoringService;
+    private Map<String, Object> partialAnswers;
+    private Map<String, Object> fullAnswers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        scoringService = ScoringBenchmark.createScoringService(List.of());
+        TestSubmissionDTO submission = ScoringBenchmark.sampleSubmission();
+        partialAnswers = submission.getAnswers();
+
+        fullAnswers = new HashMap<>();
+        for (int q = 1; q <= 14; q++) {
+            fullAnswers.put(String.format("v_%02d", q), 1 + q % 5);
+        }
+    }
+
+    @Benchmark
+    public RiasecVector calculateRiasecScoresPartial() {
+        return scoringService.calculateRiasecScores(partialAnswers);
+    }
+
+    @Benchmark
+    public RiasecVector calculateRiasecScoresFull() {
+        return scoringService.calculateRiasecScores(fullAnswers);
+    }
+}
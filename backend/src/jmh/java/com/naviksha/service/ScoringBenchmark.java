@@ -0,0 +1,167 @@
+package com.naviksha.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.model.Career;
+import com.naviksha.model.StudentReport;
+import com.naviksha.repository.CareerRepository;
+import com.naviksha.scoring.BucketRanking;
+import com.naviksha.scoring.CareerCatalog;
+import com.naviksha.scoring.CompiledCareer;
+import com.naviksha.scoring.ScoringProfile;
+import com.naviksha.synthetic.SyntheticDataCli;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Scoring Benchmark
+ * 
+ * JMH benchmarks for the scoring hot path at several catalog sizes.
+ * Run with: mvn -P benchmark verify (results in target/jmh-result.json)
+ * 
+ * BENCHMARKS:
+ * - computeCareerReport: full submit path (catalog compile, ranking, report); AI enhancement stubbed
+ * - computeFinalScore: every career scored against one compiled profile
+ * - analyzeTextAlignment: free-text alignment for every career
+ * - bucketAggregation: scores folded into per-bucket averages and top-K heaps
+ *   (the fused replacement of groupIntoBuckets)
+ * 
+ * Catalogs come from SyntheticDataGenerator with a fixed seed.
+ * Answer scoring (calculateRiasecScores) does not depend on the catalog, see RiasecBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ScoringBenchmark {
+
+    // Same seed, same catalogs, so runs are comparable across commits
+    static final long BENCHMARK_SEED = 42;
+
+    @Param({"32", "1000", "10000", "100000"})
+    private int catalogSize;
+
+    private ScoringService scoringService;
+    private SubjectivityAnalysisService subjectivityService;
+    private List<Career> careers;
+    private CareerCatalog catalog;
+    private ScoringProfile profile;
+    private TestSubmissionDTO submission;
+    private String subjectiveText;
+    private double[] scores;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        careers = SyntheticDataCli.fromClasspath(BENCHMARK_SEED).careers(catalogSize).collect(Collectors.toList());
+        submission = sampleSubmission();
+        subjectiveText = (String) submission.getAnswers().get("v_15");
+        scoringService = createScoringService(careers);
+        subjectivityService = (SubjectivityAnalysisService) ReflectionTestUtils.getField(scoringService, "subjectivityService");
+
+        catalog = CareerCatalog.compile(careers);
+        profile = scoringService.compileProfile(submission,
+            scoringService.calculateRiasecScores(submission.getAnswers()), catalog);
+        scores = new double[catalog.size()];
+        for (int c = 0; c < scores.length; c++) {
+            scores[c] = scoringService.computeFinalScore(catalog.getCareers().get(c), profile);
+        }
+    }
+
+    @Benchmark
+    public StudentReport computeCareerReport() {
+        return scoringService.computeCareerReport(submission);
+    }
+
+    @Benchmark
+    public void computeFinalScore(Blackhole blackhole) {
+        for (CompiledCareer career : catalog.getCareers()) {
+            blackhole.consume(scoringService.computeFinalScore(career, profile));
+        }
+    }
+
+    @Benchmark
+    public void analyzeTextAlignment(Blackhole blackhole) {
+        for (Career career : careers) {
+            blackhole.consume(subjectivityService.analyzeTextAlignment(subjectiveText, career));
+        }
+    }
+
+    @Benchmark
+    public int[] bucketAggregation() {
+        List<CompiledCareer> compiled = catalog.getCareers();
+        BucketRanking ranking = new BucketRanking(catalog.getBuckets().size(), 5);
+        for (int c = 0; c < scores.length; c++) {
+            ranking.add(compiled.get(c).getBucketOrdinal(), c, scores[c]);
+        }
+        return ranking.rankedBuckets(5);
+    }
+
+    /**
+     * ScoringService wired by hand: real catalog, keyword, question and rules services,
+     * a stub-only repository and a pass-through AI client
+     */
+    static ScoringService createScoringService(List<Career> careers) {
+        CareerRepository careerRepository = mock(CareerRepository.class, withSettings().stubOnly());
+        when(careerRepository.findAllForScoring()).thenReturn(careers);
+        AIServiceClient aiServiceClient = mock(AIServiceClient.class, withSettings().stubOnly());
+        when(aiServiceClient.enhanceReport(any(StudentReport.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ScoringService scoringService = new ScoringService();
+        ReflectionTestUtils.setField(scoringService, "careerService", new CareerService(careerRepository));
+        ReflectionTestUtils.setField(scoringService, "subjectivityService", new SubjectivityAnalysisService());
+        ReflectionTestUtils.setField(scoringService, "testService", new TestService(new ObjectMapper()));
+        ReflectionTestUtils.setField(scoringService, "scoringConfig", new ScoringConfig());
+        ReflectionTestUtils.setField(scoringService, "scoringRulesService",
+            new ScoringRulesService(new ObjectMapper(), new ScoringConfig()));
+        ReflectionTestUtils.setField(scoringService, "aiServiceClient", aiServiceClient);
+        return scoringService;
+    }
+
+    /**
+     * Same profile as the Aisha persona in ScoringServiceTests
+     */
+    static TestSubmissionDTO sampleSubmission() {
+        return TestSubmissionDTO.builder()
+            .userName("Aisha")
+            .grade(11)
+            .board("CBSE")
+            .answers(Map.of(
+                "v_01", 2,
+                "v_02", 3,
+                "v_03", 5,
+                "v_04", 2,
+                "v_05", 3,
+                "v_06", 2,
+                "v_09", 5,
+                "v_14", 5,
+                "v_15", "I loved building a small robot in class because I enjoyed solving mechanical puzzles and coding the behavior."
+            ))
+            .subjectScores(Map.of(
+                "Mathematics", 88,
+                "Physics", 82,
+                "Chemistry", 74,
+                "Computer Science", 60,
+                "English", 78
+            ))
+            .extracurriculars(Arrays.asList("Robotics / Coding", "Debate / MUN"))
+            .parentCareers(Arrays.asList("IT / Software"))
+            .studyAbroadPreference(true)
+            .workStylePreference("Office / Lab work")
+            .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.naviksha.config;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.naviksha.model.Career;
+import com.naviksha.service.CareerCsv;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Career Schema Migration
+ *
+ * Versioned migration of the careers collection, run once at startup before
+ * the catalog is first read (CareerService depends on this bean).
+ *
+ * VERSIONS:
+ * - 1: list fields stored as strings: primarySubjects and tags as
+ *   ["Mathematics","Physics"], top5CollegeCourses comma-separated,
+ *   microprojects semicolon-separated
+ * - 2: the same fields as native arrays (Career List fields), so tags and
+ *   subjects get multikey indexes and no reader splits strings
+ *
+ * The applied version is kept per collection in schema_migrations. Only
+ * documents that still hold a string in one of the fields are rewritten, in
+ * unordered bulk batches, and the parsing is the seed importer's (CareerCsv);
+ * an interrupted or concurrent run therefore just converges.
+ */
+@Component("careerSchemaMigration")
+@RequiredArgsConstructor
+@Slf4j
+public class CareerSchemaMigration {
+
+    public static final int CURRENT_VERSION = 2;
+
+    private static final String MIGRATIONS_COLLECTION = "schema_migrations";
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @PostConstruct
+    void migrate() {
+        String collection = mongoTemplate.getCollectionName(Career.class);
+        int applied = appliedVersion(collection);
+        if (applied >= CURRENT_VERSION) {
+            log.debug("Collection {} is at schema v{}", collection, applied);
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        long rewritten = migrateListFields(mongoTemplate.getCollection(collection));
+        recordVersion(collection, CURRENT_VERSION);
+        log.info("Migrated {} from schema v{} to v{}: {} documents rewritten in {} ms",
+            collection, applied, CURRENT_VERSION, rewritten, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * v1 -> v2: string list fields to native arrays
+     */
+    private long migrateListFields(MongoCollection<Document> careers) {
+        Bson storedAsStrings = Filters.or(
+            Filters.type("primarySubjects", BsonType.STRING),
+            Filters.type("tags", BsonType.STRING),
+            Filters.type("top5CollegeCourses", BsonType.STRING),
+            Filters.type("microprojects", BsonType.STRING));
+
+        long rewritten = 0;
+        List<WriteModel<Document>> batch = new ArrayList<>(BATCH_SIZE);
+        try (MongoCursor<Document> cursor = careers.find(storedAsStrings).iterator()) {
+            while (cursor.hasNext()) {
+                Document career = cursor.next();
+                List<Bson> updates = new ArrayList<>(4);
+                convert(updates, career, "primarySubjects", CareerCsv::parseJsonList);
+                convert(updates, career, "tags", CareerCsv::parseJsonList);
+                convert(updates, career, "top5CollegeCourses", value -> CareerCsv.parseDelimited(value, ","));
+                convert(updates, career, "microprojects", value -> CareerCsv.parseDelimited(value, ";"));
+                batch.add(new UpdateOneModel<>(Filters.eq("_id", career.get("_id")), Updates.combine(updates)));
+                if (batch.size() == BATCH_SIZE) {
+                    rewritten += flush(careers, batch);
+                }
+            }
+        }
+        return rewritten + flush(careers, batch);
+    }
+
+    private static void convert(List<Bson> updates, Document career, String field,
+                                Function<String, List<String>> parser) {
+        Object value = career.get(field);
+        if (value instanceof String) {
+            updates.add(Updates.set(field, parser.apply((String) value)));
+        }
+    }
+
+    private static long flush(MongoCollection<Document> careers, List<WriteModel<Document>> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        BulkWriteResult result = careers.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+        batch.clear();
+        return result.getModifiedCount();
+    }
+
+    private int appliedVersion(String collection) {
+        Document state = mongoTemplate.getCollection(MIGRATIONS_COLLECTION)
+            .find(Filters.eq("_id", collection)).first();
+        // No record: the original string layout
+        return state != null ? state.getInteger("version", 1) : 1;
+    }
+
+    private void recordVersion(String collection, int version) {
+        mongoTemplate.getCollection(MIGRATIONS_COLLECTION).replaceOne(
+            Filters.eq("_id", collection),
+            new Document("_id", collection).append("version", version).append("appliedAt", new Date()),
+            new ReplaceOptions().upsert(true));
+    }
+}
@@ -0,0 +1,287 @@
+package com.naviksha.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Scoring Engine Configuration
+ *
+ * Configuration properties for the career scoring engine (ScoringService)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scoring")
+@Data
+public class ScoringConfig {
+
+    /**
+     * Parallel scoring settings for large career catalogs
+     */
+    private Parallel parallel = new Parallel();
+
+    /**
+     * Cohort (batch) scoring settings
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * SIMD feature-matrix kernel settings
+     */
+    private Simd simd = new Simd();
+
+    /**
+     * Duplicate submission (idempotency) settings
+     */
+    private Dedup dedup = new Dedup();
+
+    /**
+     * Upper-bound bucket pruning settings
+     */
+    private Pruning pruning = new Pruning();
+
+    /**
+     * Archetype candidate cache settings
+     */
+    private ArchetypeCache archetypeCache = new ArchetypeCache();
+
+    /**
+     * What-if delta re-scoring settings
+     */
+    private WhatIf whatIf = new WhatIf();
+
+    /**
+     * Offline replay settings
+     */
+    private Replay replay = new Replay();
+
+    /**
+     * Scoring rules file settings
+     */
+    private Rules rules = new Rules();
+
+    /**
+     * Off-heap career column store settings
+     */
+    private ColumnStore columnStore = new ColumnStore();
+
+    /**
+     * Local binary snapshot of the career catalog used for warm startup
+     */
+    private CatalogSnapshot catalogSnapshot = new CatalogSnapshot();
+
+    /**
+     * Cross-instance catalog change detection
+     */
+    private CatalogSync catalogSync = new CatalogSync();
+
+    @Data
+    public static class Parallel {
+
+        /**
+         * Whether large catalogs are scored on the dedicated fork/join pool
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Student x career score count below which scoring always stays sequential
+         * Default: 2000 - smaller jobs score faster on the request thread
+         */
+        private int threshold = 2000;
+
+        /**
+         * Number of careers scored by one leaf task
+         * Default: 512
+         */
+        private int chunkSize = 512;
+
+        /**
+         * Worker threads in the scoring pool
+         * Default: 0 (use the number of available processors)
+         */
+        private int parallelism = 0;
+    }
+
+    @Data
+    public static class Batch {
+
+        /**
+         * Students scored together as one students x careers matrix block
+         * Default: 64
+         */
+        private int blockSize = 64;
+
+        /**
+         * Largest cohort accepted by the batch endpoint
+         * Default: 10000 submissions
+         */
+        private int maxSubmissions = 10000;
+    }
+
+    @Data
+    public static class Simd {
+
+        /**
+         * Score the RIASEC and subject components on the dense career feature
+         * matrix instead of per career. Uses the JDK Vector API when the JVM runs
+         * with --add-modules jdk.incubator.vector, a scalar loop otherwise.
+         * Default: false - the matrix works in float precision
+         */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Dedup {
+
+        /**
+         * Whether identical submissions reuse the in-flight or cached report
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long a completed report is reused for an identical submission
+         * Default: 600 seconds
+         */
+        private long windowSeconds = 600;
+
+        /**
+         * Cached submissions kept before expired entries are swept
+         * Default: 10000
+         */
+        private int maxEntries = 10000;
+    }
+
+    @Data
+    public static class Pruning {
+
+        /**
+         * Skip buckets whose score upper bound cannot reach a student's top
+         * buckets. Exact: reports are identical with and without pruning
+         * Default: true
+         */
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class ArchetypeCache {
+
+        /**
+         * Start students of a cached archetype from its best buckets. Exact:
+         * buckets that could still compete are scored as well
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Archetypes kept, least recently used evicted first
+         * Default: 10000
+         */
+        private int maxEntries = 10000;
+
+        /**
+         * RIASEC percentage step of the archetype key
+         * Default: 10
+         */
+        private int riasecStep = 10;
+
+        /**
+         * Subject mark band of the archetype key
+         * Default: 10
+         */
+        private int subjectBand = 10;
+
+        /**
+         * Buckets remembered per archetype beyond the report's top 5
+         * Default: 3
+         */
+        private int margin = 3;
+    }
+
+    @Data
+    public static class WhatIf {
+
+        /**
+         * Reports whose component scores are kept for what-if queries, least
+         * recently used evicted first. A session holds 4 doubles per career
+         * Default: 500
+         */
+        private int maxSessions = 500;
+    }
+
+    @Data
+    public static class Replay {
+
+        /**
+         * Worker threads of the replay pool, separate from the scoring pool
+         * so a replay never takes the workers live submissions are scored on
+         * Default: 0 (half the available processors, at least 1)
+         */
+        private int parallelism = 0;
+    }
+
+    @Data
+    public static class Rules {
+
+        /**
+         * Location of the scoring rules JSON, as a Spring resource
+         * (classpath: or file:), re-read by the admin reload endpoint
+         * Default: classpath:data/scoring_rules.json
+         */
+        private String location = "classpath:data/scoring_rules.json";
+    }
+
+    @Data
+    public static class ColumnStore {
+
+        /**
+         * Score reports from a memory-mapped column file instead of loading
+         * every career onto the heap; for catalogs of hundreds of thousands
+         * of careers. Batch scoring and what-if still use the compiled catalog
+         * Default: false
+         */
+        private boolean enabled = false;
+
+        /**
+         * Column file, shared by every instance on the host that points at it
+         * Default: data/careers.columns
+         */
+        private String path = "data/careers.columns";
+    }
+
+    @Data
+    public static class CatalogSnapshot {
+
+        /**
+         * Serve the catalog from the snapshot file at startup and validate it
+         * against the database in the background; the file is rewritten
+         * whenever the catalog changes
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Snapshot file, local to the instance
+         * Default: data/catalog.snapshot
+         */
+        private String path = "data/catalog.snapshot";
+    }
+
+    @Data
+    public static class CatalogSync {
+
+        /**
+         * Poll the shared catalog change count and reload the catalog when
+         * another instance wrote careers
+         * Default: true
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between polls; how long other instances may score against
+         * a stale catalog after a write
+         * Default: 5000 ms
+         */
+        private long pollMillis = 5000;
+    }
+}
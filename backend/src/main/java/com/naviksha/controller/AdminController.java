@@ -1,14 +1,24 @@
 package com.naviksha.controller;
 
+import com.naviksha.dto.CatalogImportResultDTO;
+import com.naviksha.dto.ReplayRequestDTO;
+import com.naviksha.dto.ReplayResultDTO;
 import com.naviksha.dto.SeedResultDTO;
 import com.naviksha.model.Career;
 import com.naviksha.model.AdminAudit;
+import com.naviksha.scoring.CareerColumnStore;
+import com.naviksha.scoring.ScoringRules;
 import com.naviksha.service.AdminService;
+import com.naviksha.service.CareerColumnStoreService;
 import com.naviksha.service.CareerService;
+import com.naviksha.service.CatalogImportService;
+import com.naviksha.service.ReplayService;
+import com.naviksha.service.ScoringRulesService;
 import com.naviksha.service.SeedService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,8 +40,12 @@ import java.util.Map;
  * - POST /admin/careers - Add new career
  * - PUT /admin/careers/{careerId} - Update career
  * - DELETE /admin/careers/{careerId} - Delete career
+ * - POST /admin/careers/import?format=csv|ndjson - Bulk import careers from the request body
  * - POST /admin/seed - Seed database from data files
  * - POST /admin/recompute/{userId} - Recompute user's latest report
+ * - POST /admin/scoring/replay - Replay stored reports under candidate scoring weights
+ * - POST /admin/scoring/rules/reload - Reload scoring rules (scoring_rules.json)
+ * - POST /admin/scoring/column-store/rebuild - Rewrite the memory-mapped career column file
  * - GET /admin/audit - View admin action logs
  * 
  * ADMIN ACCESS CONTROL:
@@ -54,6 +68,10 @@ public class AdminController {
     private final CareerService careerService;
     private final SeedService seedService;
     private final AdminService adminService;
+    private final ReplayService replayService;
+    private final ScoringRulesService scoringRulesService;
+    private final CareerColumnStoreService columnStoreService;
+    private final CatalogImportService catalogImportService;
 
     @GetMapping("/careers")
     @PreAuthorize("hasRole('ADMIN')")
@@ -63,7 +81,7 @@ public class AdminController {
     public ResponseEntity<List<Career>> getAllCareers(Authentication authentication) {
         try {
             adminService.logAction(getAdminUser(authentication), "LIST_CAREERS", "Retrieved all careers");
-            List<Career> careers = careerService.getAllCareers();
+            List<Career> careers = careerService.findAllWithNarrative();
             return ResponseEntity.ok(careers);
         } catch (Exception e) {
             log.error("Error fetching careers for admin", e);
@@ -160,6 +178,34 @@ public class AdminController {
         }
     }
 
+    @PostMapping(value = "/careers/import", consumes = {"text/csv", "application/x-ndjson", "text/plain"})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk import careers", 
+               description = "Upsert careers streamed from a CSV (career_mappings.csv layout) or NDJSON body",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<?> importCareers(
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request,
+            Authentication authentication) {
+        try {
+            String adminUser = getAdminUser(authentication);
+            CatalogImportService.Format inputFormat = CatalogImportService.Format.of(format);
+            CatalogImportResultDTO result = catalogImportService.importCatalog(request.getInputStream(), inputFormat);
+            
+            adminService.logAction(adminUser, "IMPORT_CAREERS", 
+                String.format("Imported %s catalog - Inserted: %d, Updated: %d, Unchanged: %d, Invalid: %d", 
+                    inputFormat, result.getInserted(), result.getUpdated(), result.getUnchanged(), result.getInvalid()));
+            
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error importing careers", e);
+            return ResponseEntity.internalServerError()
+                .body("Error importing careers: " + e.getMessage());
+        }
+    }
+
     @PostMapping("/seed")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Seed database", 
@@ -211,6 +257,80 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/scoring/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Replay scoring weights", 
+               description = "Re-rank stored reports under candidate weights and report ranking shift",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<?> replayScoringWeights(
+            @Valid @RequestBody ReplayRequestDTO request,
+            Authentication authentication) {
+        try {
+            String adminUser = getAdminUser(authentication);
+            ReplayResultDTO result = replayService.replay(request);
+            
+            adminService.logAction(adminUser, "REPLAY_SCORING", 
+                String.format("Replayed %d reports under %d candidate weight sets", 
+                    result.getReportsReplayed(), request.getCandidates().size()));
+            
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error replaying scoring weights", e);
+            return ResponseEntity.internalServerError()
+                .body("Error replaying scoring weights: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/scoring/rules/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reload scoring rules", 
+               description = "Re-read and compile the scoring rules file; invalid rules leave the current ones active",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<?> reloadScoringRules(Authentication authentication) {
+        try {
+            String adminUser = getAdminUser(authentication);
+            ScoringRules rules = scoringRulesService.reload();
+            
+            adminService.logAction(adminUser, "RELOAD_SCORING_RULES", 
+                "Reloaded scoring rules version " + rules.getVersion());
+            
+            return ResponseEntity.ok(Map.of(
+                "version", rules.getVersion(),
+                "subjectBands", rules.getSubjectBandCount(),
+                "contextRules", rules.getContextRuleCount()
+            ));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error reloading scoring rules", e);
+            return ResponseEntity.internalServerError()
+                .body("Error reloading scoring rules: " + e.getMessage());
+        }
+    }
+
+    @PostMapping("/scoring/column-store/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild career column store", 
+               description = "Rewrite the memory-mapped career column file from the database",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<?> rebuildColumnStore(Authentication authentication) {
+        try {
+            String adminUser = getAdminUser(authentication);
+            CareerColumnStore store = columnStoreService.rebuild();
+            
+            adminService.logAction(adminUser, "REBUILD_COLUMN_STORE", 
+                String.format("Rebuilt career column store with %d careers", store.size()));
+            
+            return ResponseEntity.ok(columnStoreService.getStats());
+        } catch (Exception e) {
+            log.error("Error rebuilding career column store", e);
+            return ResponseEntity.internalServerError()
+                .body("Error rebuilding career column store: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/audit")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get audit logs", 
@@ -1,7 +1,10 @@
 package com.naviksha.controller;
 
+import com.naviksha.dto.WhatIfRequestDTO;
+import com.naviksha.dto.WhatIfResultDTO;
 import com.naviksha.model.StudentReport;
 import com.naviksha.service.ReportService;
+import com.naviksha.service.WhatIfService;
 import com.naviksha.service.AIServiceClient;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -29,6 +32,7 @@ public class ReportController {
     private final ReportService reportService;
     private final ObjectMapper objectMapper;
     private final AIServiceClient aiServiceClient;
+    private final WhatIfService whatIfService;
 
     @GetMapping("/{reportId}")
     @Operation(summary = "Get report by ID", 
@@ -51,6 +55,26 @@ public class ReportController {
         }
     }
 
+    @PostMapping("/{reportId}/what-if")
+    @Operation(summary = "What-if re-scoring", 
+               description = "Change subject marks, extracurriculars or preferences and see how the top buckets move",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<?> whatIf(
+            @PathVariable String reportId,
+            @RequestBody WhatIfRequestDTO request,
+            Authentication authentication) {
+        try {
+            WhatIfResultDTO result = whatIfService.whatIf(reportId, request);
+            if (result == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error running what-if for report: {}", reportId, e);
+            return ResponseEntity.internalServerError().body("Error running what-if");
+        }
+    }
+
     @GetMapping("/user/{userId}")
     @Operation(summary = "Get user reports", 
                description = "Get all reports for a specific user",
@@ -1,7 +1,13 @@
 package com.naviksha.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.dto.CohortReportDTO;
+import com.naviksha.dto.CohortSubmissionDTO;
+import com.naviksha.dto.RiasecPreviewDTO;
 import com.naviksha.dto.TestSubmissionDTO;
 import com.naviksha.model.*;
+import com.naviksha.scoring.RiasecVector;
 import com.naviksha.service.*;
 import com.naviksha.service.EmailService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,11 +16,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,7 +38,9 @@ import java.util.Map;
  * - GET /api/tests - List available tests (vibematch, edustats)
  * - GET /api/tests/{testId} - Get specific test questions
  * - POST /api/tests/{testId}/submit - Submit test answers and get report
+ * - POST /api/tests/{testId}/submit-batch - Score a whole cohort, streamed as NDJSON (ADMIN)
  * - GET /api/progress/{userId} - Get user's test progress
+ * - GET /api/progress/{userId}/preview - Live RIASEC profile from saved progress
  * - POST /api/progress/save - Save user's test progress
  * - POST /api/progress/reset - Reset user's test progress
  * 
@@ -37,6 +50,9 @@ import java.util.Map;
  * 3. User submits completed test with /api/tests/{testId}/submit
  * 4. Backend computes career matches and returns report
  * 5. Report is stored and can be retrieved later
+ * 
+ * Resubmitting an identical test (or reusing an Idempotency-Key header)
+ * returns the existing report instead of re-running the pipeline.
  */
 @RestController
 @RequestMapping("/api")
@@ -51,6 +67,9 @@ public class TestController {
     private final ReportService reportService;
     private final UserService userService;
     private final EmailService emailService;
+    private final SubmissionCacheService submissionCacheService;
+    private final ScoringConfig scoringConfig;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/tests")
     @Operation(summary = "Get available tests", description = "List all available career assessment tests")
@@ -86,6 +105,7 @@ public class TestController {
     public ResponseEntity<?> submitTest(
             @PathVariable String testId,
             @Valid @RequestBody TestSubmissionDTO submission,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             Authentication authentication) {
         try {
             String userEmail = authentication.getName();
@@ -114,20 +134,29 @@ public class TestController {
                 }
             }
             
-            // Compute career report using scoring service
-            StudentReport report = scoringService.computeCareerReport(submission);
-            
-            // Save report to database
-            Report savedReport = reportService.saveReport(report, user.getId());
-            
-            // Send email with PDF report
-            try {
-                emailService.sendReportEmail(report, user.getEmail(), user.getName());
-                log.info("Email sent successfully to: {} for student: {}", user.getEmail(), user.getName());
-            } catch (Exception e) {
-                log.error("Failed to send email to: {} for student: {}", user.getEmail(), user.getName(), e);
-                // Don't fail the entire request if email fails
-            }
+            // Duplicate submissions (double-clicks, retries) reuse the first run's report
+            SubmissionCacheService.SubmissionKey submissionKey = submissionCacheService.keyFor(submission, idempotencyKey);
+            Report savedReport = submissionCacheService.submitOnce(submissionKey, () -> {
+                // Start from the RIASEC totals accumulated while vibematch progress was saved
+                TestProgress vibematchProgress = progressService.getProgress(user.getId(), "vibematch");
+                RiasecVector riasecTotals = progressService.getRiasecTotals(vibematchProgress, submission.getAnswers());
+                
+                // Compute career report using scoring service
+                StudentReport report = scoringService.computeCareerReport(submission, riasecTotals);
+                
+                // Save report to database
+                Report saved = reportService.saveReport(report, user.getId());
+                
+                // Send email with PDF report
+                try {
+                    emailService.sendReportEmail(report, user.getEmail(), user.getName());
+                    log.info("Email sent successfully to: {} for student: {}", user.getEmail(), user.getName());
+                } catch (Exception e) {
+                    log.error("Failed to send email to: {} for student: {}", user.getEmail(), user.getName(), e);
+                    // Don't fail the entire request if email fails
+                }
+                return saved;
+            });
             
             // Note: Progress is kept for user retake capability and completion tracking
             // Progress is only cleared when user explicitly starts a new test
@@ -136,10 +165,12 @@ public class TestController {
             
             return ResponseEntity.ok(Map.of(
                 "reportId", savedReport.getId(),
-                "report", report,
+                "report", savedReport.getReportData(),
                 "message", "Test submitted successfully"
             ));
             
+        } catch (SubmissionCacheService.IdempotencyKeyReusedException e) {
+            return ResponseEntity.unprocessableEntity().body(e.getMessage());
         } catch (Exception e) {
             log.error("Error submitting test: {}", testId, e);
             return ResponseEntity.internalServerError()
@@ -147,6 +178,71 @@ public class TestController {
         }
     }
 
+    @PostMapping(value = "/tests/{testId}/submit-batch", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Submit cohort test answers", 
+               description = "Score a whole school's submissions against one catalog load. " +
+                             "Per-student top buckets are streamed back as NDJSON in request order.",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<?> submitBatch(
+            @PathVariable String testId,
+            @Valid @RequestBody CohortSubmissionDTO cohort,
+            Authentication authentication) {
+        try {
+            List<TestSubmissionDTO> submissions = cohort.getSubmissions();
+            int maxSubmissions = scoringConfig.getBatch().getMaxSubmissions();
+            if (submissions.size() > maxSubmissions) {
+                return ResponseEntity.badRequest()
+                    .body("Batch too large: " + submissions.size() + " submissions (max " + maxSubmissions + ")");
+            }
+            
+            if (!"combined".equals(testId) && testService.getTestById(testId) == null) {
+                return ResponseEntity.badRequest().body("Test not found");
+            }
+            
+            if (cohort.getSchoolName() != null) {
+                submissions.stream()
+                    .filter(submission -> submission.getSchoolName() == null)
+                    .forEach(submission -> submission.setSchoolName(cohort.getSchoolName()));
+            }
+            
+            log.info("Processing batch submission of {} students by: {} test: {}", 
+                submissions.size(), authentication.getName(), testId);
+            
+            // Reports are scored block by block while the response is written
+            StreamingResponseBody body = out -> {
+                Iterator<StudentReport> reports = scoringService.scoreBatch(submissions).iterator();
+                int index = 0;
+                while (reports.hasNext()) {
+                    StudentReport report = reports.next();
+                    CohortReportDTO line = CohortReportDTO.builder()
+                        .index(index)
+                        .userId(submissions.get(index).getUserId())
+                        .studentName(report.getStudentName())
+                        .grade(report.getGrade())
+                        .vibeScores(report.getVibeScores())
+                        .top5Buckets(report.getTop5Buckets())
+                        .summaryParagraph(report.getSummaryParagraph())
+                        .build();
+                    out.write(objectMapper.writeValueAsBytes(line));
+                    out.write('\n');
+                    out.flush();
+                    index++;
+                }
+                log.info("Batch submission completed: {} reports streamed", index);
+            };
+            
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+            
+        } catch (Exception e) {
+            log.error("Error submitting batch: {}", testId, e);
+            return ResponseEntity.internalServerError()
+                .body("Error processing batch submission: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/progress/{userId}")
     @Operation(summary = "Get user progress", 
                description = "Get saved test progress for user",
@@ -179,6 +275,49 @@ public class TestController {
         }
     }
 
+    @GetMapping("/progress/{userId}/preview")
+    @Operation(summary = "Preview RIASEC profile", 
+               description = "Live profile so far, from the RIASEC totals kept with saved test progress",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<?> previewProgress(
+            @PathVariable String userId,
+            @RequestParam(defaultValue = "vibematch") String testId,
+            Authentication authentication) {
+        try {
+            String userEmail = authentication.getName();
+            User user = userService.findByEmail(userEmail);
+            
+            // Users can only access their own progress (unless admin)
+            if (user == null || (!user.getId().equals(userId) && !user.getRoles().contains("ROLE_ADMIN"))) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied");
+            }
+            
+            TestProgress progress = progressService.getProgress(userId, testId);
+            RiasecVector totals = progressService.getRiasecTotals(progress, null);
+            if (totals == null) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            Map<String, Integer> answerCounts = new LinkedHashMap<>();
+            for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+                answerCounts.put(RiasecVector.keyOf(trait), progress.getRiasecCounts()[trait]);
+            }
+            
+            return ResponseEntity.ok(RiasecPreviewDTO.builder()
+                .userId(userId)
+                .testId(testId)
+                .vibeScores(totals.normalize().toMap())
+                .answerCounts(answerCounts)
+                .completed(progress.isCompleted())
+                .build());
+            
+        } catch (Exception e) {
+            log.error("Error previewing progress for user: {}", userId, e);
+            return ResponseEntity.internalServerError()
+                .body("Error previewing progress");
+        }
+    }
+
     @PostMapping("/progress/save")
     @Operation(summary = "Save test progress", 
                description = "Save current test progress",
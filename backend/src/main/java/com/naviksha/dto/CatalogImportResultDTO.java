@@ -0,0 +1,22 @@
+package com.naviksha.dto;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk catalog import
+ */
+@Data
+@Builder
+public class CatalogImportResultDTO {
+    private long rowsRead;
+    private long inserted;
+    private long updated;
+    private long unchanged; // Content hash matched the stored career; not written
+    private long invalid;
+    private List<String> errors; // First invalid rows, "line N: reason"
+    private long catalogVersion; // Catalog version serving the imported careers
+    private long elapsedMillis;
+}
@@ -0,0 +1,23 @@
+package com.naviksha.dto;
+
+import com.naviksha.model.CareerBucket;
+import lombok.Data;
+import lombok.Builder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One line of the streamed cohort (batch) scoring response
+ */
+@Data
+@Builder
+public class CohortReportDTO {
+    private int index; // Position of the submission in the request
+    private String userId;
+    private String studentName;
+    private Integer grade;
+    private Map<String, Integer> vibeScores;
+    private List<CareerBucket> top5Buckets;
+    private String summaryParagraph;
+}
@@ -0,0 +1,23 @@
+package com.naviksha.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CohortSubmissionDTO {
+    // Applied to every submission that does not set its own school
+    private String schoolName;
+    
+    @NotEmpty(message = "Submissions are required")
+    @Valid
+    private List<TestSubmissionDTO> submissions;
+}
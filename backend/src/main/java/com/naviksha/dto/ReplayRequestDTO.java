@@ -0,0 +1,43 @@
+package com.naviksha.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Candidate weight sets to replay stored reports under
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayRequestDTO {
+    @NotEmpty(message = "At least one candidate weight set is required")
+    @Valid
+    private List<WeightSet> candidates;
+    
+    private Integer maxReports; // Stop after this many reports, all when unset
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WeightSet {
+        private String name;
+        
+        @NotNull
+        private Double riasec;
+        @NotNull
+        private Double subject;
+        @NotNull
+        private Double practical;
+        @NotNull
+        private Double context;
+    }
+}
@@ -0,0 +1,33 @@
+package com.naviksha.dto;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Ranking shift of each candidate weight set against the current weights
+ */
+@Data
+@Builder
+public class ReplayResultDTO {
+    private long reportsReplayed;
+    private long reportsSkipped; // Stored without RIASEC scores
+    private double baselineAgreementRate; // Replayed top bucket equals the stored one
+    private long elapsedMillis;
+    private List<CandidateShift> candidates;
+    
+    @Data
+    @Builder
+    public static class CandidateShift {
+        private String name;
+        private double riasecWeight;
+        private double subjectWeight;
+        private double practicalWeight;
+        private double contextWeight;
+        private double top1ChangeRate;
+        private double topBucketChangeRate;
+        private double bucketChurn;
+        private double meanRankDisplacement;
+    }
+}
@@ -0,0 +1,19 @@
+package com.naviksha.dto;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.util.Map;
+
+/**
+ * Live "profile so far" computed from RIASEC totals saved with test progress
+ */
+@Data
+@Builder
+public class RiasecPreviewDTO {
+    private String userId;
+    private String testId;
+    private Map<String, Integer> vibeScores; // Percentages over the answers saved so far
+    private Map<String, Integer> answerCounts; // Answers contributing to each trait
+    private boolean completed;
+}
@@ -0,0 +1,25 @@
+package com.naviksha.dto;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes to a report's inputs; unset fields keep the report's value
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatIfRequestDTO {
+    private Map<String, Integer> subjectScores; // Marks to change or add, e.g. {"Mathematics": 85}
+    private List<String> addExtracurriculars;
+    private List<String> removeExtracurriculars;
+    private List<String> parentCareers; // Replaces the report's parent careers
+    private String workStylePreference;
+    private Boolean studyAbroadPreference;
+}
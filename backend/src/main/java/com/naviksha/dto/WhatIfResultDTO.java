@@ -0,0 +1,33 @@
+package com.naviksha.dto;
+
+import lombok.Data;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Top buckets before and after a what-if change
+ */
+@Data
+@Builder
+public class WhatIfResultDTO {
+    private String reportId;
+    private List<String> changedComponents; // subject, practical and/or context
+    private long recomputedScores; // Career x component scores recomputed for this query
+    private int catalogSize;
+    private long elapsedMicros;
+    private String baselineTopCareer;
+    private String topCareer;
+    private List<BucketShift> buckets; // What-if top buckets, then baseline top buckets that dropped out
+    
+    @Data
+    @Builder
+    public static class BucketShift {
+        private String bucketName;
+        private Integer baselineRank; // 1-based, null if not in the baseline top buckets
+        private Integer rank; // 1-based, null if no longer in the top buckets
+        private int baselineScore;
+        private int score;
+        private List<String> topCareers;
+    }
+}
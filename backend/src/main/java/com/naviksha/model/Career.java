@@ -8,6 +8,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -23,11 +25,17 @@ public class Career {
     private String careerName;
     private String bucket;
     private String riasecProfile;
-    private String primarySubjects;
-    private String tags;
+    
+    // List fields are native arrays (schema v2, see CareerSchemaMigration); multikey-indexed
+    @Indexed
+    private List<String> primarySubjects;
+    
+    @Indexed
+    private List<String> tags;
+    
     private String minQualification;
-    private String top5CollegeCourses;
+    private List<String> top5CollegeCourses;
     private String baseParagraph;
-    private String microprojects;
+    private List<String> microprojects;
     private String whyFit;
 }
\ No newline at end of file
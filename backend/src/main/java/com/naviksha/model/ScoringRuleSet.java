@@ -0,0 +1,82 @@
+package com.naviksha.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Declarative scoring rules, as read from scoring_rules.json
+ *
+ * Compiled into a ScoringRules evaluator before use, which documents the semantics.
+ */
+@Data
+@NoArgsConstructor
+public class ScoringRuleSet {
+    private String version;
+    private List<SubjectBand> subjectBands;
+    private Practical practical = new Practical();
+    private Context context = new Context();
+    
+    /**
+     * Scaling of an average subject mark in [min, below); the first matching band wins
+     */
+    @Data
+    @NoArgsConstructor
+    public static class SubjectBand {
+        private String name;
+        private Double min; // Inclusive, unbounded when unset
+        private Double below; // Exclusive, unbounded when unset
+        private double multiply = 1;
+        private Double cap; // Upper limit of the scaled mark
+    }
+    
+    @Data
+    @NoArgsConstructor
+    public static class Practical {
+        private double base = 50;
+        private double perExtracurricularMatch = 10;
+        private double textWeight = 0.3; // Share of the keyword alignment score
+    }
+    
+    @Data
+    @NoArgsConstructor
+    public static class Context {
+        private double base = 50;
+        private List<ContextRule> rules;
+    }
+    
+    /**
+     * Adds a score delta to careers matching the career condition, for students matching the student condition
+     */
+    @Data
+    @NoArgsConstructor
+    public static class ContextRule {
+        private String name;
+        private StudentCondition when;
+        private CareerCondition career;
+        private double add;
+    }
+    
+    /**
+     * All set fields must hold; an empty condition always holds
+     */
+    @Data
+    @NoArgsConstructor
+    public static class StudentCondition {
+        private List<String> parentCareerIn;
+        private List<String> workStyleContainsAny;
+        private Boolean studyAbroad;
+    }
+    
+    /**
+     * All set fields must hold; an empty condition matches every career
+     */
+    @Data
+    @NoArgsConstructor
+    public static class CareerCondition {
+        private List<String> bucketIn;
+        private List<String> bucketContainsAny;
+        private String tag;
+    }
+}
@@ -27,6 +27,11 @@ public class TestProgress {
     private Map<String, Object> answers;
     private boolean completed;
     
+    // Running RIASEC totals over the saved answers, maintained by ProgressService
+    private double[] riasecSums;
+    private int[] riasecCounts;
+    private Integer riasecTableVersion; // RiasecAnswerTable version the totals were built with
+    
     @CreatedDate
     private LocalDateTime createdAt;
     
@@ -2,12 +2,24 @@ package com.naviksha.repository;
 
 import com.naviksha.model.Career;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CareerRepository extends MongoRepository<Career, String> {
     Optional<Career> findByCareerId(String careerId);
     Optional<Career> findByCareerName(String careerName);
+    List<Career> findByCareerIdIn(Collection<String> careerIds);
+
+    // Hot projection: only the fields scoring reads; narrative fields stay null
+    @Query(value = "{}", fields = "{ 'careerId': 1, 'careerName': 1, 'bucket': 1, 'riasecProfile': 1, 'primarySubjects': 1, 'tags': 1 }")
+    List<Career> findAllForScoring();
+
+    // Cursor-backed; close the stream (try-with-resources) when done
+    Stream<Career> streamAllBy();
 }
\ No newline at end of file
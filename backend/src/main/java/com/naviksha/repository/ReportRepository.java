@@ -4,8 +4,12 @@ import com.naviksha.model.Report;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReportRepository extends MongoRepository<Report, String> {
     List<Report> findByUserIdOrderByCreatedAtDesc(String userId);
+    
+    // Cursor-backed; close the stream (try-with-resources) when done
+    Stream<Report> streamAllBy();
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.naviksha.scoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Archetype Cache
+ *
+ * Many students land on almost the same profile, and so on the same top
+ * buckets. This cache remembers, per quantized profile ("archetype"), which
+ * buckets ranked best last time, so a new student of the same archetype only
+ * scores the careers of those buckets.
+ *
+ * ARCHETYPE KEY (64-bit hash of):
+ * - RIASEC percentages rounded to riasecStep
+ * - Subject marks per catalog subject banded to subjectBand (absent stays absent)
+ * - Tag sets: each extracurricular's tag mask and the keyword tag mask
+ * - Context rule bonuses per bucket and the active tag bonuses
+ *
+ * EXACTNESS:
+ * The cached buckets are only a first guess. After scoring them, ScoringService
+ * asks BucketBounds for any other bucket that could still reach the top
+ * buckets and scores those too, so reports never depend on the cache. Hash
+ * collisions and stale entries only cost speed.
+ *
+ * FOOTPRINT:
+ * At most maxEntries archetypes in LRU order, each a few bucket ordinals.
+ * Everything is dropped when the career catalog version changes.
+ */
+public final class ArchetypeCache {
+
+    private final int maxEntries;
+    private final int riasecStep;
+    private final int subjectBand;
+
+    private final LinkedHashMap<Long, int[]> entries;
+    private long catalogVersion = Long.MIN_VALUE;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder partialHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ArchetypeCache(int maxEntries, int riasecStep, int subjectBand) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.riasecStep = Math.max(1, riasecStep);
+        this.subjectBand = Math.max(1, subjectBand);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                if (size() <= ArchetypeCache.this.maxEntries) return false;
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Drop every archetype if the catalog changed since they were recorded
+     */
+    public synchronized void syncCatalogVersion(long version) {
+        if (version == catalogVersion) return;
+        if (!entries.isEmpty()) {
+            entries.clear();
+            invalidations.increment();
+        }
+        catalogVersion = version;
+    }
+
+    /**
+     * Archetype key of a compiled profile
+     */
+    public long keyOf(ScoringProfile profile) {
+        long hash = 17;
+        for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+            hash = mix(hash, Math.round(profile.getRiasec().get(trait) / riasecStep));
+        }
+        for (int score : profile.getSubjectScores()) {
+            hash = mix(hash, score == ScoringProfile.NO_SCORE ? -1 : score / subjectBand);
+        }
+        for (long[] activityTags : profile.getActivityTagMasks()) {
+            for (long word : activityTags) hash = mix(hash, word);
+        }
+        for (long word : profile.getKeywordTagMask()) {
+            hash = mix(hash, word);
+        }
+        for (double bonus : profile.getContextBuckets()) {
+            hash = mix(hash, Double.doubleToLongBits(bonus));
+        }
+        for (ScoringRules.TagBonus bonus : profile.getContextTags()) {
+            hash = mix(hash, bonus.hashCode());
+        }
+        return hash;
+    }
+
+    /**
+     * Candidate bucket ordinals recorded for an archetype, or null
+     */
+    public synchronized int[] get(long key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Record the best buckets of a finished ranking for its archetype
+     */
+    public synchronized void put(long key, int[] buckets) {
+        entries.put(key, buckets);
+    }
+
+    /**
+     * Count one lookup: hit (cached buckets were enough), partial hit (bounds
+     * added buckets) or miss (no entry)
+     */
+    public void recordLookup(boolean found, boolean complete) {
+        if (!found) {
+            misses.increment();
+        } else if (complete) {
+            hits.increment();
+        } else {
+            partialHits.increment();
+        }
+    }
+
+    /**
+     * Hit-rate metrics and footprint
+     */
+    public synchronized Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long partialCount = partialHits.sum();
+        long lookups = hitCount + partialCount + misses.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("lookups", lookups);
+        stats.put("hits", hitCount);
+        stats.put("partialHits", partialCount);
+        stats.put("misses", misses.sum());
+        stats.put("hitRate", lookups > 0 ? (double) hitCount / lookups : 0.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+}
@@ -0,0 +1,247 @@
+package com.naviksha.scoring;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Bucket Bounds
+ *
+ * Per-bucket aggregates of a catalog that give a cheap lower and upper bound
+ * on each bucket's score for a student, without scoring any career. Buckets
+ * whose upper bound is below the k-th best lower bound can never reach the
+ * report's top buckets, so their careers are skipped entirely.
+ *
+ * BOUNDS (sum over the n careers of a bucket, weights w):
+ * - RIASEC: exact. A career's match is linear in the student's percentages
+ *   (sum of p[t] * v[t] / traitCount), so the bucket sum is p . V where V is
+ *   the bucket's summed normalized requirement vector
+ * - Subject: a career's score is the scaled average of some of the student's
+ *   marks in the bucket's subjects, or the neutral 50; ScoringRules keeps
+ *   scaling monotonic, so it lies between the scaled lowest and highest such
+ *   mark (and 50)
+ * - Practical: at least the rules' base; at most the base + the per-match
+ *   bonus per extracurricular matching any tag of the bucket + the text weight
+ *   times the text score of all keyword hits on the bucket's tags
+ * - Context: bucket-level rule bonuses are exact; a tag rule bonus counts in
+ *   the upper bound (positive) or lower bound (negative) if any career of the
+ *   bucket carries the tag
+ * - Scores are rounded before they are averaged: +/- 0.5 per career
+ *
+ * Pruning is strict: a bucket is dropped only when at least k other buckets
+ * are guaranteed to score higher, so the top k buckets, their order and
+ * their careers are exactly those of exhaustive scoring. The same bounds
+ * complete a ranking built over a guessed candidate set (unresolved()).
+ */
+public final class BucketBounds {
+
+    private static final double NEUTRAL = 50;
+    // Rounding to whole match scores, plus headroom for float kernels and summation order
+    private static final double ROUNDING_SLACK = 0.5 + 1e-3;
+
+    private final int[] careerCounts;
+    private final double[][] riasecSums;
+    private final long[][] tagUnions;
+    private final int[][] tagIds;
+    private final int[][] subjectIds;
+
+    private BucketBounds(int[] careerCounts, double[][] riasecSums, long[][] tagUnions, int[][] tagIds,
+                         int[][] subjectIds) {
+        this.careerCounts = careerCounts;
+        this.riasecSums = riasecSums;
+        this.tagUnions = tagUnions;
+        this.tagIds = tagIds;
+        this.subjectIds = subjectIds;
+    }
+
+    /**
+     * Aggregate a compiled catalog per bucket
+     */
+    public static BucketBounds build(CareerCatalog catalog) {
+        int bucketCount = catalog.getBuckets().size();
+        int tagCount = catalog.getTags().size();
+        int subjectCount = catalog.getSubjects().size();
+
+        int[] careerCounts = new int[bucketCount];
+        double[][] riasecSums = new double[bucketCount][RiasecVector.SIZE];
+        long[][] tagUnions = new long[bucketCount][];
+        boolean[][] subjectSeen = new boolean[bucketCount][subjectCount];
+        for (int b = 0; b < bucketCount; b++) {
+            tagUnions[b] = TagMask.forSize(tagCount);
+        }
+
+        for (CompiledCareer career : catalog.getCareers()) {
+            int b = career.getBucketOrdinal();
+            careerCounts[b]++;
+            RiasecVector riasec = career.getRiasec();
+            if (riasec.traitCount() > 0) {
+                for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+                    riasecSums[b][trait] += riasec.get(trait) / riasec.traitCount();
+                }
+            }
+            for (int tagId : career.getTagIds()) {
+                TagMask.set(tagUnions[b], tagId);
+            }
+            for (int subjectId : career.getSubjectIds()) {
+                subjectSeen[b][subjectId] = true;
+            }
+        }
+
+        int[][] tagIds = new int[bucketCount][];
+        int[][] subjectIds = new int[bucketCount][];
+        for (int b = 0; b < bucketCount; b++) {
+            int bucket = b;
+            tagIds[b] = IntStream.range(0, tagCount)
+                .filter(t -> TagMask.contains(tagUnions[bucket], t)).toArray();
+            subjectIds[b] = IntStream.range(0, subjectCount)
+                .filter(s -> subjectSeen[bucket][s]).toArray();
+        }
+        return new BucketBounds(careerCounts, riasecSums, tagUnions, tagIds, subjectIds);
+    }
+
+    /**
+     * Buckets that can still make the student's top buckets
+     *
+     * @param weights Component weights of the final score
+     * @param alignmentScore Text score for a number of keyword hits (monotonic)
+     * @param topBuckets Number of buckets the report keeps
+     * @return Per bucket ordinal, whether its careers must be scored; null if none can be skipped
+     */
+    public boolean[] candidates(ScoringProfile profile, ScoringWeights weights,
+                                IntToDoubleFunction alignmentScore, int topBuckets) {
+        int bucketCount = careerCounts.length;
+        int[] low = new int[bucketCount];
+        int[] high = new int[bucketCount];
+        int nonEmpty = bound(profile, weights, alignmentScore, low, high);
+        if (nonEmpty <= topBuckets) return null;
+
+        // k-th best guaranteed score
+        int[] lows = new int[nonEmpty];
+        int i = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            if (careerCounts[b] > 0) lows[i++] = low[b];
+        }
+        Arrays.sort(lows);
+        int threshold = lows[nonEmpty - topBuckets];
+
+        boolean[] candidates = new boolean[bucketCount];
+        boolean pruned = false;
+        for (int b = 0; b < bucketCount; b++) {
+            if (careerCounts[b] == 0) continue;
+            candidates[b] = high[b] >= threshold;
+            pruned |= !candidates[b];
+        }
+        return pruned ? candidates : null;
+    }
+
+    /**
+     * Buckets left out of a partial ranking that could still displace its top buckets
+     *
+     * Used to complete a ranking that was built over a guessed candidate set:
+     * the k-th best exact bucket score of the partial ranking is the threshold
+     * an unscored bucket's upper bound has to reach.
+     *
+     * @param partial Ranking over the scored buckets only
+     * @param scored Buckets whose careers all went into the partial ranking
+     * @return Per bucket ordinal, whether its careers must still be scored; null if the ranking is complete
+     */
+    public boolean[] unresolved(ScoringProfile profile, ScoringWeights weights,
+                                IntToDoubleFunction alignmentScore, int topBuckets,
+                                BucketRanking partial, boolean[] scored) {
+        int bucketCount = careerCounts.length;
+        int[] top = partial.rankedBuckets(topBuckets);
+        int threshold = top.length == topBuckets ? partial.bucketScore(top[topBuckets - 1]) : Integer.MIN_VALUE;
+
+        int[] low = new int[bucketCount];
+        int[] high = new int[bucketCount];
+        bound(profile, weights, alignmentScore, low, high);
+
+        boolean[] missing = new boolean[bucketCount];
+        boolean any = false;
+        for (int b = 0; b < bucketCount; b++) {
+            if (careerCounts[b] == 0 || scored[b]) continue;
+            missing[b] = high[b] >= threshold;
+            any |= missing[b];
+        }
+        return any ? missing : null;
+    }
+
+    /**
+     * Integer lower and upper bound of every non-empty bucket's score
+     *
+     * @return Number of non-empty buckets
+     */
+    private int bound(ScoringProfile profile, ScoringWeights weights, IntToDoubleFunction alignmentScore,
+                      int[] low, int[] high) {
+        ScoringRules rules = profile.getRules();
+        int bucketCount = careerCounts.length;
+        int nonEmpty = 0;
+
+        for (int b = 0; b < bucketCount; b++) {
+            int n = careerCounts[b];
+            if (n == 0) continue;
+            nonEmpty++;
+
+            double riasecSum = 0;
+            for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+                riasecSum += profile.getRiasec().get(trait) * riasecSums[b][trait];
+            }
+
+            // Subject: scaling is non-decreasing, so the scaled lowest and highest mark bound the average
+            double subjectLow = NEUTRAL;
+            double subjectHigh = NEUTRAL;
+            for (int subjectId : subjectIds[b]) {
+                int mark = profile.subjectScore(subjectId);
+                if (mark == ScoringProfile.NO_SCORE) continue;
+                double scaled = rules.scaleSubject(mark);
+                subjectLow = Math.min(subjectLow, scaled);
+                subjectHigh = Math.max(subjectHigh, scaled);
+            }
+
+            // Practical: every activity and keyword hit that any career of the bucket could use
+            int matches = 0;
+            for (long[] activityTags : profile.getActivityTagMasks()) {
+                if (TagMask.intersects(activityTags, tagUnions[b])) matches++;
+            }
+            double practicalLow = clamp(rules.getPracticalBase());
+            double practicalHigh = rules.getPracticalBase() + matches * rules.getPerExtracurricularMatch();
+            if (profile.hasSubjectiveText()) {
+                int hits = 0;
+                for (int tagId : tagIds[b]) {
+                    hits += profile.getTagKeywordHits()[tagId];
+                }
+                practicalHigh += alignmentScore.applyAsDouble(hits) * rules.getTextWeight();
+            }
+            practicalHigh = clamp(practicalHigh);
+
+            double contextLow = rules.getContextBase() + profile.getContextBuckets()[b];
+            double contextHigh = contextLow;
+            for (ScoringRules.TagBonus bonus : profile.getContextTags()) {
+                if (!bonus.appliesTo(b) || !TagMask.contains(tagUnions[b], bonus.getTagId())) continue;
+                if (bonus.getDelta() > 0) {
+                    contextHigh += bonus.getDelta();
+                } else {
+                    contextLow += bonus.getDelta();
+                }
+            }
+            contextLow = clamp(contextLow);
+            contextHigh = clamp(contextHigh);
+
+            double perCareerLow = weights.getSubject() * subjectLow + weights.getPractical() * practicalLow
+                + weights.getContext() * contextLow;
+            double perCareerHigh = weights.getSubject() * subjectHigh + weights.getPractical() * practicalHigh
+                + weights.getContext() * contextHigh;
+            double sumLow = weights.getRiasec() * riasecSum + n * (perCareerLow - ROUNDING_SLACK);
+            double sumHigh = weights.getRiasec() * riasecSum + n * (perCareerHigh + ROUNDING_SLACK);
+
+            // Bucket score is the truncated average of non-negative whole scores
+            low[b] = (int) Math.floor(Math.max(0, sumLow) / n);
+            high[b] = (int) Math.floor(Math.min(100.0 * n, sumHigh) / n);
+        }
+        return nonEmpty;
+    }
+
+    private static double clamp(double score) {
+        return Math.max(0, Math.min(100, score));
+    }
+}
@@ -0,0 +1,116 @@
+package com.naviksha.scoring;
+
+import java.util.Arrays;
+
+/**
+ * Bucket Ranking
+ *
+ * Aggregates per-career match scores into bucket scores without building any
+ * intermediate objects:
+ * - Running score sum and count per bucket ordinal (bucket score = average)
+ * - A bounded {@link CareerHeap} per bucket holding its top careers
+ *
+ * Buckets are ranked by score descending; ties go to the bucket that appears
+ * first in the catalog so results are deterministic.
+ *
+ * Rankings built over disjoint career ranges can be merged; sums are exact and
+ * heap ordering is total, so merge order never changes the result.
+ */
+public final class BucketRanking {
+
+    private final int careersPerBucket;
+    private final long[] scoreSums;
+    private final int[] counts;
+    private final CareerHeap[] heaps;
+
+    public BucketRanking(int bucketCount, int careersPerBucket) {
+        this.careersPerBucket = careersPerBucket;
+        this.scoreSums = new long[bucketCount];
+        this.counts = new int[bucketCount];
+        this.heaps = new CareerHeap[bucketCount];
+    }
+
+    /**
+     * Record one scored career
+     */
+    public void add(int bucket, int career, int matchScore) {
+        add(bucket, career, matchScore, matchScore);
+    }
+
+    /**
+     * Record one scored career by its final score, ranked on the rounded match score
+     */
+    public void add(int bucket, int career, double finalScore) {
+        add(bucket, career, (int) Math.round(finalScore), finalScore);
+    }
+
+    private void add(int bucket, int career, int matchScore, double finalScore) {
+        scoreSums[bucket] += matchScore;
+        counts[bucket]++;
+        heap(bucket).offer(career, matchScore, finalScore);
+    }
+
+    /**
+     * Fold in a ranking built over a disjoint range of the same catalog
+     */
+    public void merge(BucketRanking other) {
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (other.counts[bucket] == 0) continue;
+            scoreSums[bucket] += other.scoreSums[bucket];
+            counts[bucket] += other.counts[bucket];
+            heap(bucket).offerAll(other.heaps[bucket]);
+        }
+    }
+
+    private CareerHeap heap(int bucket) {
+        CareerHeap heap = heaps[bucket];
+        if (heap == null) {
+            heap = new CareerHeap(careersPerBucket);
+            heaps[bucket] = heap;
+        }
+        return heap;
+    }
+
+    /**
+     * Average match score of all careers in the bucket, truncated to a whole number
+     */
+    public int bucketScore(int bucket) {
+        return counts[bucket] > 0 ? (int) ((double) scoreSums[bucket] / counts[bucket]) : 0;
+    }
+
+    /**
+     * Catalog indices of the bucket's top careers, best first
+     */
+    public int[] topCareers(int bucket) {
+        return heaps[bucket] != null ? heaps[bucket].toSortedArray() : new int[0];
+    }
+
+    /**
+     * Unrounded final scores of the bucket's top careers, aligned with {@link #topCareers(int)}
+     */
+    public double[] topScores(int bucket) {
+        return heaps[bucket] != null ? heaps[bucket].sortedValues() : new double[0];
+    }
+
+    /**
+     * Ordinals of the best non-empty buckets, best first
+     */
+    public int[] rankedBuckets(int limit) {
+        // Bounded insertion: O(buckets x limit), equal scores stay in ordinal order
+        int[] top = new int[Math.max(0, Math.min(limit, counts.length))];
+        if (top.length == 0) return top;
+        int size = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] == 0) continue;
+            int score = bucketScore(bucket);
+            if (size == top.length && bucketScore(top[size - 1]) >= score) continue;
+            int j = size < top.length ? size++ : size - 1;
+            while (j > 0 && bucketScore(top[j - 1]) < score) {
+                top[j] = top[j - 1];
+                j--;
+            }
+            top[j] = bucket;
+        }
+        return Arrays.copyOf(top, size);
+    }
+}
@@ -0,0 +1,233 @@
+package com.naviksha.scoring;
+
+import com.naviksha.model.Career;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Career Catalog
+ *
+ * Immutable, compiled form of the career collection used by the scoring engine.
+ * Built once per catalog load so that the per-submission hot path works on
+ * dictionary IDs instead of the subject and tag names on {@link Career}.
+ *
+ * HOW IT IS BUILT:
+ * - Subjects, tags and bucket names are interned into {@link TermDictionary}s
+ * - Each career becomes a {@link CompiledCareer} referencing those IDs
+ * - Careers keep their catalog order, which is used as the ranking tie-breaker
+ *
+ * Extracurriculars are resolved to tag bitmasks on first sight and cached per
+ * normalized (lowercased) activity, so repeat activities cost one map lookup.
+ */
+public final class CareerCatalog {
+
+    // Activities are mostly picked from a fixed list; the cap guards against free text
+    private static final int MAX_CACHED_ACTIVITIES = 4096;
+
+    private final List<CompiledCareer> careers;
+    private final TermDictionary subjects;
+    private final TermDictionary tags;
+    private final TermDictionary buckets;
+    private volatile CareerFeatureMatrix featureMatrix;
+    private volatile BucketBounds bucketBounds;
+    private volatile CareerIndex careerIndex;
+    private final Map<String, ActivityMasks> activityMasks = new ConcurrentHashMap<>();
+
+    private CareerCatalog(List<CompiledCareer> careers, TermDictionary subjects,
+                          TermDictionary tags, TermDictionary buckets) {
+        this.careers = careers;
+        this.subjects = subjects;
+        this.tags = tags;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Compile a list of careers into a catalog
+     */
+    public static CareerCatalog compile(List<Career> source) {
+        TermDictionary subjects = new TermDictionary();
+        TermDictionary tags = new TermDictionary();
+        TermDictionary buckets = new TermDictionary();
+        List<CompiledCareer> careers = new ArrayList<>(source.size());
+
+        for (Career career : source) {
+            List<String> subjectNames = listOf(career.getPrimarySubjects());
+            int[] subjectIds = new int[subjectNames.size()];
+            for (int i = 0; i < subjectIds.length; i++) {
+                subjectIds[i] = subjects.intern(subjectNames.get(i));
+            }
+
+            List<String> tagNames = listOf(career.getTags());
+            int[] tagIds = new int[tagNames.size()];
+            for (int i = 0; i < tagIds.length; i++) {
+                tagIds[i] = tags.intern(tagNames.get(i));
+            }
+
+            String bucket = career.getBucket() != null ? career.getBucket() : "";
+
+            careers.add(new CompiledCareer(
+                careers.size(),
+                career,
+                buckets.intern(bucket),
+                RiasecVector.fromProfile(career.getRiasecProfile()),
+                subjectIds,
+                tagIds,
+                studyPath(career.getTop5CollegeCourses())
+            ));
+        }
+
+        return new CareerCatalog(Collections.unmodifiableList(careers), subjects, tags, buckets);
+    }
+
+    /**
+     * Catalog with the given dictionaries and no careers, used by
+     * CareerColumnStore to resolve submissions against off-heap careers
+     */
+    static CareerCatalog ofTerms(TermDictionary subjects, TermDictionary tags, TermDictionary buckets) {
+        return new CareerCatalog(List.of(), subjects, tags, buckets);
+    }
+
+    /**
+     * A Career list field, or an empty list when the field is absent
+     */
+    public static List<String> listOf(List<String> values) {
+        return values != null ? values : List.of();
+    }
+
+    /**
+     * First three of a career's top5CollegeCourses
+     */
+    public static List<String> studyPath(List<String> courses) {
+        if (courses == null) return List.of();
+        return Collections.unmodifiableList(new ArrayList<>(courses.subList(0, Math.min(3, courses.size()))));
+    }
+
+    public List<CompiledCareer> getCareers() {
+        return careers;
+    }
+
+    public int size() {
+        return careers.size();
+    }
+
+    public TermDictionary getSubjects() {
+        return subjects;
+    }
+
+    public TermDictionary getTags() {
+        return tags;
+    }
+
+    public TermDictionary getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Dense feature matrix for the SIMD scoring kernel, built on first use
+     */
+    public CareerFeatureMatrix getFeatureMatrix() {
+        CareerFeatureMatrix matrix = featureMatrix;
+        if (matrix == null) {
+            synchronized (this) {
+                matrix = featureMatrix;
+                if (matrix == null) {
+                    matrix = CareerFeatureMatrix.build(this);
+                    featureMatrix = matrix;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Subject, tag and bucket to career inverted indexes, built on first use
+     */
+    public CareerIndex getCareerIndex() {
+        CareerIndex index = careerIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = careerIndex;
+                if (index == null) {
+                    index = CareerIndex.build(this);
+                    careerIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Per-bucket aggregates for upper-bound pruning, built on first use
+     */
+    public BucketBounds getBucketBounds() {
+        BucketBounds bounds = bucketBounds;
+        if (bounds == null) {
+            synchronized (this) {
+                bounds = bucketBounds;
+                if (bounds == null) {
+                    bounds = BucketBounds.build(this);
+                    bucketBounds = bounds;
+                }
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Tag bitmasks for one extracurricular, compared case-insensitively
+     */
+    public ActivityMasks activityMasks(String activity) {
+        String normalized = activity.toLowerCase();
+        ActivityMasks masks = activityMasks.get(normalized);
+        if (masks == null) {
+            masks = ActivityMasks.resolve(normalized, tags);
+            if (activityMasks.size() < MAX_CACHED_ACTIVITIES) {
+                activityMasks.putIfAbsent(normalized, masks);
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * Tags related to one extracurricular:
+     * - matching: the activity contains the tag or the tag contains the activity
+     * - mentioned: the activity contains the tag
+     */
+    public static final class ActivityMasks {
+
+        private final long[] matching;
+        private final long[] mentioned;
+
+        private ActivityMasks(long[] matching, long[] mentioned) {
+            this.matching = matching;
+            this.mentioned = mentioned;
+        }
+
+        static ActivityMasks resolve(String activity, TermDictionary tags) {
+            long[] matching = TagMask.forSize(tags.size());
+            long[] mentioned = TagMask.forSize(tags.size());
+            for (int t = 0; t < tags.size(); t++) {
+                String tag = tags.nameOf(t).toLowerCase();
+                if (activity.contains(tag)) {
+                    TagMask.set(mentioned, t);
+                    TagMask.set(matching, t);
+                } else if (tag.contains(activity)) {
+                    TagMask.set(matching, t);
+                }
+            }
+            return new ActivityMasks(matching, mentioned);
+        }
+
+        public long[] getMatching() {
+            return matching;
+        }
+
+        public long[] getMentioned() {
+            return mentioned;
+        }
+    }
+}
@@ -0,0 +1,571 @@
+package com.naviksha.scoring;
+
+import com.naviksha.model.Career;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Career Column Store
+ *
+ * Off-heap, memory-mapped columnar copy of a career catalog for catalogs too
+ * large to hold as Career / CompiledCareer objects. The scoring engine reads
+ * the columns directly (ScoringService.computeCareerReport with
+ * scoring.column-store.enabled); only the few careers that make it into a
+ * report are turned back into CompiledCareer objects.
+ *
+ * FILE LAYOUT (little-endian, columns 8-byte aligned, n = career count):
+ * - Header: magic, format version, n, subject slots, tag slots, mask words,
+ *   dictionary bytes, content hash of the source careers
+ * - Dictionaries: subject, tag and bucket names in ID order
+ * - bucket: int[n] bucket ordinal
+ * - traits: byte[n] RIASEC profile as a bitmask (bit = trait ordinal)
+ * - traitCounts: byte[n] RIASEC match divisor (RiasecVector.traitCount)
+ * - subjects: int[n x subjectSlots] subject IDs, padded with -1
+ * - tags: int[n x tagSlots] tag IDs, padded with -1
+ * - masks: long[n x maskWords] tag bitmask
+ * - text: int[n] offset into the string heap of careerId and careerName
+ *   (length-prefixed UTF-8, -1 for null) and top5CollegeCourses (count of
+ *   such strings, -1 for null, then the strings)
+ *
+ * The content hash (see contentHash) covers every stored field of every
+ * career in order, so a file can be checked against the database it claims
+ * to copy without trusting any in-process version.
+ *
+ * Slot counts are the widest career of the catalog, so every row has the same
+ * width and a career's cells are found by multiplication, never by a scan.
+ * IDs, ordinals and career order are those CareerCatalog.compile assigns to
+ * the same career sequence, so both paths rank identically.
+ *
+ * FOOTPRINT:
+ * The file is written by streaming the source twice (dictionaries and widths,
+ * then rows), so writing and scoring use heap for the dictionaries only.
+ * Mappings are read-only views of the page cache: every JVM on the host that
+ * maps the same file shares one copy. A file is limited to 2 GB (one mapping).
+ */
+public final class CareerColumnStore {
+
+    private static final long MAGIC = 0x4E564B434F4C5331L; // "NVKCOLS1"
+    private static final int FORMAT_VERSION = 4;
+    private static final int HEADER_BYTES = 40;
+    private static final int NO_ID = -1;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final Layout layout;
+    private final long contentHash;
+    private final CareerCatalog terms;
+
+    private CareerColumnStore(Path path, ByteBuffer buffer, Layout layout, long contentHash, CareerCatalog terms) {
+        this.path = path;
+        this.buffer = buffer;
+        this.layout = layout;
+        this.contentHash = contentHash;
+        this.terms = terms;
+    }
+
+    /**
+     * Write a store file from a career source and map it
+     *
+     * The file is written next to the target and moved into place atomically,
+     * so readers that already mapped the old file keep a consistent view.
+     *
+     * @param source Supplies the same careers, in the same order, on each call (called twice)
+     * @throws IllegalArgumentException if the catalog does not fit in one 2 GB mapping
+     * @throws IllegalStateException if the source changed between the two passes
+     */
+    public static CareerColumnStore write(Path target, Supplier<Stream<Career>> source) throws IOException {
+        // Pass 1: dictionaries, row widths and string heap size
+        TermDictionary subjects = new TermDictionary();
+        TermDictionary tags = new TermDictionary();
+        TermDictionary buckets = new TermDictionary();
+        int size = 0;
+        int subjectSlots = 0;
+        int tagSlots = 0;
+        long heapBytes = 0;
+        ContentHash contentHash = new ContentHash();
+        try (Stream<Career> careers = source.get()) {
+            for (Iterator<Career> it = careers.iterator(); it.hasNext(); ) {
+                Career career = it.next();
+                contentHash.add(career);
+                List<String> subjectNames = CareerCatalog.listOf(career.getPrimarySubjects());
+                List<String> tagNames = CareerCatalog.listOf(career.getTags());
+                subjectNames.forEach(subjects::intern);
+                tagNames.forEach(tags::intern);
+                buckets.intern(bucketOf(career));
+                subjectSlots = Math.max(subjectSlots, subjectNames.size());
+                tagSlots = Math.max(tagSlots, tagNames.size());
+                heapBytes += textBytes(career.getCareerId()) + textBytes(career.getCareerName())
+                    + textsBytes(career.getTop5CollegeCourses());
+                size++;
+            }
+        }
+
+        byte[] dictionaries = encodeDictionaries(subjects, tags, buckets);
+        Layout layout = new Layout(size, subjectSlots, tagSlots, TagMask.forSize(tags.size()).length,
+            dictionaries.length);
+        long fileBytes = layout.heap + heapBytes;
+        if (fileBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Career column store of " + fileBytes + " bytes exceeds 2 GB");
+        }
+
+        Path absolute = target.toAbsolutePath();
+        if (absolute.getParent() != null) {
+            Files.createDirectories(absolute.getParent());
+        }
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes);
+                mapped.order(ByteOrder.LITTLE_ENDIAN);
+                mapped.putLong(0, MAGIC);
+                mapped.putInt(8, FORMAT_VERSION);
+                mapped.putInt(12, size);
+                mapped.putInt(16, subjectSlots);
+                mapped.putInt(20, tagSlots);
+                mapped.putInt(24, layout.maskWords);
+                mapped.putInt(28, dictionaries.length);
+                mapped.putLong(32, contentHash.value());
+                mapped.put(HEADER_BYTES, dictionaries);
+
+                // Pass 2: one row per career, written straight into the mapping
+                int c = 0;
+                int heapPosition = layout.heap;
+                try (Stream<Career> careers = source.get()) {
+                    for (Iterator<Career> it = careers.iterator(); it.hasNext(); c++) {
+                        if (c == size) {
+                            throw new IllegalStateException("Career source grew while the column store was written");
+                        }
+                        heapPosition = writeRow(mapped, layout, c, it.next(), subjects, tags, buckets, heapPosition);
+                    }
+                }
+                if (c != size) {
+                    throw new IllegalStateException("Career source shrank while the column store was written");
+                }
+                mapped.force();
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return open(absolute);
+    }
+
+    /**
+     * Map an existing store file read-only
+     *
+     * @throws IOException if the file is missing, truncated or not a store of this format
+     */
+    public static CareerColumnStore open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileBytes = channel.size();
+            if (fileBytes < HEADER_BYTES || fileBytes > Integer.MAX_VALUE) {
+                throw new IOException("Not a career column store: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileBytes).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getLong(0) != MAGIC || buffer.getInt(8) != FORMAT_VERSION) {
+                throw new IOException("Not a career column store of format " + FORMAT_VERSION + ": " + path);
+            }
+
+            Layout layout = new Layout(buffer.getInt(12), buffer.getInt(16), buffer.getInt(20),
+                buffer.getInt(24), buffer.getInt(28));
+            if (layout.heap > fileBytes) {
+                throw new IOException("Truncated career column store: " + path);
+            }
+            ByteBuffer dictionaries = buffer.slice(HEADER_BYTES, layout.dictionaryBytes).order(ByteOrder.LITTLE_ENDIAN);
+            TermDictionary subjects = readDictionary(dictionaries);
+            TermDictionary tags = readDictionary(dictionaries);
+            TermDictionary buckets = readDictionary(dictionaries);
+
+            // The mapping stays valid after the channel is closed
+            return new CareerColumnStore(path, buffer, layout, buffer.getLong(32),
+                CareerCatalog.ofTerms(subjects, tags, buckets));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Hash of the careers the file was written from; equals contentHash of the same careers
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Hash of the stored fields of a career sequence, in order, as written into the header
+     */
+    public static long contentHash(Stream<Career> careers) {
+        ContentHash contentHash = new ContentHash();
+        careers.forEach(contentHash::add);
+        return contentHash.value();
+    }
+
+    public int size() {
+        return layout.size;
+    }
+
+    public long byteSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Catalog holding only the store's subject, tag and bucket dictionaries,
+     * for resolving a submission into a ScoringProfile; it has no careers
+     */
+    public CareerCatalog getTerms() {
+        return terms;
+    }
+
+    public int bucketOrdinal(int career) {
+        return buffer.getInt(layout.bucket + career * 4);
+    }
+
+    /**
+     * RIASEC profile traits as a bitmask, bit t set if trait ordinal t is required
+     */
+    public int riasecTraits(int career) {
+        return buffer.get(layout.traits + career);
+    }
+
+    /**
+     * RIASEC match divisor, the distinct characters of the profile code
+     */
+    public int riasecTraitCount(int career) {
+        return Byte.toUnsignedInt(buffer.get(layout.traitCounts + career));
+    }
+
+    public int subjectSlots() {
+        return layout.subjectSlots;
+    }
+
+    /**
+     * Subject ID in the given slot, or -1 past the career's last subject
+     */
+    public int subjectId(int career, int slot) {
+        return buffer.getInt(layout.subjects + (career * layout.subjectSlots + slot) * 4);
+    }
+
+    public int tagSlots() {
+        return layout.tagSlots;
+    }
+
+    /**
+     * Tag ID in the given slot, or -1 past the career's last tag
+     */
+    public int tagId(int career, int slot) {
+        return buffer.getInt(layout.tags + (career * layout.tagSlots + slot) * 4);
+    }
+
+    public boolean hasTag(int career, int tagId) {
+        if (tagId < 0) return false;
+        int word = tagId >> 6;
+        return word < layout.maskWords && (maskWord(career, word) & (1L << tagId)) != 0;
+    }
+
+    /**
+     * True if the career shares at least one tag with the mask
+     */
+    public boolean tagsIntersect(int career, long[] mask) {
+        int words = Math.min(mask.length, layout.maskWords);
+        for (int w = 0; w < words; w++) {
+            if ((maskWord(career, w) & mask[w]) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Rebuild one career as a CompiledCareer, for rendering it into a report
+     */
+    public CompiledCareer career(int career) {
+        int position = layout.heap + buffer.getInt(layout.text + career * 4);
+        String careerId = readText(position);
+        position += textBytes(careerId);
+        String careerName = readText(position);
+        position += textBytes(careerName);
+        List<String> courses = readTexts(position);
+
+        int bucket = bucketOrdinal(career);
+        Career source = Career.builder()
+            .careerId(careerId)
+            .careerName(careerName)
+            .bucket(terms.getBuckets().nameOf(bucket))
+            .top5CollegeCourses(courses)
+            .build();
+
+        RiasecVector riasec = RiasecVector.fromTraits(riasecTraits(career), riasecTraitCount(career));
+        return new CompiledCareer(career, source, bucket, riasec,
+            ids(career, layout.subjects, layout.subjectSlots), ids(career, layout.tags, layout.tagSlots),
+            CareerCatalog.studyPath(courses));
+    }
+
+    private long maskWord(int career, int word) {
+        return buffer.getLong(layout.masks + (career * layout.maskWords + word) * 8);
+    }
+
+    private int[] ids(int career, int column, int slots) {
+        int count = 0;
+        while (count < slots && buffer.getInt(column + (career * slots + count) * 4) != NO_ID) count++;
+        int[] ids = new int[count];
+        for (int slot = 0; slot < count; slot++) {
+            ids[slot] = buffer.getInt(column + (career * slots + slot) * 4);
+        }
+        return ids;
+    }
+
+    private String readText(int position) {
+        int length = buffer.getInt(position);
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int writeRow(ByteBuffer out, Layout layout, int c, Career career, TermDictionary subjects,
+                                TermDictionary tags, TermDictionary buckets, int heapPosition) {
+        List<String> subjectNames = CareerCatalog.listOf(career.getPrimarySubjects());
+        List<String> tagNames = CareerCatalog.listOf(career.getTags());
+        int bucket = buckets.idOf(bucketOf(career));
+        if (bucket < 0 || subjectNames.size() > layout.subjectSlots || tagNames.size() > layout.tagSlots) {
+            throw new IllegalStateException("Career " + career.getCareerId() + " changed while the column store was written");
+        }
+
+        out.putInt(layout.bucket + c * 4, bucket);
+
+        RiasecVector riasec = RiasecVector.fromProfile(career.getRiasecProfile());
+        if (riasec.traitCount() > 0xFF) {
+            throw new IllegalArgumentException("Career " + career.getCareerId() + " has an over-long RIASEC profile");
+        }
+        int traits = 0;
+        for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+            if (riasec.get(trait) != 0) traits |= 1 << trait;
+        }
+        out.put(layout.traits + c, (byte) traits);
+        out.put(layout.traitCounts + c, (byte) riasec.traitCount());
+
+        long[] mask = new long[layout.maskWords];
+        for (int slot = 0; slot < layout.subjectSlots; slot++) {
+            int id = slot < subjectNames.size() ? subjects.idOf(subjectNames.get(slot)) : NO_ID;
+            out.putInt(layout.subjects + (c * layout.subjectSlots + slot) * 4, id);
+        }
+        for (int slot = 0; slot < layout.tagSlots; slot++) {
+            int id = slot < tagNames.size() ? tags.idOf(tagNames.get(slot)) : NO_ID;
+            out.putInt(layout.tags + (c * layout.tagSlots + slot) * 4, id);
+            if (id >= 0) TagMask.set(mask, id);
+        }
+        for (int w = 0; w < layout.maskWords; w++) {
+            out.putLong(layout.masks + (c * layout.maskWords + w) * 8, mask[w]);
+        }
+
+        out.putInt(layout.text + c * 4, heapPosition - layout.heap);
+        heapPosition = writeText(out, heapPosition, career.getCareerId());
+        heapPosition = writeText(out, heapPosition, career.getCareerName());
+        return writeTexts(out, heapPosition, career.getTop5CollegeCourses());
+    }
+
+    private static String bucketOf(Career career) {
+        return career.getBucket() != null ? career.getBucket() : "";
+    }
+
+    private static int textBytes(String text) {
+        return 4 + (text != null ? text.getBytes(StandardCharsets.UTF_8).length : 0);
+    }
+
+    private List<String> readTexts(int position) {
+        int count = buffer.getInt(position);
+        if (count < 0) return null;
+        List<String> texts = new ArrayList<>(count);
+        position += 4;
+        for (int i = 0; i < count; i++) {
+            String text = readText(position);
+            texts.add(text);
+            position += textBytes(text);
+        }
+        return texts;
+    }
+
+    private static int textsBytes(List<String> texts) {
+        int bytes = 4;
+        if (texts != null) {
+            for (String text : texts) bytes += textBytes(text);
+        }
+        return bytes;
+    }
+
+    private static int writeTexts(ByteBuffer out, int position, List<String> texts) {
+        if (texts == null) {
+            out.putInt(position, -1);
+            return position + 4;
+        }
+        out.putInt(position, texts.size());
+        position += 4;
+        for (String text : texts) {
+            position = writeText(out, position, text);
+        }
+        return position;
+    }
+
+    private static int writeText(ByteBuffer out, int position, String text) {
+        if (text == null) {
+            out.putInt(position, -1);
+            return position + 4;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.putInt(position, bytes.length);
+        out.put(position + 4, bytes);
+        return position + 4 + bytes.length;
+    }
+
+    private static byte[] encodeDictionaries(TermDictionary... dictionaries) {
+        int bytes = 0;
+        for (TermDictionary dictionary : dictionaries) {
+            bytes += 4;
+            for (int id = 0; id < dictionary.size(); id++) bytes += textBytes(dictionary.nameOf(id));
+        }
+        ByteBuffer out = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int position = 0;
+        for (TermDictionary dictionary : dictionaries) {
+            out.putInt(position, dictionary.size());
+            position += 4;
+            for (int id = 0; id < dictionary.size(); id++) {
+                position = writeText(out, position, dictionary.nameOf(id));
+            }
+        }
+        return out.array();
+    }
+
+    // Reads one dictionary at the buffer's position and advances past it
+    private static TermDictionary readDictionary(ByteBuffer in) {
+        TermDictionary dictionary = new TermDictionary();
+        int count = in.getInt();
+        for (int id = 0; id < count; id++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            dictionary.intern(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return dictionary;
+    }
+
+    /**
+     * Running SHA-256 over the stored fields of each career, length-prefixed so
+     * that field and career boundaries and null vs empty are unambiguous;
+     * the first 8 bytes are the hash
+     */
+    private static final class ContentHash {
+        private final MessageDigest digest;
+
+        ContentHash() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        void add(Career career) {
+            addText(career.getCareerId());
+            addText(career.getCareerName());
+            addText(career.getBucket());
+            addText(career.getRiasecProfile());
+            addTexts(career.getPrimarySubjects());
+            addTexts(career.getTags());
+            addTexts(career.getTop5CollegeCourses());
+        }
+
+        long value() {
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        }
+
+        private void addTexts(List<String> texts) {
+            addLength(texts != null ? texts.size() : -1);
+            if (texts != null) {
+                texts.forEach(this::addText);
+            }
+        }
+
+        private void addText(String text) {
+            if (text == null) {
+                addLength(-1);
+                return;
+            }
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            addLength(bytes.length);
+            digest.update(bytes);
+        }
+
+        private void addLength(int length) {
+            digest.update(ByteBuffer.allocate(4).putInt(length).array());
+        }
+    }
+
+    /**
+     * Byte offsets of the columns, derived from the header counts
+     */
+    private static final class Layout {
+        private final int size;
+        private final int subjectSlots;
+        private final int tagSlots;
+        private final int maskWords;
+        private final int dictionaryBytes;
+        private final int bucket;
+        private final int traits;
+        private final int traitCounts;
+        private final int subjects;
+        private final int tags;
+        private final int masks;
+        private final int text;
+        private final int heap;
+
+        Layout(int size, int subjectSlots, int tagSlots, int maskWords, int dictionaryBytes) {
+            this.size = size;
+            this.subjectSlots = subjectSlots;
+            this.tagSlots = tagSlots;
+            this.maskWords = maskWords;
+            this.dictionaryBytes = dictionaryBytes;
+            long offset = align(HEADER_BYTES + (long) dictionaryBytes);
+            this.bucket = checked(offset);
+            offset = align(offset + 4L * size);
+            this.traits = checked(offset);
+            offset = align(offset + size);
+            this.traitCounts = checked(offset);
+            offset = align(offset + size);
+            this.subjects = checked(offset);
+            offset = align(offset + 4L * size * subjectSlots);
+            this.tags = checked(offset);
+            offset = align(offset + 4L * size * tagSlots);
+            this.masks = checked(offset);
+            offset = align(offset + 8L * size * maskWords);
+            this.text = checked(offset);
+            offset = align(offset + 4L * size);
+            this.heap = checked(offset);
+        }
+
+        private static long align(long offset) {
+            return (offset + 7) & ~7L;
+        }
+
+        private static int checked(long offset) {
+            if (offset > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Career column store exceeds 2 GB");
+            }
+            return (int) offset;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.naviksha.scoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Career Feature Matrix
+ *
+ * Column layout of the catalog for the two components of the final score
+ * that depend on a student vector:
+ * - RIASEC: each career points at one of the catalog's distinct requirement
+ *   vectors, so a student's RIASEC match is computed once per requirement
+ *   (RiasecVector.weightedMatch, as per-method scoring does) and looked up
+ *   per career
+ * - Subjects: student marks . (career subject occurrences), plus the same
+ *   occurrences summed for the relevant-subject count, swept by a
+ *   {@link ScoringKernel}
+ *
+ * LAYOUT:
+ * - Subject columns are stored feature-major (one float[] per subject,
+ *   indexed by catalog position) so a kernel can sweep a contiguous range of
+ *   careers per subject with SIMD loads
+ * - Subject columns are only visited for subjects the student has a mark in
+ *
+ * EXACTNESS:
+ * Marks and occurrences are whole numbers, so the float sums and counts are
+ * exact (below 2^24) in any summation order; the average is then divided in
+ * double. Both components are therefore bit-identical to the per-method
+ * scoring in ScoringService, and final scores round the same way.
+ */
+public final class CareerFeatureMatrix {
+
+    private final int size;
+    private final RiasecVector[] riasecRequirements;
+    private final int[] riasecOrdinals;
+    private final float[][] subjectColumns;
+    private final boolean[] hasSubjects;
+
+    private CareerFeatureMatrix(int size, RiasecVector[] riasecRequirements, int[] riasecOrdinals,
+                                float[][] subjectColumns, boolean[] hasSubjects) {
+        this.size = size;
+        this.riasecRequirements = riasecRequirements;
+        this.riasecOrdinals = riasecOrdinals;
+        this.subjectColumns = subjectColumns;
+        this.hasSubjects = hasSubjects;
+    }
+
+    /**
+     * Lay out a compiled catalog as a feature matrix
+     */
+    public static CareerFeatureMatrix build(CareerCatalog catalog) {
+        int size = catalog.size();
+        Map<RiasecVector, Integer> requirementOrdinals = new HashMap<>();
+        List<RiasecVector> requirements = new ArrayList<>();
+        int[] riasecOrdinals = new int[size];
+        float[][] subjectColumns = new float[catalog.getSubjects().size()][size];
+        boolean[] hasSubjects = new boolean[size];
+
+        for (CompiledCareer career : catalog.getCareers()) {
+            int c = career.getIndex();
+            riasecOrdinals[c] = requirementOrdinals.computeIfAbsent(career.getRiasec(), requirement -> {
+                requirements.add(requirement);
+                return requirements.size() - 1;
+            });
+            for (int subjectId : career.getSubjectIds()) {
+                subjectColumns[subjectId][c] += 1f;
+            }
+            hasSubjects[c] = career.getSubjectIds().length > 0;
+        }
+        return new CareerFeatureMatrix(size, requirements.toArray(new RiasecVector[0]), riasecOrdinals,
+            subjectColumns, hasSubjects);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of distinct RIASEC requirement vectors in the catalog
+     */
+    public int riasecRequirements() {
+        return riasecRequirements.length;
+    }
+
+    /**
+     * RIASEC match (0-100) of careers [from, from + out.length) into out
+     */
+    public void riasecScores(RiasecVector student, int from, double[] out) {
+        double[] byRequirement = new double[riasecRequirements.length];
+        for (int r = 0; r < byRequirement.length; r++) {
+            byRequirement[r] = riasecRequirements[r].weightedMatch(student);
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = byRequirement[riasecOrdinals[from + i]];
+        }
+    }
+
+    /**
+     * Average mark over each career's relevant subjects for careers
+     * [from, from + out.length) into out; NaN where the career lists no
+     * subjects or the student has no mark in any of them
+     *
+     * @param subjectScores mark per catalog subject ID, or {@link ScoringProfile#NO_SCORE}
+     * @param sums scratch buffer at least as long as out
+     * @param counts scratch buffer at least as long as out
+     */
+    public void subjectAverages(ScoringKernel kernel, int[] subjectScores, int from, double[] out,
+                                float[] sums, float[] counts) {
+        Arrays.fill(sums, 0, out.length, 0f);
+        Arrays.fill(counts, 0, out.length, 0f);
+        for (int subjectId = 0; subjectId < subjectColumns.length; subjectId++) {
+            int score = subjectScores[subjectId];
+            if (score == ScoringProfile.NO_SCORE) continue;
+            kernel.accumulate(score, subjectColumns[subjectId], from, sums, out.length);
+            kernel.accumulate(1f, subjectColumns[subjectId], from, counts, out.length);
+        }
+        for (int i = 0; i < out.length; i++) {
+            out[i] = hasSubjects[from + i] && counts[i] > 0 ? (double) sums[i] / counts[i] : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.naviksha.scoring;
+
+/**
+ * Career Heap
+ *
+ * Bounded min-heap of (career index, match score) pairs backed by primitive
+ * arrays. Each entry also carries the unrounded final score as a payload.
+ *
+ * Keeps the best {@code capacity} careers seen so far. The root is the
+ * weakest kept career, so a new candidate is compared against it in O(1).
+ *
+ * ORDERING:
+ * - Higher match score ranks first
+ * - Equal scores rank by lower catalog index, matching a stable descending sort
+ */
+public final class CareerHeap {
+
+    private final int[] careers;
+    private final int[] scores;
+    private final double[] values;
+    private int size;
+
+    public CareerHeap(int capacity) {
+        this.careers = new int[capacity];
+        this.scores = new int[capacity];
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Offer a candidate; it is kept only if it beats the weakest kept career
+     */
+    public void offer(int career, int score) {
+        offer(career, score, score);
+    }
+
+    /**
+     * Offer a candidate ranked by its rounded score, keeping the unrounded value
+     */
+    public void offer(int career, int score, double value) {
+        if (careers.length == 0) return;
+        if (size < careers.length) {
+            careers[size] = career;
+            scores[size] = score;
+            values[size] = value;
+            siftUp(size++);
+        } else if (ranksBefore(career, score, careers[0], scores[0])) {
+            careers[0] = career;
+            scores[0] = score;
+            values[0] = value;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Offer every career kept by another heap
+     */
+    public void offerAll(CareerHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.careers[i], other.scores[i], other.values[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Kept career indices, best first
+     */
+    public int[] toSortedArray() {
+        int[] order = sortedSlots();
+        int[] sortedCareers = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedCareers[i] = careers[order[i]];
+        }
+        return sortedCareers;
+    }
+
+    /**
+     * Unrounded scores of the kept careers, aligned with {@link #toSortedArray()}
+     */
+    public double[] sortedValues() {
+        int[] order = sortedSlots();
+        double[] sortedValues = new double[size];
+        for (int i = 0; i < size; i++) {
+            sortedValues[i] = values[order[i]];
+        }
+        return sortedValues;
+    }
+
+    /**
+     * Heap slots ordered best first
+     */
+    private int[] sortedSlots() {
+        // Insertion sort - the heap only ever holds a handful of careers
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            int slot = i;
+            int j = i - 1;
+            while (j >= 0 && ranksBefore(careers[slot], scores[slot], careers[order[j]], scores[order[j]])) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = slot;
+        }
+        return order;
+    }
+
+    static boolean ranksBefore(int career, int score, int otherCareer, int otherScore) {
+        return score > otherScore || (score == otherScore && career < otherCareer);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!ranksBefore(careers[parent], scores[parent], careers[i], scores[i])) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int weakest = left;
+            int right = left + 1;
+            if (right < size && ranksBefore(careers[left], scores[left], careers[right], scores[right])) {
+                weakest = right;
+            }
+            if (!ranksBefore(careers[i], scores[i], careers[weakest], scores[weakest])) break;
+            swap(i, weakest);
+            i = weakest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int career = careers[a];
+        careers[a] = careers[b];
+        careers[b] = career;
+        int score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        double value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+}
@@ -0,0 +1,84 @@
+package com.naviksha.scoring;
+
+import java.util.Arrays;
+
+/**
+ * Career Index
+ *
+ * Inverted indexes from subject, tag and bucket IDs to the catalog indices of
+ * the careers that reference them, so a change to one student input can be
+ * traced to exactly the careers whose score it affects.
+ *
+ * Careers are listed in catalog order, each at most once per term.
+ */
+public final class CareerIndex {
+
+    private final int[][] bySubject;
+    private final int[][] byTag;
+    private final int[][] byBucket;
+
+    private CareerIndex(int[][] bySubject, int[][] byTag, int[][] byBucket) {
+        this.bySubject = bySubject;
+        this.byTag = byTag;
+        this.byBucket = byBucket;
+    }
+
+    /**
+     * Index a compiled catalog
+     */
+    public static CareerIndex build(CareerCatalog catalog) {
+        int subjectCount = catalog.getSubjects().size();
+        int tagCount = catalog.getTags().size();
+        int bucketCount = catalog.getBuckets().size();
+
+        // Two passes: count, then fill exact-size arrays
+        int[] subjectCounts = new int[subjectCount];
+        int[] tagCounts = new int[tagCount];
+        int[] bucketCounts = new int[bucketCount];
+        for (CompiledCareer career : catalog.getCareers()) {
+            for (int subjectId : distinct(career.getSubjectIds())) subjectCounts[subjectId]++;
+            for (int tagId : distinct(career.getTagIds())) tagCounts[tagId]++;
+            bucketCounts[career.getBucketOrdinal()]++;
+        }
+
+        int[][] bySubject = allocate(subjectCounts);
+        int[][] byTag = allocate(tagCounts);
+        int[][] byBucket = allocate(bucketCounts);
+        Arrays.fill(subjectCounts, 0);
+        Arrays.fill(tagCounts, 0);
+        Arrays.fill(bucketCounts, 0);
+        for (CompiledCareer career : catalog.getCareers()) {
+            int c = career.getIndex();
+            for (int subjectId : distinct(career.getSubjectIds())) bySubject[subjectId][subjectCounts[subjectId]++] = c;
+            for (int tagId : distinct(career.getTagIds())) byTag[tagId][tagCounts[tagId]++] = c;
+            int b = career.getBucketOrdinal();
+            byBucket[b][bucketCounts[b]++] = c;
+        }
+        return new CareerIndex(bySubject, byTag, byBucket);
+    }
+
+    public int[] careersWithSubject(int subjectId) {
+        return bySubject[subjectId];
+    }
+
+    public int[] careersWithTag(int tagId) {
+        return byTag[tagId];
+    }
+
+    public int[] careersInBucket(int bucket) {
+        return byBucket[bucket];
+    }
+
+    private static int[][] allocate(int[] counts) {
+        int[][] lists = new int[counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            lists[i] = new int[counts[i]];
+        }
+        return lists;
+    }
+
+    // Careers may list a subject or tag twice
+    private static int[] distinct(int[] ids) {
+        return ids.length < 2 ? ids : Arrays.stream(ids).distinct().toArray();
+    }
+}
@@ -0,0 +1,95 @@
+package com.naviksha.scoring;
+
+import com.naviksha.model.Career;
+
+import java.util.List;
+
+/**
+ * Compiled Career
+ *
+ * Scoring view of a {@link Career}, built once when the catalog is compiled.
+ * All string fields the scoring formula needs are pre-parsed:
+ * - RIASEC profile as a {@link RiasecVector} of trait weights
+ * - Primary subjects and tags as IDs into the catalog dictionaries
+ * - Tags additionally as a {@link TagMask} bitmask for overlap tests
+ * - Bucket as an interned ordinal
+ *
+ * The source {@link Career} is kept for rendering a match into a report. When
+ * it comes from the scoring projection its narrative fields are null and the
+ * report reads them separately (CareerService.findNarrativeFields).
+ */
+public final class CompiledCareer {
+
+    private final int index;
+    private final Career source;
+    private final int bucketOrdinal;
+    private final RiasecVector riasec;
+    private final int[] subjectIds;
+    private final int[] tagIds;
+    private final long[] tagMask;
+    private final List<String> studyPath;
+
+    CompiledCareer(int index, Career source, int bucketOrdinal, RiasecVector riasec,
+                   int[] subjectIds, int[] tagIds, List<String> studyPath) {
+        this.index = index;
+        this.source = source;
+        this.bucketOrdinal = bucketOrdinal;
+        this.riasec = riasec;
+        this.subjectIds = subjectIds;
+        this.tagIds = tagIds;
+        this.tagMask = TagMask.of(tagIds);
+        this.studyPath = studyPath;
+    }
+
+    /**
+     * Position of this career in its catalog, used as a stable tie-breaker
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public Career getSource() {
+        return source;
+    }
+
+    public String getCareerName() {
+        return source.getCareerName();
+    }
+
+    public int getBucketOrdinal() {
+        return bucketOrdinal;
+    }
+
+    /**
+     * Importance of each RIASEC trait (1 if the trait is in the profile, else 0)
+     */
+    public RiasecVector getRiasec() {
+        return riasec;
+    }
+
+    public int[] getSubjectIds() {
+        return subjectIds;
+    }
+
+    public int[] getTagIds() {
+        return tagIds;
+    }
+
+    /**
+     * Tag IDs as a bitmask
+     */
+    public long[] getTagMask() {
+        return tagMask;
+    }
+
+    public boolean hasTag(int tagId) {
+        return TagMask.contains(tagMask, tagId);
+    }
+
+    /**
+     * First three college courses, already split and trimmed
+     */
+    public List<String> getStudyPath() {
+        return studyPath;
+    }
+}
@@ -0,0 +1,73 @@
+package com.naviksha.scoring;
+
+/**
+ * Component Scores
+ *
+ * The four separable components of the final score (RIASEC, subject,
+ * practical, context) for every career of a catalog, for one student.
+ *
+ * Kept from a full scoring run so what-if queries can recompute only the
+ * component a changed input feeds, and only for the careers it touches.
+ * Instances are never mutated once shared: edit() copies the one component
+ * array that is about to change and shares the other three.
+ */
+public final class ComponentScores {
+
+    public static final int RIASEC = 0;
+    public static final int SUBJECT = 1;
+    public static final int PRACTICAL = 2;
+    public static final int CONTEXT = 3;
+    public static final int COUNT = 4;
+
+    private final double[][] components;
+
+    /**
+     * @param components Per component, one score per catalog index
+     */
+    public ComponentScores(double[][] components) {
+        if (components.length != COUNT) {
+            throw new IllegalArgumentException("Expected " + COUNT + " components, got " + components.length);
+        }
+        this.components = components;
+    }
+
+    public double get(int component, int career) {
+        return components[component][career];
+    }
+
+    public int size() {
+        return components[RIASEC].length;
+    }
+
+    /**
+     * Copy whose given component can be changed with set(); other components stay shared
+     */
+    public ComponentScores edit(int component) {
+        double[][] copy = components.clone();
+        copy[component] = components[component].clone();
+        return new ComponentScores(copy);
+    }
+
+    /**
+     * Only valid on an instance returned by edit() for the same component
+     */
+    public void set(int component, int career, double score) {
+        components[component][career] = score;
+    }
+
+    /**
+     * Final scores under the given weights, aggregated per bucket
+     */
+    public BucketRanking rank(CareerCatalog catalog, ScoringWeights weights, int careersPerBucket) {
+        BucketRanking ranking = new BucketRanking(catalog.getBuckets().size(), careersPerBucket);
+        double[] riasec = components[RIASEC];
+        double[] subject = components[SUBJECT];
+        double[] practical = components[PRACTICAL];
+        double[] context = components[CONTEXT];
+        for (CompiledCareer career : catalog.getCareers()) {
+            int c = career.getIndex();
+            ranking.add(career.getBucketOrdinal(), c, weights.combine(riasec[c], subject[c], practical[c], context[c]));
+        }
+        return ranking;
+    }
+}
@@ -0,0 +1,152 @@
+package com.naviksha.scoring;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Keyword Automaton
+ *
+ * Aho-Corasick multi-pattern matcher. All keywords are compiled into one trie
+ * with failure links, so a text is scanned once, left to right, no matter how
+ * many keywords there are: O(text length + matches) instead of one
+ * {@code String.contains} per keyword.
+ *
+ * MATCHING:
+ * - Patterns are matched exactly; callers lowercase both sides beforehand
+ * - {@link #scan(String)} reports which patterns occur at least once,
+ *   i.e. the same answer as {@code text.contains(pattern)} for every pattern
+ * - Pattern IDs are positions in the list passed to {@link #compile(List)}
+ */
+public final class KeywordAutomaton {
+
+    private static final int ROOT = 0;
+
+    // Per-node transitions, labels sorted for binary search
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] fail;
+    // Pattern IDs ending at each node, including those inherited via failure links
+    private final int[][] outputs;
+    private final int patternCount;
+
+    private KeywordAutomaton(char[][] labels, int[][] targets, int[] fail, int[][] outputs, int patternCount) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.patternCount = patternCount;
+    }
+
+    /**
+     * Build the automaton for a list of patterns
+     */
+    public static KeywordAutomaton compile(List<String> patterns) {
+        // Phase 1: trie
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        children.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+        for (int p = 0; p < patterns.size(); p++) {
+            int node = ROOT;
+            for (char ch : patterns.get(p).toCharArray()) {
+                Integer next = children.get(node).get(ch);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    children.get(node).put(ch, next);
+                }
+                node = next;
+            }
+            ends.get(node).add(p);
+        }
+
+        int nodes = children.size();
+        char[][] labels = new char[nodes][];
+        int[][] targets = new int[nodes][];
+        for (int n = 0; n < nodes; n++) {
+            TreeMap<Character, Integer> edges = children.get(n);
+            labels[n] = new char[edges.size()];
+            targets[n] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[n][i] = edge.getKey();
+                targets[n][i++] = edge.getValue();
+            }
+        }
+
+        // Phase 2: failure links and merged outputs, breadth first
+        int[] fail = new int[nodes];
+        int[][] outputs = new int[nodes][];
+        outputs[ROOT] = ends.get(ROOT).stream().mapToInt(Integer::intValue).toArray();
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+        KeywordAutomaton automaton = new KeywordAutomaton(labels, targets, fail, outputs, patterns.size());
+        for (int child : targets[ROOT]) {
+            outputs[child] = merge(ends.get(child), outputs[ROOT]);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < labels[node].length; i++) {
+                char ch = labels[node][i];
+                int child = targets[node][i];
+                fail[child] = automaton.next(fail[node], ch);
+                outputs[child] = merge(ends.get(child), outputs[fail[child]]);
+                queue.add(child);
+            }
+        }
+        return automaton;
+    }
+
+    private static int[] merge(List<Integer> own, int[] inherited) {
+        int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+        for (int i = 0; i < own.size(); i++) {
+            merged[inherited.length + i] = own.get(i);
+        }
+        return merged;
+    }
+
+    public int patternCount() {
+        return patternCount;
+    }
+
+    /**
+     * Flags, per pattern ID, whether the pattern occurs anywhere in the text
+     */
+    public boolean[] scan(String text) {
+        boolean[] found = new boolean[patternCount];
+        markAll(outputs[ROOT], found);
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            node = next(node, text.charAt(i));
+            markAll(outputs[node], found);
+        }
+        return found;
+    }
+
+    private static void markAll(int[] patternIds, boolean[] found) {
+        for (int id : patternIds) {
+            found[id] = true;
+        }
+    }
+
+    /**
+     * Goto function with failure fallback
+     */
+    private int next(int node, char ch) {
+        while (true) {
+            int edge = Arrays.binarySearch(labels[node], ch);
+            if (edge >= 0) return targets[node][edge];
+            if (node == ROOT) return ROOT;
+            node = fail[node];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.naviksha.scoring;
+
+import java.util.Arrays;
+
+/**
+ * Ranking Shift
+ *
+ * Running statistics of how far a candidate ranking moves away from a baseline
+ * ranking of the same student, accumulated over many students in O(1) memory.
+ *
+ * METRICS:
+ * - Top-1 change rate: share of students whose headline career (best career of
+ *   the best bucket) changes
+ * - Top bucket change rate: share of students whose best bucket changes
+ * - Bucket churn: mean share of the baseline's top buckets that drop out of
+ *   the candidate's top buckets
+ * - Mean rank displacement: mean |candidate rank - baseline rank| over the
+ *   baseline's top buckets; a bucket missing from the candidate counts as
+ *   ranked last
+ */
+public final class RankingShift {
+
+    private final int bucketCount;
+    private final int topBuckets;
+
+    private long rankings;
+    private long top1Changes;
+    private long topBucketChanges;
+    private double churnSum;
+    private long displacementSum;
+    private long displacedBuckets;
+
+    /**
+     * @param bucketCount Buckets in the catalog the rankings were built against
+     * @param topBuckets How many leading buckets churn and displacement look at
+     */
+    public RankingShift(int bucketCount, int topBuckets) {
+        this.bucketCount = bucketCount;
+        this.topBuckets = topBuckets;
+    }
+
+    /**
+     * Compare one student's candidate ranking with the baseline ranking
+     */
+    public void record(BucketRanking baseline, BucketRanking candidate) {
+        int[] baseOrder = baseline.rankedBuckets(bucketCount);
+        int[] candidateOrder = candidate.rankedBuckets(bucketCount);
+        rankings++;
+        if (baseOrder.length == 0) return;
+
+        int[] candidateRank = new int[bucketCount];
+        Arrays.fill(candidateRank, candidateOrder.length);
+        for (int rank = 0; rank < candidateOrder.length; rank++) {
+            candidateRank[candidateOrder[rank]] = rank;
+        }
+
+        if (candidateOrder.length == 0 || candidateOrder[0] != baseOrder[0]) {
+            topBucketChanges++;
+        }
+        if (headline(baseline, baseOrder) != headline(candidate, candidateOrder)) {
+            top1Changes++;
+        }
+
+        int top = Math.min(topBuckets, baseOrder.length);
+        int dropped = 0;
+        for (int rank = 0; rank < top; rank++) {
+            int moved = candidateRank[baseOrder[rank]];
+            if (moved >= top) dropped++;
+            displacementSum += Math.abs(moved - rank);
+        }
+        displacedBuckets += top;
+        churnSum += (double) dropped / top;
+    }
+
+    private static int headline(BucketRanking ranking, int[] order) {
+        if (order.length == 0) return -1;
+        int[] careers = ranking.topCareers(order[0]);
+        return careers.length > 0 ? careers[0] : -1;
+    }
+
+    public long getRankings() {
+        return rankings;
+    }
+
+    public double top1ChangeRate() {
+        return rankings > 0 ? (double) top1Changes / rankings : 0;
+    }
+
+    public double topBucketChangeRate() {
+        return rankings > 0 ? (double) topBucketChanges / rankings : 0;
+    }
+
+    public double bucketChurn() {
+        return rankings > 0 ? churnSum / rankings : 0;
+    }
+
+    public double meanRankDisplacement() {
+        return displacedBuckets > 0 ? (double) displacementSum / displacedBuckets : 0;
+    }
+}
@@ -0,0 +1,165 @@
+package com.naviksha.scoring;
+
+import com.naviksha.model.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * RIASEC Answer Table
+ *
+ * Compiled form of the vibematch question bank: question IDs are interned to
+ * ordinals and each question's riasec_map becomes a row of a dense
+ * question x trait weight array. Scoring an answer is one ordinal lookup plus
+ * six multiply-adds, so new or reweighted questions need no code change.
+ *
+ * A Likert answer of value v to question q adds v * weight[q][trait] to every
+ * trait. Questions without a riasec_map (e.g. subjective ones) have a zero row.
+ *
+ * INCREMENTAL USE:
+ * - {@link #applyDelta} updates running trait sums and answer counts from the
+ *   difference between two answer maps (progress autosaves)
+ * - {@link #version()} fingerprints the weights so stored totals can be
+ *   discarded when the question bank is reweighted
+ */
+public final class RiasecAnswerTable {
+
+    private final TermDictionary questions;
+    private final double[] weights;
+    private final int version;
+
+    private RiasecAnswerTable(TermDictionary questions, double[] weights, int version) {
+        this.questions = questions;
+        this.weights = weights;
+        this.version = version;
+    }
+
+    /**
+     * Compile a question bank into an answer-weight table
+     */
+    public static RiasecAnswerTable compile(List<Test.Question> bank) {
+        TermDictionary questions = new TermDictionary();
+        for (Test.Question question : bank) {
+            questions.intern(question.getId());
+        }
+
+        double[] weights = new double[questions.size() * RiasecVector.SIZE];
+        for (Test.Question question : bank) {
+            if (question.getRiasecMap() == null) continue;
+            int row = questions.idOf(question.getId()) * RiasecVector.SIZE;
+            for (Map.Entry<String, Integer> entry : question.getRiasecMap().entrySet()) {
+                int trait = RiasecVector.indexOf(entry.getKey());
+                if (trait >= 0 && entry.getValue() != null) {
+                    weights[row + trait] = entry.getValue();
+                }
+            }
+        }
+        int version = 31 * Arrays.hashCode(weights);
+        for (int q = 0; q < questions.size(); q++) {
+            version = 31 * version + questions.nameOf(q).hashCode();
+        }
+        return new RiasecAnswerTable(questions, weights, version);
+    }
+
+    /**
+     * Number of questions in the table
+     */
+    public int size() {
+        return questions.size();
+    }
+
+    /**
+     * Fingerprint of the question IDs and weights
+     */
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Raw trait totals for a set of answers; non-numeric answers and unknown
+     * questions are ignored
+     */
+    public RiasecVector score(Map<String, Object> answers) {
+        double[] totals = new double[RiasecVector.SIZE];
+        if (answers != null) {
+            for (Map.Entry<String, Object> answer : answers.entrySet()) {
+                if (answer.getValue() instanceof Number) {
+                    accumulate(questions.idOf(answer.getKey()), ((Number) answer.getValue()).intValue(), totals);
+                }
+            }
+        }
+        return RiasecVector.of(totals);
+    }
+
+    /**
+     * Add one answer to running trait totals
+     *
+     * @param question ordinal from {@link #ordinalOf(String)}; -1 is ignored
+     */
+    public void accumulate(int question, double value, double[] totals) {
+        if (question < 0) return;
+        int row = question * RiasecVector.SIZE;
+        for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+            totals[trait] += value * weights[row + trait];
+        }
+    }
+
+    /**
+     * Move running totals from one answer set to another. Only questions whose
+     * answer changed are touched: the old contribution is removed and the new
+     * one added.
+     *
+     * @param sums trait sums, updated in place
+     * @param counts answers contributing to each trait, updated in place
+     */
+    public void applyDelta(Map<String, Object> previous, Map<String, Object> current,
+                           double[] sums, int[] counts) {
+        Map<String, Object> before = previous != null ? previous : Map.of();
+        Map<String, Object> after = current != null ? current : Map.of();
+        for (Map.Entry<String, Object> answer : after.entrySet()) {
+            Object old = before.get(answer.getKey());
+            if (!Objects.equals(old, answer.getValue())) {
+                int question = questions.idOf(answer.getKey());
+                apply(question, old, -1, sums, counts);
+                apply(question, answer.getValue(), 1, sums, counts);
+            }
+        }
+        for (Map.Entry<String, Object> answer : before.entrySet()) {
+            if (!after.containsKey(answer.getKey())) {
+                apply(questions.idOf(answer.getKey()), answer.getValue(), -1, sums, counts);
+            }
+        }
+    }
+
+    private void apply(int question, Object answer, int sign, double[] sums, int[] counts) {
+        if (question < 0 || !(answer instanceof Number)) return;
+        int value = ((Number) answer).intValue();
+        int row = question * RiasecVector.SIZE;
+        for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+            if (weights[row + trait] != 0) {
+                sums[trait] += sign * value * weights[row + trait];
+                counts[trait] += sign;
+            }
+        }
+    }
+
+    /**
+     * True if both answer sets give the same answer to every question in the table
+     */
+    public boolean sameAnswers(Map<String, Object> a, Map<String, Object> b) {
+        for (int q = 0; q < questions.size(); q++) {
+            String questionId = questions.nameOf(q);
+            if (!Objects.equals(a.get(questionId), b.get(questionId))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ordinal of a question ID, or -1 if the question is not in the bank
+     */
+    public int ordinalOf(String questionId) {
+        return questions.idOf(questionId);
+    }
+}
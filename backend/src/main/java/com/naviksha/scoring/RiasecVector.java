@@ -0,0 +1,219 @@
+package com.naviksha.scoring;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RIASEC Vector
+ *
+ * Fixed-width, immutable value type for RIASEC data. Traits are stored in a
+ * double[6] indexed by ordinal (R, I, A, S, E, C) so matching a career is a
+ * six-element loop with no boxing, hashing or allocation.
+ *
+ * Used for both sides of the match:
+ * - Student scores: percentages (0-100) produced by {@link #normalize()}
+ * - Career requirements: weights (1 per trait in the profile, 0 otherwise)
+ *
+ * A requirement's match is averaged over the distinct characters of its
+ * profile code, not just the RIASEC ones, as the original scorer did; a code
+ * such as "R/I" therefore averages over three. traitCount holds that divisor
+ * and is part of the value.
+ *
+ * Convert to a map with {@link #toMap()} only at the report boundary.
+ */
+public final class RiasecVector {
+
+    /** Trait letters in ordinal order */
+    public static final String TRAITS = "RIASEC";
+    public static final int SIZE = 6;
+
+    public static final int R = 0;
+    public static final int I = 1;
+    public static final int A = 2;
+    public static final int S = 3;
+    public static final int E = 4;
+    public static final int C = 5;
+
+    private static final String[] TRAIT_KEYS = {"R", "I", "A", "S", "E", "C"};
+    private static final RiasecVector ZERO = new RiasecVector(new double[SIZE]);
+
+    private final double[] values;
+    private final int traitCount;
+
+    private RiasecVector(double[] values) {
+        this(values, nonZero(values));
+    }
+
+    private RiasecVector(double[] values, int traitCount) {
+        this.values = values;
+        this.traitCount = traitCount;
+    }
+
+    private static int nonZero(double[] values) {
+        int count = 0;
+        for (double value : values) {
+            if (value != 0) count++;
+        }
+        return count;
+    }
+
+    public static RiasecVector zero() {
+        return ZERO;
+    }
+
+    /**
+     * Create a vector from six values in R, I, A, S, E, C order
+     */
+    public static RiasecVector of(double... values) {
+        if (values.length != SIZE) {
+            throw new IllegalArgumentException("RIASEC vector needs " + SIZE + " values, got " + values.length);
+        }
+        return new RiasecVector(values.clone());
+    }
+
+    /**
+     * Create a vector from a map keyed by one-letter trait codes; unknown keys are ignored
+     */
+    public static RiasecVector fromMap(Map<String, Integer> scores) {
+        double[] values = new double[SIZE];
+        if (scores != null) {
+            for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+                int trait = indexOf(entry.getKey());
+                if (trait >= 0 && entry.getValue() != null) {
+                    values[trait] = entry.getValue();
+                }
+            }
+        }
+        return new RiasecVector(values);
+    }
+
+    /**
+     * Create a requirement vector from a career profile code such as "IA" (weight 1 per trait).
+     * The match divisor is the number of distinct characters in the code.
+     */
+    public static RiasecVector fromProfile(String riasecProfile) {
+        if (riasecProfile == null) return ZERO;
+        return fromTraits(traitMask(riasecProfile), (int) riasecProfile.chars().distinct().count());
+    }
+
+    /**
+     * Requirement traits of a profile code as a bitmask, bit t set if trait ordinal t is in it
+     */
+    static int traitMask(String riasecProfile) {
+        int traits = 0;
+        for (int i = 0; i < riasecProfile.length(); i++) {
+            int trait = TRAITS.indexOf(riasecProfile.charAt(i));
+            if (trait >= 0) {
+                traits |= 1 << trait;
+            }
+        }
+        return traits;
+    }
+
+    /**
+     * Create a requirement vector from a trait bitmask and its match divisor
+     */
+    static RiasecVector fromTraits(int traits, int traitCount) {
+        double[] values = new double[SIZE];
+        for (int trait = 0; trait < SIZE; trait++) {
+            if ((traits & (1 << trait)) != 0) values[trait] = 1;
+        }
+        return new RiasecVector(values, traitCount);
+    }
+
+    /**
+     * Ordinal of a one-letter trait code, or -1 if it is not a RIASEC trait
+     */
+    public static int indexOf(String trait) {
+        if (trait == null || trait.length() != 1) return -1;
+        return TRAITS.indexOf(trait.charAt(0));
+    }
+
+    public static String keyOf(int trait) {
+        return TRAIT_KEYS[trait];
+    }
+
+    public double get(int trait) {
+        return values[trait];
+    }
+
+    /**
+     * Divisor of {@link #weightedMatch}: the number of traits with a non-zero value,
+     * or for a profile vector the number of distinct characters in the profile
+     */
+    public int traitCount() {
+        return traitCount;
+    }
+
+    public double sum() {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Convert raw trait totals to whole-number percentages (0-100).
+     * A vector with no scores is returned unchanged.
+     */
+    public RiasecVector normalize() {
+        double total = sum();
+        if (total <= 0) return this;
+        double[] normalized = new double[SIZE];
+        for (int trait = 0; trait < SIZE; trait++) {
+            normalized[trait] = Math.round((values[trait] * 100.0) / total);
+        }
+        return new RiasecVector(normalized);
+    }
+
+    public double dot(RiasecVector other) {
+        double total = 0;
+        for (int trait = 0; trait < SIZE; trait++) {
+            total += values[trait] * other.values[trait];
+        }
+        return total;
+    }
+
+    /**
+     * Match a student's percentage vector against this requirement vector (0-100).
+     * Each required trait contributes (percentage / 100) * weight, averaged over
+     * the number of required traits.
+     */
+    public double weightedMatch(RiasecVector percentages) {
+        if (traitCount == 0) return 0;
+        double totalMatch = 0;
+        for (int trait = 0; trait < SIZE; trait++) {
+            totalMatch += (percentages.values[trait] / 100.0) * values[trait];
+        }
+        return (totalMatch / traitCount) * 100;
+    }
+
+    /**
+     * Convert to an R, I, A, S, E, C ordered map of whole numbers for reports
+     */
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        for (int trait = 0; trait < SIZE; trait++) {
+            map.put(TRAIT_KEYS[trait], (int) Math.round(values[trait]));
+        }
+        return map;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RiasecVector other && traitCount == other.traitCount
+            && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(values) + traitCount;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
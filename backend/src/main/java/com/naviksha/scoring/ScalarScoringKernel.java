@@ -0,0 +1,26 @@
+package com.naviksha.scoring;
+
+/**
+ * Scalar Scoring Kernel
+ *
+ * Plain-loop fallback used when the Vector API module is not enabled.
+ */
+final class ScalarScoringKernel implements ScoringKernel {
+
+    static final ScalarScoringKernel INSTANCE = new ScalarScoringKernel();
+
+    private ScalarScoringKernel() {
+    }
+
+    @Override
+    public void accumulate(float weight, float[] column, int offset, float[] acc, int length) {
+        for (int i = 0; i < length; i++) {
+            acc[i] += weight * column[offset + i];
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,60 @@
+package com.naviksha.scoring;
+
+/**
+ * Scoring Kernel
+ *
+ * The one arithmetic primitive the {@link CareerFeatureMatrix} needs:
+ * {@code acc[i] += weight * column[offset + i]} over a slice of a feature
+ * column. Two implementations exist:
+ * - ScalarScoringKernel: a plain loop, always available
+ * - VectorScoringKernel: jdk.incubator.vector, in src/simd/java and only
+ *   compiled by the simd Maven profile; used when it is on the classpath and
+ *   the JVM was started with --add-modules jdk.incubator.vector
+ *
+ * Both perform the same float multiply and add per element, so they produce
+ * identical results.
+ */
+public interface ScoringKernel {
+
+    /**
+     * acc[i] += weight * column[offset + i] for i in [0, length)
+     */
+    void accumulate(float weight, float[] column, int offset, float[] acc, int length);
+
+    /**
+     * Short name for logging
+     */
+    String name();
+
+    static ScoringKernel scalar() {
+        return ScalarScoringKernel.INSTANCE;
+    }
+
+    /**
+     * The vectorized kernel if it was built and the Vector API module is present,
+     * otherwise the scalar one
+     */
+    static ScoringKernel best() {
+        return KernelHolder.BEST;
+    }
+
+    final class KernelHolder {
+        // Loaded by name so the default build needs neither the class nor the incubator module
+        private static final String VECTOR_KERNEL = "com.naviksha.scoring.VectorScoringKernel";
+        private static final ScoringKernel BEST = select();
+
+        private KernelHolder() {
+        }
+
+        private static ScoringKernel select() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                return scalar();
+            }
+            try {
+                return (ScoringKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return scalar();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.naviksha.scoring;
+
+import com.naviksha.dto.TestSubmissionDTO;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Scoring Profile
+ *
+ * A submission resolved against a {@link CareerCatalog}. Everything that only
+ * depends on the student is computed once here, so per-career scoring reduces
+ * to array lookups:
+ * - riasec: the student's RIASEC percentages
+ * - subjectScores: mark per catalog subject ID, or -1 if the student has none
+ * - activityTagMasks: per activity, bitmask of tags where either contains the other
+ * - activityMentionMasks: per activity, bitmask of tags the activity contains
+ * - tagKeywordHits: subjectivity keywords found in the free text, per tag ID
+ * - keywordTagMask: bitmask of the tags with at least one keyword hit
+ * - rules: the scoring rules the profile was resolved with
+ * - contextBuckets: per bucket ordinal sum of the matching context rules
+ * - contextTags: matching context rules that depend on a career tag
+ */
+@Getter
+@Builder
+public class ScoringProfile {
+
+    public static final int NO_SCORE = -1;
+
+    private final CareerCatalog catalog;
+    private final TestSubmissionDTO submission;
+    private final RiasecVector riasec;
+    private final int[] subjectScores;
+    private final List<String> extracurriculars;
+    private final long[][] activityTagMasks;
+    private final long[][] activityMentionMasks;
+    private final String subjectiveText;
+    private final int[] tagKeywordHits;
+    private final long[] keywordTagMask;
+    private final ScoringRules rules;
+    private final double[] contextBuckets;
+    private final ScoringRules.TagBonus[] contextTags;
+
+    public int subjectScore(int subjectId) {
+        return subjectScores[subjectId];
+    }
+
+    public boolean hasSubjectiveText() {
+        return subjectiveText != null && !subjectiveText.trim().isEmpty();
+    }
+}
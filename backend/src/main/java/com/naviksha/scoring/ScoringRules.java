@@ -0,0 +1,297 @@
+package com.naviksha.scoring;
+
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.model.ScoringRuleSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Scoring Rules
+ *
+ * Compiled, immutable form of a {@link ScoringRuleSet} (scoring_rules.json):
+ * subject mark bands, practical fit weights and context bonuses.
+ *
+ * HOW RULES ARE EVALUATED:
+ * - Subject bands become flat min/below/multiply/cap arrays scanned in order
+ * - Each context rule's student condition and career condition are compiled
+ *   once into predicate trees over the submission and the bucket name
+ * - Per submission, rules are resolved against the catalog (ScoringProfile):
+ *   bucket-level rules sum into one bonus per bucket, tag rules into a short
+ *   list of TagBonus. Per career, the context score is then base + one array
+ *   read + a loop over the active tag bonuses, with no allocation or string work
+ *
+ * CONSTRAINTS (checked at compile time, relied on by BucketBounds):
+ * - Subject scaling never decreases as the mark grows
+ * - Practical per-match and text weights are non-negative
+ */
+public final class ScoringRules {
+
+    private final String version;
+
+    private final double[] bandMin;
+    private final double[] bandBelow;
+    private final double[] bandMultiply;
+    private final double[] bandCap;
+
+    private final double practicalBase;
+    private final double perExtracurricularMatch;
+    private final double textWeight;
+
+    private final double contextBase;
+    private final ContextRule[] contextRules;
+
+    private ScoringRules(String version, double[] bandMin, double[] bandBelow, double[] bandMultiply,
+                         double[] bandCap, ScoringRuleSet.Practical practical, double contextBase,
+                         ContextRule[] contextRules) {
+        this.version = version;
+        this.bandMin = bandMin;
+        this.bandBelow = bandBelow;
+        this.bandMultiply = bandMultiply;
+        this.bandCap = bandCap;
+        this.practicalBase = practical.getBase();
+        this.perExtracurricularMatch = practical.getPerExtracurricularMatch();
+        this.textWeight = practical.getTextWeight();
+        this.contextBase = contextBase;
+        this.contextRules = contextRules;
+    }
+
+    /**
+     * Validate and compile a rule set
+     *
+     * @param version Identifies the rules in submission fingerprints
+     * @throws IllegalArgumentException if a rule is malformed or breaks a constraint
+     */
+    public static ScoringRules compile(ScoringRuleSet set, String version) {
+        List<ScoringRuleSet.SubjectBand> bands = set.getSubjectBands() != null ? set.getSubjectBands() : List.of();
+        double[] bandMin = new double[bands.size()];
+        double[] bandBelow = new double[bands.size()];
+        double[] bandMultiply = new double[bands.size()];
+        double[] bandCap = new double[bands.size()];
+        for (int i = 0; i < bands.size(); i++) {
+            ScoringRuleSet.SubjectBand band = bands.get(i);
+            bandMin[i] = band.getMin() != null ? band.getMin() : Double.NEGATIVE_INFINITY;
+            bandBelow[i] = band.getBelow() != null ? band.getBelow() : Double.POSITIVE_INFINITY;
+            bandMultiply[i] = band.getMultiply();
+            bandCap[i] = band.getCap() != null ? band.getCap() : Double.POSITIVE_INFINITY;
+            if (!(bandMultiply[i] >= 0) || Double.isInfinite(bandMultiply[i])) {
+                throw new IllegalArgumentException("Subject band " + band.getName() + " needs a finite, non-negative multiply");
+            }
+        }
+
+        ScoringRuleSet.Practical practical = set.getPractical() != null ? set.getPractical() : new ScoringRuleSet.Practical();
+        if (!(practical.getPerExtracurricularMatch() >= 0) || !(practical.getTextWeight() >= 0)) {
+            throw new IllegalArgumentException("Practical perExtracurricularMatch and textWeight must be non-negative");
+        }
+
+        ScoringRuleSet.Context context = set.getContext() != null ? set.getContext() : new ScoringRuleSet.Context();
+        List<ScoringRuleSet.ContextRule> rules = context.getRules() != null ? context.getRules() : List.of();
+        ContextRule[] contextRules = new ContextRule[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            contextRules[i] = ContextRule.compile(i, rules.get(i));
+        }
+
+        ScoringRules compiled = new ScoringRules(version, bandMin, bandBelow, bandMultiply, bandCap,
+            practical, context.getBase(), contextRules);
+        compiled.checkSubjectScaleMonotonic();
+        return compiled;
+    }
+
+    /**
+     * Scaled average subject mark: the first band containing the mark applies, else the mark itself
+     */
+    public double scaleSubject(double average) {
+        for (int i = 0; i < bandMin.length; i++) {
+            if (average >= bandMin[i] && average < bandBelow[i]) {
+                return Math.min(bandCap[i], average * bandMultiply[i]);
+            }
+        }
+        return average;
+    }
+
+    /**
+     * Sum of the bucket-level context rules that apply to the student, per bucket ordinal
+     */
+    public double[] contextBucketBonuses(TestSubmissionDTO submission, TermDictionary buckets) {
+        double[] bonuses = new double[buckets.size()];
+        for (ContextRule rule : contextRules) {
+            if (rule.tag != null || !rule.student.test(submission)) continue;
+            for (int b = 0; b < bonuses.length; b++) {
+                if (rule.bucket.test(buckets.nameOf(b))) {
+                    bonuses[b] += rule.delta;
+                }
+            }
+        }
+        return bonuses;
+    }
+
+    /**
+     * Tag-level context rules that apply to the student, resolved against the catalog
+     */
+    public TagBonus[] contextTagBonuses(TestSubmissionDTO submission, CareerCatalog catalog) {
+        List<TagBonus> bonuses = new ArrayList<>();
+        for (ContextRule rule : contextRules) {
+            if (rule.tag == null || !rule.student.test(submission)) continue;
+            int tagId = catalog.getTags().idOf(rule.tag);
+            if (tagId < 0) continue;
+
+            boolean[] buckets = null;
+            if (rule.bucketConditional) {
+                buckets = new boolean[catalog.getBuckets().size()];
+                for (int b = 0; b < buckets.length; b++) {
+                    buckets[b] = rule.bucket.test(catalog.getBuckets().nameOf(b));
+                }
+            }
+            bonuses.add(new TagBonus(rule.index, tagId, buckets, rule.delta));
+        }
+        return bonuses.toArray(new TagBonus[0]);
+    }
+
+    private void checkSubjectScaleMonotonic() {
+        // Scaling is non-decreasing inside a band (multiply >= 0), so only band edges can step down
+        List<Double> edges = new ArrayList<>();
+        for (int i = 0; i < bandMin.length; i++) {
+            edges.add(bandMin[i]);
+            edges.add(bandBelow[i]);
+        }
+        for (double edge : edges) {
+            if (Double.isInfinite(edge)) continue;
+            if (scaleSubject(Math.nextDown(edge)) > scaleSubject(edge)) {
+                throw new IllegalArgumentException("Subject bands decrease the scaled mark at " + edge);
+            }
+        }
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int getSubjectBandCount() {
+        return bandMin.length;
+    }
+
+    public int getContextRuleCount() {
+        return contextRules.length;
+    }
+
+    public double getPracticalBase() {
+        return practicalBase;
+    }
+
+    public double getPerExtracurricularMatch() {
+        return perExtracurricularMatch;
+    }
+
+    public double getTextWeight() {
+        return textWeight;
+    }
+
+    public double getContextBase() {
+        return contextBase;
+    }
+
+    /**
+     * A tag rule resolved for one student: careers with the tag (in the allowed buckets) get delta
+     */
+    public static final class TagBonus {
+        private final int rule;
+        private final int tagId;
+        private final boolean[] buckets;
+        private final double delta;
+
+        TagBonus(int rule, int tagId, boolean[] buckets, double delta) {
+            this.rule = rule;
+            this.tagId = tagId;
+            this.buckets = buckets;
+            this.delta = delta;
+        }
+
+        public int getTagId() {
+            return tagId;
+        }
+
+        public double getDelta() {
+            return delta;
+        }
+
+        public boolean appliesTo(int bucket) {
+            return buckets == null || buckets[bucket];
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof TagBonus)) return false;
+            TagBonus bonus = (TagBonus) other;
+            return rule == bonus.rule && tagId == bonus.tagId && delta == bonus.delta
+                && Arrays.equals(buckets, bonus.buckets);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * rule + tagId;
+        }
+    }
+
+    private static final class ContextRule {
+        private final int index;
+        private final Predicate<TestSubmissionDTO> student;
+        private final Predicate<String> bucket;
+        private final boolean bucketConditional;
+        private final String tag;
+        private final double delta;
+
+        private ContextRule(int index, Predicate<TestSubmissionDTO> student, Predicate<String> bucket,
+                            boolean bucketConditional, String tag, double delta) {
+            this.index = index;
+            this.student = student;
+            this.bucket = bucket;
+            this.bucketConditional = bucketConditional;
+            this.tag = tag;
+            this.delta = delta;
+        }
+
+        static ContextRule compile(int index, ScoringRuleSet.ContextRule rule) {
+            if (!Double.isFinite(rule.getAdd())) {
+                throw new IllegalArgumentException("Context rule " + rule.getName() + " needs a finite add");
+            }
+
+            Predicate<TestSubmissionDTO> student = submission -> true;
+            ScoringRuleSet.StudentCondition when = rule.getWhen();
+            if (when != null && when.getParentCareerIn() != null) {
+                Set<String> parents = new HashSet<>(when.getParentCareerIn());
+                student = student.and(submission -> submission.getParentCareers() != null
+                    && submission.getParentCareers().stream().anyMatch(parents::contains));
+            }
+            if (when != null && when.getWorkStyleContainsAny() != null) {
+                List<String> fragments = List.copyOf(when.getWorkStyleContainsAny());
+                student = student.and(submission -> submission.getWorkStylePreference() != null
+                    && fragments.stream().anyMatch(submission.getWorkStylePreference()::contains));
+            }
+            if (when != null && when.getStudyAbroad() != null) {
+                boolean abroad = when.getStudyAbroad();
+                student = student.and(submission -> Boolean.TRUE.equals(submission.getStudyAbroadPreference()) == abroad);
+            }
+
+            Predicate<String> bucket = name -> true;
+            boolean bucketConditional = false;
+            ScoringRuleSet.CareerCondition career = rule.getCareer();
+            if (career != null && career.getBucketIn() != null) {
+                Set<String> names = new HashSet<>(career.getBucketIn());
+                bucket = bucket.and(names::contains);
+                bucketConditional = true;
+            }
+            if (career != null && career.getBucketContainsAny() != null) {
+                List<String> fragments = List.copyOf(career.getBucketContainsAny());
+                bucket = bucket.and(name -> fragments.stream().anyMatch(name::contains));
+                bucketConditional = true;
+            }
+            String tag = career != null ? career.getTag() : null;
+
+            return new ContextRule(index, student, bucket, bucketConditional, tag, rule.getAdd());
+        }
+    }
+}
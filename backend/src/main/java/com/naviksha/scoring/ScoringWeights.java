@@ -0,0 +1,74 @@
+package com.naviksha.scoring;
+
+/**
+ * Scoring Weights
+ *
+ * One set of component weights for the final score:
+ * final = riasec * wR + subject * wS + practical * wP + context * wC, clamped to 0-100.
+ *
+ * The production weights are ScoringService.DEFAULT_WEIGHTS; other sets are
+ * candidates evaluated offline by the replay engine. Weights are not required
+ * to sum to 1, but they must be finite and non-negative.
+ */
+public final class ScoringWeights {
+
+    private final String name;
+    private final double riasec;
+    private final double subject;
+    private final double practical;
+    private final double context;
+
+    private ScoringWeights(String name, double riasec, double subject, double practical, double context) {
+        this.name = name;
+        this.riasec = riasec;
+        this.subject = subject;
+        this.practical = practical;
+        this.context = context;
+    }
+
+    public static ScoringWeights of(String name, double riasec, double subject, double practical, double context) {
+        for (double weight : new double[] { riasec, subject, practical, context }) {
+            if (!Double.isFinite(weight) || weight < 0) {
+                throw new IllegalArgumentException("Scoring weights must be finite and non-negative, got " + weight
+                    + " in weight set " + name);
+            }
+        }
+        return new ScoringWeights(name, riasec, subject, practical, context);
+    }
+
+    /**
+     * Final score from the four component scores, in the same order of operations as ScoringService
+     */
+    public double combine(double riasecScore, double subjectScore, double practicalScore, double contextScore) {
+        double finalScore = (riasecScore * riasec) +
+                           (subjectScore * subject) +
+                           (practicalScore * practical) +
+                           (contextScore * context);
+        return Math.max(0, Math.min(100, finalScore));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getRiasec() {
+        return riasec;
+    }
+
+    public double getSubject() {
+        return subject;
+    }
+
+    public double getPractical() {
+        return practical;
+    }
+
+    public double getContext() {
+        return context;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(R=%.2f, S=%.2f, P=%.2f, C=%.2f)", name, riasec, subject, practical, context);
+    }
+}
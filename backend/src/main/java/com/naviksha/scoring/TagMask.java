@@ -0,0 +1,59 @@
+package com.naviksha.scoring;
+
+/**
+ * Tag Mask
+ *
+ * Helpers for tag sets stored as {@code long[]} bitmasks, one bit per tag ID
+ * of a catalog's tag {@link TermDictionary}. Masks may have different lengths;
+ * missing words are treated as zero.
+ */
+public final class TagMask {
+
+    public static final long[] EMPTY = new long[0];
+
+    private TagMask() {
+    }
+
+    /**
+     * Mask with the given tag IDs set
+     */
+    public static long[] of(int[] tagIds) {
+        int max = -1;
+        for (int id : tagIds) {
+            max = Math.max(max, id);
+        }
+        long[] mask = new long[(max >> 6) + 1];
+        for (int id : tagIds) {
+            set(mask, id);
+        }
+        return mask;
+    }
+
+    /**
+     * Empty mask large enough for every tag ID below tagCount
+     */
+    public static long[] forSize(int tagCount) {
+        return new long[(tagCount + 63) >> 6];
+    }
+
+    public static void set(long[] mask, int tagId) {
+        mask[tagId >> 6] |= 1L << tagId;
+    }
+
+    public static boolean contains(long[] mask, int tagId) {
+        if (tagId < 0) return false;
+        int word = tagId >> 6;
+        return word < mask.length && (mask[word] & (1L << tagId)) != 0;
+    }
+
+    /**
+     * True if the masks share at least one tag
+     */
+    public static boolean intersects(long[] a, long[] b) {
+        int words = Math.min(a.length, b.length);
+        for (int i = 0; i < words; i++) {
+            if ((a[i] & b[i]) != 0) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package com.naviksha.scoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Term Dictionary
+ *
+ * Interns strings (subjects, tags, bucket names) to dense integer IDs so the
+ * scoring engine can work with int arrays instead of string comparisons.
+ *
+ * IDs are assigned in first-seen order starting at 0. A dictionary is filled
+ * while a catalog is compiled and is treated as read-only afterwards.
+ */
+public final class TermDictionary {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Return the ID for a term, assigning the next free ID if it is new
+     */
+    public int intern(String term) {
+        Integer id = ids.get(term);
+        if (id != null) {
+            return id;
+        }
+        int next = names.size();
+        ids.put(term, next);
+        names.add(term);
+        return next;
+    }
+
+    /**
+     * Return the ID for a term, or -1 if the term is unknown
+     */
+    public int idOf(String term) {
+        if (term == null) return -1;
+        Integer id = ids.get(term);
+        return id != null ? id : -1;
+    }
+
+    public String nameOf(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+}
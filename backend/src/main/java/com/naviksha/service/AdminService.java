@@ -14,6 +14,10 @@ import java.util.Map;
 public class AdminService {
     
     private final CareerService careerService;
+    private final ScoringService scoringService;
+    private final CareerColumnStoreService columnStoreService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CatalogSyncService catalogSyncService;
     
     public void logAction(String adminUser, String action, String details) {
         log.info("Admin action - User: {}, Action: {}, Details: {}", adminUser, action, details);
@@ -25,12 +29,17 @@ public class AdminService {
     }
     
     public Map<String, Object> getSystemStats() {
-        long careerCount = careerService.getAllCareers().size();
+        CareerService.Snapshot catalog = careerService.getSnapshot();
         
         return Map.of(
-            "totalCareers", careerCount,
+            "totalCareers", catalog.getCareers().size(),
+            "catalogVersion", catalog.getVersion(),
             "totalTests", 2,
-            "systemStatus", "operational"
+            "systemStatus", "operational",
+            "archetypeCache", scoringService.getArchetypeCacheStats(),
+            "columnStore", columnStoreService.getStats(),
+            "catalogSnapshot", catalogSnapshotService.getStats(),
+            "catalogSync", catalogSyncService.getStats()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.naviksha.service;
+
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.model.Career;
+import com.naviksha.scoring.CareerColumnStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Career Column Store Service
+ *
+ * Keeps the memory-mapped CareerColumnStore (scoring.column-store.path) in
+ * step with the career catalog.
+ *
+ * HOW IT WORKS:
+ * - First use maps the file if it exists and its content hash matches the
+ *   careers collection (one streaming pass over a cursor), so instances on
+ *   a host that share the path also share one copy in the page cache; a
+ *   missing, unreadable or stale file (left from before a restart, an
+ *   import elsewhere, a migration) is written from a database cursor
+ *   (two passes, no catalog in memory)
+ * - A catalog write through this instance (CareerService catalog version)
+ *   rewrites the file on next use; the new file replaces the old one
+ *   atomically and readers of the old mapping are not disturbed
+ * - Writes on other instances move the catalog version too
+ *   (CatalogSyncService), so they also rewrite the file on next use
+ * - rebuild() forces a rewrite
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CareerColumnStoreService {
+
+    private final CareerService careerService;
+    private final ScoringConfig scoringConfig;
+
+    private volatile CareerColumnStore store;
+    // CareerService catalog version the mapped store is current for
+    private volatile long storeVersion = Long.MIN_VALUE;
+
+    /**
+     * Column store for the current catalog
+     *
+     * @throws UncheckedIOException if the file can be neither mapped nor written
+     */
+    public CareerColumnStore getStore() {
+        long version = careerService.getCatalogVersion();
+        CareerColumnStore current = store;
+        if (current != null && storeVersion == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = store;
+            if (current != null && storeVersion == version) {
+                return current;
+            }
+            Path path = Path.of(scoringConfig.getColumnStore().getPath());
+            if (current == null && Files.exists(path)) {
+                try {
+                    current = CareerColumnStore.open(path);
+                    if (matchesDatabase(current)) {
+                        log.info("Mapped career column store {} ({} careers, {} bytes)",
+                            path, current.size(), current.byteSize());
+                    } else {
+                        log.info("Career column store {} does not match the careers collection, rewriting it", path);
+                        current = write(path);
+                    }
+                } catch (IOException e) {
+                    log.warn("Cannot map career column store {}, rewriting it: {}", path, e.getMessage());
+                    current = write(path);
+                }
+            } else {
+                current = write(path);
+            }
+            store = current;
+            storeVersion = version;
+            return current;
+        }
+    }
+
+    /**
+     * Rewrite the column file from the database and map the new file
+     */
+    public synchronized CareerColumnStore rebuild() {
+        long version = careerService.getCatalogVersion();
+        store = write(Path.of(scoringConfig.getColumnStore().getPath()));
+        storeVersion = version;
+        return store;
+    }
+
+    /**
+     * Size and location of the mapped store, or just the settings if none is mapped
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", scoringConfig.getColumnStore().isEnabled());
+        stats.put("path", scoringConfig.getColumnStore().getPath());
+        CareerColumnStore current = store;
+        if (current != null) {
+            stats.put("careers", current.size());
+            stats.put("bytes", current.byteSize());
+            stats.put("contentHash", Long.toHexString(current.getContentHash()));
+            stats.put("current", storeVersion == careerService.getCatalogVersion());
+        }
+        return stats;
+    }
+
+    /**
+     * Whether a mapped file holds exactly the careers of the collection, in cursor order
+     */
+    private boolean matchesDatabase(CareerColumnStore mapped) {
+        long started = System.currentTimeMillis();
+        long contentHash;
+        try (Stream<Career> careers = careerService.streamAllCareers()) {
+            contentHash = CareerColumnStore.contentHash(careers);
+        }
+        log.debug("Hashed careers collection for column store check in {} ms", System.currentTimeMillis() - started);
+        return contentHash == mapped.getContentHash();
+    }
+
+    private CareerColumnStore write(Path path) {
+        long started = System.currentTimeMillis();
+        try {
+            CareerColumnStore written = CareerColumnStore.write(path, careerService::streamAllCareers);
+            log.info("Wrote career column store {} ({} careers, {} bytes) in {} ms",
+                path, written.size(), written.byteSize(), System.currentTimeMillis() - started);
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write career column store " + path, e);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.naviksha.service;
+
+import com.naviksha.model.Career;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Career CSV
+ * 
+ * Column layout of data/career_mappings.csv, shared by the seed importer and
+ * the synthetic catalog generator so both sides always agree on it.
+ * 
+ * List columns are parsed here, once, into the Career model's native lists:
+ * - primarySubjects, tags: JSON-style ["Mathematics","Physics"]
+ * - top5_college_courses: comma-separated
+ * - microprojects: semicolon-separated
+ * CareerSchemaMigration applies the same parsing to documents stored as strings.
+ */
+public final class CareerCsv {
+    
+    public static final String[] HEADER = {
+        "careerId", "careerName", "bucket", "riasec_profile", "primarySubjects", "tags",
+        "minQualification", "top5_college_courses", "baseParagraph", "microprojects", "why_fit"
+    };
+    
+    private CareerCsv() {
+    }
+    
+    public static Career fromRow(String[] line) {
+        return Career.builder()
+            .careerId(line[0])
+            .careerName(line[1])
+            .bucket(line[2])
+            .riasecProfile(line[3])
+            .primarySubjects(parseJsonList(line[4]))
+            .tags(parseJsonList(line[5]))
+            .minQualification(line[6])
+            .top5CollegeCourses(parseDelimited(line[7], ","))
+            .baseParagraph(line[8])
+            .microprojects(parseDelimited(line[9], ";"))
+            .whyFit(line[10])
+            .build();
+    }
+    
+    public static String[] toRow(Career career) {
+        return new String[] {
+            career.getCareerId(),
+            career.getCareerName(),
+            career.getBucket(),
+            career.getRiasecProfile(),
+            toJsonList(career.getPrimarySubjects()),
+            toJsonList(career.getTags()),
+            career.getMinQualification(),
+            join(career.getTop5CollegeCourses(), ","),
+            career.getBaseParagraph(),
+            join(career.getMicroprojects(), ";"),
+            career.getWhyFit()
+        };
+    }
+    
+    /**
+     * Parse a JSON-style list such as ["Mathematics","Physics"]; null stays null
+     */
+    public static List<String> parseJsonList(String value) {
+        return value == null ? null : split(value.replaceAll("[\\[\\]\"]", ""), ",");
+    }
+    
+    /**
+     * Parse a delimited list such as "B.Tech CS,B.Sc Statistics"; null stays null
+     */
+    public static List<String> parseDelimited(String value, String delimiter) {
+        return value == null ? null : split(value, delimiter);
+    }
+    
+    private static List<String> split(String value, String delimiter) {
+        List<String> values = new ArrayList<>();
+        for (String part : value.split(delimiter)) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                values.add(trimmed);
+            }
+        }
+        return values;
+    }
+    
+    private static String toJsonList(List<String> values) {
+        if (values == null) return null;
+        return values.stream().map(value -> "\"" + value + "\"").collect(Collectors.joining(",", "[", "]"));
+    }
+    
+    private static String join(List<String> values, String delimiter) {
+        return values == null ? null : String.join(delimiter, values);
+    }
+}
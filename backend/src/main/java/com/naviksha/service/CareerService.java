@@ -2,39 +2,412 @@ package com.naviksha.service;
 
 import com.naviksha.model.Career;
 import com.naviksha.repository.CareerRepository;
+import com.naviksha.scoring.CareerCatalog;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * Career Service
+ *
+ * Serves the career catalog from an immutable in-memory snapshot instead of
+ * reading the careers collection on every submission.
+ *
+ * The snapshot holds the scoring view of each career (hot fields: ids, name,
+ * bucket, RIASEC profile, subjects, tags). Narrative fields (paragraphs,
+ * micro-projects, courses, qualification) are never loaded for ranking;
+ * reports fetch them for their few top careers with findNarrativeFields.
+ *
+ * HOW IT WORKS:
+ * - The first read loads the collection once; every later read returns the
+ *   current snapshot without touching the database or taking a lock
+ * - saveCareer / updateCareer / deleteCareer write to the database first,
+ *   then publish a copy of the snapshot with that one career changed
+ *   (copy-on-write, writers serialized on a private lock)
+ * - Writes made directly through the repository (seeding) call
+ *   markCatalogChanged(), which reloads the collection into a new snapshot
+ * - The careers collection is migrated to the current schema
+ *   (CareerSchemaMigration) before this service first reads it
+ * - A snapshot carries the catalog version it belongs to, so careers and
+ *   version are always read as a consistent pair
+ * - A snapshot compiles its careers for scoring (CareerCatalog) once, on
+ *   first use, so every submission scored against it shares one catalog and
+ *   its lazily built indexes
+ * - At startup a snapshot can be installed from a local file before the
+ *   database is read (CatalogSnapshotService); refresh() later replaces it
+ *   only if the database holds something different
+ * - Every write is also counted in the database (CatalogChangeCounter);
+ *   syncWithDatabase() reloads when the count moved past what this instance
+ *   loaded or wrote itself, so writes and imports on other instances are
+ *   picked up (polled by CatalogSyncService)
+ * - Snapshot careers are shared by every reader and must not be modified;
+ *   getAllCareers() hands out copies
+ */
 @Service
+@DependsOn("careerSchemaMigration")
 @RequiredArgsConstructor
+@Slf4j
 public class CareerService {
-    
+
     private final CareerRepository careerRepository;
-    
+    private final CatalogChangeCounter changeCounter;
+
+    // Bumped on every catalog write made through this service (or reported via markCatalogChanged)
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private final Object writeLock = new Object();
+    // Null until the first read; replaced, never modified
+    private volatile Snapshot snapshot;
+    // Told about every snapshot published from the database, outside writeLock
+    private final List<Consumer<Snapshot>> snapshotListeners = new CopyOnWriteArrayList<>();
+    // Shared change count the snapshot reflects; -1 while unknown (file snapshot, counter unreadable)
+    private volatile long syncedChanges = -1;
+
+    /**
+     * Copies of the careers of the current snapshot (in database order),
+     * scoring fields only
+     */
     public List<Career> getAllCareers() {
+        return getSnapshot().getCareers().stream()
+            .map(CareerService::scoringView)
+            .toList();
+    }
+
+    /**
+     * Current catalog snapshot; loads it on first use
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            current = load(catalogVersion.get());
+            snapshot = current;
+        }
+        notifyListeners(current);
+        return current;
+    }
+
+    /**
+     * Serve the given careers until the database is read, if nothing has been
+     * loaded yet (warm startup from a local file)
+     *
+     * @return whether the careers were installed
+     */
+    public boolean installSnapshot(List<Career> careers) {
+        synchronized (writeLock) {
+            if (snapshot != null) {
+                return false;
+            }
+            snapshot = new Snapshot(catalogVersion.get(), careers);
+            return true;
+        }
+    }
+
+    /**
+     * Reload the collection; the snapshot (and catalog version) only changes
+     * if the database differs from what is being served
+     *
+     * @return whether the snapshot changed
+     */
+    public boolean refresh() {
+        Snapshot refreshed;
+        synchronized (writeLock) {
+            long changes = readChanges();
+            List<Career> careers = careerRepository.findAllForScoring();
+            syncedChanges = changes;
+            Snapshot current = snapshot;
+            if (current != null && current.getCareers().equals(careers)) {
+                return false;
+            }
+            refreshed = new Snapshot(current == null ? catalogVersion.get() : catalogVersion.incrementAndGet(), careers);
+            snapshot = refreshed;
+        }
+        notifyListeners(refreshed);
+        return true;
+    }
+
+    /**
+     * Reload the collection if the catalog was changed elsewhere (another
+     * instance) since this instance loaded or wrote it
+     *
+     * @return whether the snapshot changed
+     */
+    public boolean syncWithDatabase() {
+        if (snapshot == null) {
+            // Nothing served yet; the first read loads the current state
+            return false;
+        }
+        if (changeCounter.current() == syncedChanges) {
+            return false;
+        }
+        return refresh();
+    }
+
+    /**
+     * Register a callback for snapshots published from the database (loads,
+     * refreshes and writes through this service)
+     */
+    public void addSnapshotListener(Consumer<Snapshot> listener) {
+        snapshotListeners.add(listener);
+    }
+
+    /**
+     * Careers streamed from a database cursor, for consumers that must not hold
+     * the whole catalog in memory; close the stream when done
+     */
+    public Stream<Career> streamAllCareers() {
+        return careerRepository.streamAllBy();
+    }
+
+    /**
+     * Full career documents, narrative fields included (admin listing)
+     */
+    public List<Career> findAllWithNarrative() {
         return careerRepository.findAll();
     }
-    
+
+    /**
+     * Full career documents for the given careerIds in one query ($in)
+     *
+     * @return Careers by careerId; unknown ids are absent
+     */
+    public Map<String, Career> findNarrativeFields(Collection<String> careerIds) {
+        Map<String, Career> careers = new HashMap<>();
+        if (careerIds.isEmpty()) {
+            return careers;
+        }
+        for (Career career : careerRepository.findByCareerIdIn(careerIds)) {
+            careers.put(career.getCareerId(), career);
+        }
+        return careers;
+    }
+
     public Career findByCareerId(String careerId) {
         return careerRepository.findByCareerId(careerId).orElse(null);
     }
-    
+
     public Career findByCareerName(String careerName) {
         return careerRepository.findByCareerName(careerName).orElse(null);
     }
-    
+
     public Career saveCareer(Career career) {
-        return careerRepository.save(career);
+        Career saved;
+        synchronized (writeLock) {
+            saved = careerRepository.save(career);
+            publish(saved.getCareerId(), saved);
+            recordChange();
+        }
+        notifyListeners(snapshot);
+        return saved;
     }
-    
+
     public Career updateCareer(Career career) {
-        return careerRepository.save(career);
+        Career updated;
+        synchronized (writeLock) {
+            updated = careerRepository.save(career);
+            publish(updated.getCareerId(), updated);
+            recordChange();
+        }
+        notifyListeners(snapshot);
+        return updated;
     }
-    
+
     public void deleteCareer(String careerId) {
-        careerRepository.findByCareerId(careerId)
-            .ifPresent(careerRepository::delete);
+        synchronized (writeLock) {
+            careerRepository.findByCareerId(careerId)
+                .ifPresent(careerRepository::delete);
+            publish(careerId, null);
+            recordChange();
+        }
+        notifyListeners(snapshot);
+    }
+
+    /**
+     * Version of the career catalog in this process, used to invalidate
+     * anything derived from it (e.g. cached submission results)
+     */
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Record a catalog write made directly through the repository; the
+     * collection is reloaded into a new snapshot
+     */
+    public void markCatalogChanged() {
+        Snapshot reloaded;
+        synchronized (writeLock) {
+            reloaded = load(catalogVersion.incrementAndGet());
+            snapshot = reloaded;
+            recordChange();
+        }
+        notifyListeners(reloaded);
+    }
+
+    /**
+     * Bump the version and publish a copy of the snapshot with one career
+     * replaced, appended (new careerId) or removed (career == null).
+     * Caller holds writeLock.
+     */
+    private void publish(String careerId, Career career) {
+        long version = catalogVersion.incrementAndGet();
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Nothing read yet; the first read loads the written state
+            return;
+        }
+        List<Career> careers = new ArrayList<>(current.getCareers().size() + 1);
+        boolean replaced = false;
+        for (Career existing : current.getCareers()) {
+            if (Objects.equals(existing.getCareerId(), careerId)) {
+                if (career != null && !replaced) {
+                    careers.add(scoringView(career));
+                }
+                replaced = true;
+            } else {
+                careers.add(existing);
+            }
+        }
+        if (career != null && !replaced) {
+            careers.add(scoringView(career));
+        }
+        snapshot = new Snapshot(version, careers);
+    }
+
+    /**
+     * Count a write in the shared change counter. If another instance wrote
+     * since this one synced, the count moves by more than one and the next
+     * syncWithDatabase() reloads. Caller holds writeLock.
+     */
+    private void recordChange() {
+        try {
+            long changes = changeCounter.increment();
+            if (syncedChanges >= 0 && changes == syncedChanges + 1) {
+                syncedChanges = changes;
+            }
+        } catch (RuntimeException e) {
+            // The write itself succeeded; other instances pick it up on their next change or restart
+            log.warn("Could not record catalog change for other instances: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Shared change count, or -1 if it cannot be read (the next sync then reloads)
+     */
+    private long readChanges() {
+        try {
+            return changeCounter.current();
+        } catch (RuntimeException e) {
+            log.warn("Could not read catalog change count: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private void notifyListeners(Snapshot published) {
+        if (published == null) {
+            return;
+        }
+        for (Consumer<Snapshot> listener : snapshotListeners) {
+            try {
+                listener.accept(published);
+            } catch (RuntimeException e) {
+                log.warn("Catalog snapshot listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Read the collection into a snapshot; caller holds writeLock
+     */
+    private Snapshot load(long version) {
+        long started = System.currentTimeMillis();
+        long changes = readChanges();
+        Snapshot loaded = new Snapshot(version, careerRepository.findAllForScoring());
+        syncedChanges = changes;
+        log.info("Loaded career catalog snapshot v{} ({} careers) in {} ms",
+            version, loaded.getCareers().size(), System.currentTimeMillis() - started);
+        return loaded;
+    }
+
+    /**
+     * Copy of a career with only the fields of the scoring projection
+     * (CareerRepository.findAllForScoring), so written and loaded snapshots
+     * agree; lists are copied too, so the copy shares nothing with the original
+     */
+    private static Career scoringView(Career career) {
+        return Career.builder()
+            .id(career.getId())
+            .careerId(career.getCareerId())
+            .careerName(career.getCareerName())
+            .bucket(career.getBucket())
+            .riasecProfile(career.getRiasecProfile())
+            .primarySubjects(copyOf(career.getPrimarySubjects()))
+            .tags(copyOf(career.getTags()))
+            .build();
+    }
+
+    private static List<String> copyOf(List<String> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
+
+    /**
+     * Immutable catalog state: the careers and the catalog version they belong to
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final List<Career> careers;
+        // Compiled on first use; a snapshot never changes, so neither does its catalog
+        private volatile CareerCatalog catalog;
+
+        Snapshot(long version, List<Career> careers) {
+            this.version = version;
+            this.careers = List.copyOf(careers);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * Careers shared by every reader of the snapshot; never modify them
+         */
+        public List<Career> getCareers() {
+            return careers;
+        }
+
+        /**
+         * The careers compiled for scoring, built on first use
+         */
+        public CareerCatalog getCatalog() {
+            CareerCatalog compiled = catalog;
+            if (compiled == null) {
+                synchronized (this) {
+                    compiled = catalog;
+                    if (compiled == null) {
+                        compiled = CareerCatalog.compile(careers);
+                        catalog = compiled;
+                    }
+                }
+            }
+            return compiled;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.naviksha.service;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import com.naviksha.model.Career;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catalog Change Counter
+ *
+ * Shared count of career catalog writes, kept in the database so that every
+ * instance can tell when another one changed the catalog.
+ *
+ * The count lives in catalog_changes, one document per collection. Every
+ * write through CareerService increments it atomically ($inc); instances
+ * poll it (CatalogSyncService) and reload their snapshot when it moved.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogChangeCounter {
+
+    private static final String CHANGES_COLLECTION = "catalog_changes";
+    private static final String COUNT_FIELD = "changes";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Writes recorded so far; 0 before the first
+     */
+    public long current() {
+        Document state = mongoTemplate.getCollection(CHANGES_COLLECTION)
+            .find(Filters.eq("_id", catalogName())).first();
+        return state != null ? state.getLong(COUNT_FIELD) : 0;
+    }
+
+    /**
+     * Record one write
+     *
+     * @return The count including this write
+     */
+    public long increment() {
+        Document state = mongoTemplate.getCollection(CHANGES_COLLECTION).findOneAndUpdate(
+            Filters.eq("_id", catalogName()),
+            Updates.inc(COUNT_FIELD, 1L),
+            new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        return state.getLong(COUNT_FIELD);
+    }
+
+    private String catalogName() {
+        return mongoTemplate.getCollectionName(Career.class);
+    }
+}
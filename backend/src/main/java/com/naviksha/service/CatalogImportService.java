@@ -0,0 +1,355 @@
+package com.naviksha.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import com.naviksha.dto.CatalogImportResultDTO;
+import com.naviksha.model.Career;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Catalog Import Service
+ *
+ * Bulk ingestion of career catalogs from CSV (career_mappings.csv layout,
+ * see CareerCsv) or NDJSON (one Career per line, as written by
+ * SyntheticDataGenerator).
+ *
+ * HOW IT WORKS:
+ * - The input is streamed row by row; only the careerId -> content hash map
+ *   of the existing collection and one write batch are held in memory
+ * - Each row is validated (careerId, careerName and bucket present, RIASEC
+ *   profile made of RIASEC letters, careerId not repeated in the file);
+ *   invalid rows are counted and reported by line, the rest still import
+ * - A SHA-256 content hash of every career field is stored with the
+ *   document (contentHash); rows whose hash matches the stored one are
+ *   skipped without a write
+ * - Changed and new rows become upserts keyed by careerId, sent as unordered
+ *   bulk writes of BATCH_SIZE
+ * - When the input is exhausted, CareerService reloads the collection once
+ *   and swaps in the new snapshot, so scoring moves from the old catalog to
+ *   the new one in a single step and never sees a half-imported catalog
+ *
+ * Careers missing from the input are left alone; the import only adds and
+ * updates. Careers saved later through CareerService lose their stored hash
+ * and are simply rewritten by the next import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogImportService {
+
+    public static final String HASH_FIELD = "contentHash";
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final String RIASEC_LETTERS = "RIASEC";
+
+    private final MongoTemplate mongoTemplate;
+    private final CareerService careerService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Supported input formats
+     */
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format of(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported catalog format: " + name + " (csv or ndjson)");
+            }
+        }
+    }
+
+    /**
+     * Import careers from a CSV stream whose first row is the header
+     */
+    public CatalogImportResultDTO importCsv(InputStream input) throws IOException {
+        return importCatalog(input, Format.CSV);
+    }
+
+    /**
+     * Import careers from input, upserting changed rows and publishing the
+     * new catalog once at the end
+     */
+    public CatalogImportResultDTO importCatalog(InputStream input, Format format) throws IOException {
+        long started = System.currentTimeMillis();
+        MongoCollection<Document> careers = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Career.class));
+        Import run = new Import(careers, storedHashes(careers));
+
+        if (format == Format.CSV) {
+            readCsv(input, run);
+        } else {
+            readNdjson(input, run);
+        }
+        run.flush();
+
+        long catalogVersion = careerService.getCatalogVersion();
+        if (run.inserted + run.updated > 0) {
+            careerService.markCatalogChanged();
+            catalogVersion = careerService.getCatalogVersion();
+        }
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Imported {} catalog: {} rows, {} inserted, {} updated, {} unchanged, {} invalid in {} ms",
+            format, run.read, run.inserted, run.updated, run.unchanged, run.invalid, elapsed);
+
+        return CatalogImportResultDTO.builder()
+            .rowsRead(run.read)
+            .inserted(run.inserted)
+            .updated(run.updated)
+            .unchanged(run.unchanged)
+            .invalid(run.invalid)
+            .errors(run.errors)
+            .catalogVersion(catalogVersion)
+            .elapsedMillis(elapsed)
+            .build();
+    }
+
+    private void readCsv(InputStream input, Import run) throws IOException {
+        try (CSVReader reader = new CSVReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            reader.readNext(); // Skip header
+            while (true) {
+                // Quoted fields may span lines; report the line the row starts on
+                long line = reader.getLinesRead() + 1;
+                String[] row = reader.readNext();
+                if (row == null) {
+                    break;
+                }
+                if (row.length < CareerCsv.HEADER.length) {
+                    run.reject(line, "expected " + CareerCsv.HEADER.length + " columns, found " + row.length);
+                    continue;
+                }
+                run.accept(line, CareerCsv.fromRow(row));
+            }
+        } catch (CsvValidationException e) {
+            throw new IOException("Malformed CSV: " + e.getMessage(), e);
+        }
+    }
+
+    private void readNdjson(InputStream input, Import run) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long line = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    run.accept(line, objectMapper.readValue(text, Career.class));
+                } catch (JsonProcessingException e) {
+                    run.reject(line, "invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> storedHashes(MongoCollection<Document> careers) {
+        Map<String, String> hashes = new HashMap<>();
+        try (MongoCursor<Document> cursor = careers.find()
+                .projection(Projections.include("careerId", HASH_FIELD)).iterator()) {
+            while (cursor.hasNext()) {
+                Document career = cursor.next();
+                hashes.put(career.getString("careerId"), career.getString(HASH_FIELD));
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Why a career cannot be imported, or null if it can
+     */
+    private static String validate(Career career) {
+        if (isBlank(career.getCareerId())) {
+            return "careerId is required";
+        }
+        if (isBlank(career.getCareerName())) {
+            return "careerName is required";
+        }
+        if (isBlank(career.getBucket())) {
+            return "bucket is required";
+        }
+        String profile = career.getRiasecProfile();
+        if (profile != null) {
+            for (int i = 0; i < profile.length(); i++) {
+                if (RIASEC_LETTERS.indexOf(profile.charAt(i)) < 0) {
+                    return "riasecProfile may only contain " + RIASEC_LETTERS + " letters: " + profile;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Stored document fields of a career (everything but _id), the content hash included
+     */
+    private static Document toDocument(Career career, String hash) {
+        return new Document("careerId", career.getCareerId())
+            .append("careerName", career.getCareerName())
+            .append("bucket", career.getBucket())
+            .append("riasecProfile", career.getRiasecProfile())
+            .append("primarySubjects", career.getPrimarySubjects())
+            .append("tags", career.getTags())
+            .append("minQualification", career.getMinQualification())
+            .append("top5CollegeCourses", career.getTop5CollegeCourses())
+            .append("baseParagraph", career.getBaseParagraph())
+            .append("microprojects", career.getMicroprojects())
+            .append("whyFit", career.getWhyFit())
+            .append(HASH_FIELD, hash);
+    }
+
+    /**
+     * SHA-256 over every Career field except id, length-prefixed so that
+     * field boundaries and null vs empty are unambiguous
+     */
+    static String contentHash(Career career) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        hashString(digest, career.getCareerId());
+        hashString(digest, career.getCareerName());
+        hashString(digest, career.getBucket());
+        hashString(digest, career.getRiasecProfile());
+        hashList(digest, career.getPrimarySubjects());
+        hashList(digest, career.getTags());
+        hashString(digest, career.getMinQualification());
+        hashList(digest, career.getTop5CollegeCourses());
+        hashString(digest, career.getBaseParagraph());
+        hashList(digest, career.getMicroprojects());
+        hashString(digest, career.getWhyFit());
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void hashString(MessageDigest digest, String value) {
+        if (value == null) {
+            hashInt(digest, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        hashInt(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void hashList(MessageDigest digest, List<String> values) {
+        if (values == null) {
+            hashInt(digest, -1);
+            return;
+        }
+        hashInt(digest, values.size());
+        for (String value : values) {
+            hashString(digest, value);
+        }
+    }
+
+    private static void hashInt(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    /**
+     * State of one import run
+     */
+    private static final class Import {
+        private final MongoCollection<Document> careers;
+        private final Map<String, String> storedHashes;
+        private final Set<String> seen = new HashSet<>();
+        private final List<WriteModel<Document>> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<String> errors = new ArrayList<>();
+
+        private long read;
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long invalid;
+
+        Import(MongoCollection<Document> careers, Map<String, String> storedHashes) {
+            this.careers = careers;
+            this.storedHashes = storedHashes;
+        }
+
+        void accept(long line, Career career) {
+            String problem = validate(career);
+            if (problem != null) {
+                reject(line, problem);
+                return;
+            }
+            if (!seen.add(career.getCareerId())) {
+                reject(line, "duplicate careerId " + career.getCareerId());
+                return;
+            }
+            read++;
+
+            String hash = contentHash(career);
+            if (hash.equals(storedHashes.get(career.getCareerId()))) {
+                unchanged++;
+                return;
+            }
+            batch.add(new UpdateOneModel<>(
+                Filters.eq("careerId", career.getCareerId()),
+                new Document("$set", toDocument(career, hash)),
+                new UpdateOptions().upsert(true)));
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long line, String problem) {
+            read++;
+            invalid++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + line + ": " + problem);
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            BulkWriteResult result = careers.bulkWrite(batch, new BulkWriteOptions().ordered(false));
+            inserted += result.getUpserts().size();
+            updated += result.getMatchedCount();
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.naviksha.service;
+
+import com.naviksha.model.Career;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Catalog Snapshot File
+ *
+ * Compact binary copy of the career catalog, written to local disk so a
+ * restarting instance can serve scoring before it has read the database.
+ *
+ * FILE LAYOUT (big-endian):
+ * - Header: magic, format version, career count, catalog version at write
+ *   time, write time (epoch ms), payload bytes, CRC-32C of the payload
+ * - Payload: per career, every Career field in declaration order; strings as
+ *   length-prefixed UTF-8 (-1 for null), lists as a count (-1 for null)
+ *   followed by their strings
+ *
+ * The file is mapped read-only and checked against its checksum before a
+ * single career is decoded; a torn, truncated or foreign file is rejected
+ * with an IOException. Files are written to a temporary sibling and moved
+ * into place, so readers see either the old or the new file.
+ */
+public final class CatalogSnapshotFile {
+
+    private static final long MAGIC = 0x4E564B534E415031L; // "NVKSNAP1"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 48;
+    private static final int NULL_LENGTH = -1;
+
+    private final List<Career> careers;
+    private final long catalogVersion;
+    private final long writtenAt;
+    private final long checksum;
+
+    private CatalogSnapshotFile(List<Career> careers, long catalogVersion, long writtenAt, long checksum) {
+        this.careers = careers;
+        this.catalogVersion = catalogVersion;
+        this.writtenAt = writtenAt;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Write careers to path, replacing any existing file atomically
+     *
+     * @return Checksum of the written payload
+     */
+    public static long write(Path path, List<Career> careers, long catalogVersion) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_BYTES);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+            for (Career career : careers) {
+                writeString(out, career.getId());
+                writeString(out, career.getCareerId());
+                writeString(out, career.getCareerName());
+                writeString(out, career.getBucket());
+                writeString(out, career.getRiasecProfile());
+                writeList(out, career.getPrimarySubjects());
+                writeList(out, career.getTags());
+                writeString(out, career.getMinQualification());
+                writeList(out, career.getTop5CollegeCourses());
+                writeString(out, career.getBaseParagraph());
+                writeList(out, career.getMicroprojects());
+                writeString(out, career.getWhyFit());
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putLong(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(careers.size())
+                .putLong(catalogVersion)
+                .putLong(System.currentTimeMillis())
+                .putLong(channel.position() - HEADER_BYTES)
+                .putLong(crc.getValue());
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return crc.getValue();
+    }
+
+    /**
+     * Map and verify a snapshot file, then decode its careers
+     *
+     * @throws IOException if the file is unreadable, of another format or fails its checksum
+     */
+    public static CatalogSnapshotFile read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a catalog snapshot (" + size + " bytes): " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getLong() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            int formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot format " + formatVersion + ": " + path);
+            }
+            int count = buffer.getInt();
+            long catalogVersion = buffer.getLong();
+            long writtenAt = buffer.getLong();
+            long payloadBytes = buffer.getLong();
+            long checksum = buffer.getLong();
+            if (count < 0 || payloadBytes != size - HEADER_BYTES) {
+                throw new IOException("Truncated catalog snapshot: " + path);
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != checksum) {
+                throw new IOException("Catalog snapshot checksum mismatch: " + path);
+            }
+
+            List<Career> careers = new ArrayList<>(count);
+            try {
+                for (int i = 0; i < count; i++) {
+                    careers.add(Career.builder()
+                        .id(readString(buffer))
+                        .careerId(readString(buffer))
+                        .careerName(readString(buffer))
+                        .bucket(readString(buffer))
+                        .riasecProfile(readString(buffer))
+                        .primarySubjects(readList(buffer))
+                        .tags(readList(buffer))
+                        .minQualification(readString(buffer))
+                        .top5CollegeCourses(readList(buffer))
+                        .baseParagraph(readString(buffer))
+                        .microprojects(readList(buffer))
+                        .whyFit(readString(buffer))
+                        .build());
+                }
+                if (buffer.hasRemaining()) {
+                    throw new IllegalStateException(buffer.remaining() + " trailing bytes");
+                }
+            } catch (RuntimeException e) {
+                // A checksummed payload that does not decode was written by a broken writer
+                throw new IOException("Corrupt catalog snapshot: " + path, e);
+            }
+            return new CatalogSnapshotFile(Collections.unmodifiableList(careers), catalogVersion, writtenAt, checksum);
+        }
+    }
+
+    public List<Career> getCareers() {
+        return careers;
+    }
+
+    /**
+     * In-process catalog version of the writer; only meaningful to that process
+     */
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    public long getWrittenAt() {
+        return writtenAt;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeList(DataOutputStream out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readList(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count == NULL_LENGTH) {
+            return null;
+        }
+        if (count < 0 || count > buffer.remaining() / 4) {
+            throw new IllegalStateException("Bad list length " + count);
+        }
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Bad string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
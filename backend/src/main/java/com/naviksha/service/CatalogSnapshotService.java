@@ -0,0 +1,150 @@
+package com.naviksha.service;
+
+import com.naviksha.config.ScoringConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catalog Snapshot Service
+ *
+ * Warm startup for the career catalog from a local CatalogSnapshotFile
+ * (scoring.catalog-snapshot.path).
+ *
+ * HOW IT WORKS:
+ * - At startup a valid snapshot file is mapped, checked against its
+ *   checksum and installed into CareerService, so the first submissions are
+ *   scored without waiting for the careers collection
+ * - A background thread then reloads the collection (CareerService.refresh);
+ *   if the database differs from the file, the database wins: the snapshot
+ *   is replaced, the catalog version moves on and the file is rewritten
+ * - Every later catalog change is written to the file on the same thread;
+ *   a burst of changes collapses into one write of the latest snapshot
+ * - A missing or invalid file is ignored (logged) and the catalog loads
+ *   from the database as usual
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotService {
+
+    private final CareerService careerService;
+    private final ScoringConfig scoringConfig;
+
+    private final AtomicReference<CareerService.Snapshot> pendingWrite = new AtomicReference<>();
+    private ExecutorService worker;
+
+    // Diagnostics for admin stats
+    private volatile int installedCareers = -1;
+    private volatile String validation = "pending";
+    private volatile long writtenVersion = -1;
+
+    @PostConstruct
+    void init() {
+        if (!scoringConfig.getCatalogSnapshot().isEnabled()) {
+            validation = "disabled";
+            return;
+        }
+        worker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Path path = getPath();
+        if (Files.exists(path)) {
+            long started = System.currentTimeMillis();
+            try {
+                CatalogSnapshotFile file = CatalogSnapshotFile.read(path);
+                if (careerService.installSnapshot(file.getCareers())) {
+                    installedCareers = file.getCareers().size();
+                    log.info("Serving {} careers from catalog snapshot {} (checksum {}) after {} ms",
+                        installedCareers, path, Long.toHexString(file.getChecksum()),
+                        System.currentTimeMillis() - started);
+                }
+            } catch (IOException e) {
+                log.warn("Ignoring catalog snapshot {}: {}", path, e.getMessage());
+            }
+        }
+
+        careerService.addSnapshotListener(this::scheduleWrite);
+        worker.execute(this::validate);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (worker != null) {
+            worker.shutdown();
+        }
+    }
+
+    /**
+     * Snapshot file state for admin stats
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", scoringConfig.getCatalogSnapshot().isEnabled());
+        stats.put("path", scoringConfig.getCatalogSnapshot().getPath());
+        stats.put("installedCareers", installedCareers);
+        stats.put("validation", validation);
+        stats.put("writtenVersion", writtenVersion);
+        return stats;
+    }
+
+    /**
+     * Compare what is being served with the database; runs on the worker
+     */
+    private void validate() {
+        long started = System.currentTimeMillis();
+        try {
+            boolean changed = careerService.refresh();
+            if (installedCareers < 0) {
+                validation = "loaded";
+            } else {
+                validation = changed ? "replaced" : "valid";
+            }
+            log.info("Catalog snapshot validation: {} in {} ms", validation, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // Keep serving the file; the next catalog change reloads from the database
+            validation = "failed";
+            log.warn("Could not validate catalog snapshot against the database: {}", e.getMessage());
+        }
+    }
+
+    private void scheduleWrite(CareerService.Snapshot snapshot) {
+        if (pendingWrite.getAndSet(snapshot) == null) {
+            worker.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        CareerService.Snapshot snapshot = pendingWrite.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        Path path = getPath();
+        try {
+            long checksum = CatalogSnapshotFile.write(path, snapshot.getCareers(), snapshot.getVersion());
+            writtenVersion = snapshot.getVersion();
+            log.info("Wrote catalog snapshot {} ({} careers, checksum {})",
+                path, snapshot.getCareers().size(), Long.toHexString(checksum));
+        } catch (IOException e) {
+            log.warn("Could not write catalog snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Path getPath() {
+        return Path.of(scoringConfig.getCatalogSnapshot().getPath());
+    }
+}
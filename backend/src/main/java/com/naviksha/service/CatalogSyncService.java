@@ -0,0 +1,95 @@
+package com.naviksha.service;
+
+import com.naviksha.config.ScoringConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog Sync Service
+ *
+ * Keeps this instance's career catalog snapshot in step with writes made by
+ * other instances.
+ *
+ * HOW IT WORKS:
+ * - Every scoring.catalog-sync.poll-millis a background thread reads the
+ *   shared change count (CatalogChangeCounter, one small document)
+ * - If it moved past what this instance loaded or wrote itself, the careers
+ *   collection is reloaded (CareerService.syncWithDatabase); the catalog
+ *   version moves on and everything derived from the catalog follows
+ * - A failed poll is logged and retried on the next tick
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSyncService {
+
+    private final CareerService careerService;
+    private final ScoringConfig scoringConfig;
+
+    private ScheduledExecutorService worker;
+
+    // Diagnostics for admin stats
+    private volatile long lastPollAt = -1;
+    private volatile long reloads;
+    private volatile String lastError;
+
+    @PostConstruct
+    void init() {
+        if (!scoringConfig.getCatalogSync().isEnabled()) {
+            return;
+        }
+        worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long pollMillis = scoringConfig.getCatalogSync().getPollMillis();
+        worker.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (worker != null) {
+            worker.shutdown();
+        }
+    }
+
+    /**
+     * Sync state for admin stats
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", scoringConfig.getCatalogSync().isEnabled());
+        stats.put("pollMillis", scoringConfig.getCatalogSync().getPollMillis());
+        stats.put("lastPollAt", lastPollAt);
+        stats.put("reloads", reloads);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    /**
+     * Reload the catalog if another instance changed it; runs on the worker
+     */
+    void poll() {
+        try {
+            if (careerService.syncWithDatabase()) {
+                reloads++;
+                log.info("Career catalog changed on another instance; reloaded as v{}", careerService.getCatalogVersion());
+            }
+            lastError = null;
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            log.warn("Could not check the career catalog for changes: {}", e.getMessage());
+        }
+        lastPollAt = System.currentTimeMillis();
+    }
+}
@@ -2,6 +2,8 @@ package com.naviksha.service;
 
 import com.naviksha.model.TestProgress;
 import com.naviksha.repository.ProgressRepository;
+import com.naviksha.scoring.RiasecAnswerTable;
+import com.naviksha.scoring.RiasecVector;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +17,7 @@ import java.util.stream.Collectors;
 public class ProgressService {
     
     private final ProgressRepository progressRepository;
+    private final TestService testService;
     
     public TestProgress getProgress(String userId, String testId) {
         // Get all progress entries for this user and test, then return the most recent one
@@ -47,6 +50,7 @@ public class ProgressService {
             
             if (existingProgress != null) {
                 // Update existing progress
+                accumulateRiasec(existingProgress, existingProgress.getAnswers(), progress.getAnswers());
                 existingProgress.setCurrentQuestionIndex(progress.getCurrentQuestionIndex());
                 existingProgress.setAnswers(progress.getAnswers());
                 existingProgress.setCompleted(progress.isCompleted());
@@ -54,10 +58,57 @@ public class ProgressService {
             }
         }
         
-        // Create new progress if none exists
+        // Create new progress if none exists; client-sent totals are never trusted
+        progress.setRiasecSums(null);
+        accumulateRiasec(progress, null, progress.getAnswers());
         return progressRepository.save(progress);
     }
     
+    /**
+     * Update the running RIASEC totals from the answers that changed since the
+     * last save. Totals missing or built with another question bank version are
+     * rebuilt from all answers.
+     */
+    private void accumulateRiasec(TestProgress target, Map<String, Object> previousAnswers,
+                                  Map<String, Object> answers) {
+        RiasecAnswerTable table = testService.getRiasecAnswerTable();
+        if (table.size() == 0) return;
+        
+        boolean current = target.getRiasecSums() != null && target.getRiasecCounts() != null
+            && Integer.valueOf(table.version()).equals(target.getRiasecTableVersion());
+        if (!current) {
+            target.setRiasecSums(new double[RiasecVector.SIZE]);
+            target.setRiasecCounts(new int[RiasecVector.SIZE]);
+            target.setRiasecTableVersion(table.version());
+            previousAnswers = null;
+        }
+        table.applyDelta(previousAnswers, answers, target.getRiasecSums(), target.getRiasecCounts());
+    }
+    
+    /**
+     * Pre-accumulated raw RIASEC totals of a progress entry
+     * 
+     * @param submittedAnswers if given, the totals are only used when the saved
+     *                         answers match them for every vibematch question
+     * @return raw trait totals, or null if missing, stale for the current
+     *         question bank, or out of sync with the submitted answers
+     */
+    public RiasecVector getRiasecTotals(TestProgress progress, Map<String, Object> submittedAnswers) {
+        if (progress == null || progress.getRiasecSums() == null
+                || progress.getRiasecSums().length != RiasecVector.SIZE) {
+            return null;
+        }
+        RiasecAnswerTable table = testService.getRiasecAnswerTable();
+        if (!Integer.valueOf(table.version()).equals(progress.getRiasecTableVersion())) {
+            return null;
+        }
+        if (submittedAnswers != null && (progress.getAnswers() == null
+                || !table.sameAnswers(progress.getAnswers(), submittedAnswers))) {
+            return null;
+        }
+        return RiasecVector.of(progress.getRiasecSums());
+    }
+    
     public void resetProgress(String userId, String testId) {
         List<TestProgress> progressList = progressRepository.findByUserIdAndTestId(userId, testId);
         if (!progressList.isEmpty()) {
@@ -0,0 +1,142 @@
+package com.naviksha.service;
+
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.dto.ReplayRequestDTO;
+import com.naviksha.dto.ReplayResultDTO;
+import com.naviksha.model.CareerBucket;
+import com.naviksha.model.Report;
+import com.naviksha.model.StudentReport;
+import com.naviksha.repository.ReportRepository;
+import com.naviksha.scoring.BucketRanking;
+import com.naviksha.scoring.CareerCatalog;
+import com.naviksha.scoring.RankingShift;
+import com.naviksha.scoring.ScoringWeights;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Replay Service
+ * 
+ * Offline evaluation of candidate scoring weights against historical reports.
+ * Every stored report is re-ranked under the current weights (baseline) and
+ * each candidate, and the candidates' ranking shift is aggregated.
+ * 
+ * HOW IT WORKS:
+ * - Reports are read through a Mongo cursor, never loaded all at once
+ * - Reports are grouped into blocks of scoring.batch.block-size; a block is
+ *   replayed in parallel on the replay pool (scoring.replay.parallelism,
+ *   separate from live scoring), then folded into one
+ *   RankingShift per candidate and dropped, so memory stays bounded by one block
+ * - Each career's component scores are computed once per report and shared by
+ *   all weight sets (see ScoringService.replayBlock)
+ * 
+ * Reports only store part of the submission (no free-text answers, study
+ * abroad or work style), so baselineAgreementRate shows how often the
+ * replayed baseline reproduces the stored top bucket.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReplayService {
+    
+    private static final int TOP_BUCKETS = 5;
+    
+    private final ReportRepository reportRepository;
+    private final CareerService careerService;
+    private final ScoringService scoringService;
+    private final ScoringConfig scoringConfig;
+    
+    public ReplayResultDTO replay(ReplayRequestDTO request) {
+        long started = System.currentTimeMillis();
+        
+        List<ScoringWeights> weightSets = new ArrayList<>();
+        weightSets.add(ScoringService.DEFAULT_WEIGHTS);
+        for (int i = 0; i < request.getCandidates().size(); i++) {
+            ReplayRequestDTO.WeightSet candidate = request.getCandidates().get(i);
+            String name = candidate.getName() != null ? candidate.getName() : "candidate-" + (i + 1);
+            weightSets.add(ScoringWeights.of(name, candidate.getRiasec(), candidate.getSubject(),
+                candidate.getPractical(), candidate.getContext()));
+        }
+        
+        CareerCatalog catalog = careerService.getSnapshot().getCatalog();
+        int bucketCount = catalog.getBuckets().size();
+        RankingShift[] shifts = new RankingShift[weightSets.size()];
+        for (int w = 1; w < shifts.length; w++) {
+            shifts[w] = new RankingShift(bucketCount, TOP_BUCKETS);
+        }
+        
+        long limit = request.getMaxReports() != null && request.getMaxReports() > 0
+            ? request.getMaxReports() : Long.MAX_VALUE;
+        int blockSize = Math.max(1, scoringConfig.getBatch().getBlockSize());
+        long replayed = 0;
+        long skipped = 0;
+        long agreements = 0;
+        
+        log.info("Replaying stored reports under {} candidate weight sets", weightSets.size() - 1);
+        try (Stream<Report> reports = reportRepository.streamAllBy()) {
+            Iterator<Report> cursor = reports.iterator();
+            List<StudentReport> block = new ArrayList<>(blockSize);
+            while (replayed + skipped < limit && cursor.hasNext()) {
+                block.clear();
+                while (block.size() < blockSize && replayed + skipped + block.size() < limit && cursor.hasNext()) {
+                    block.add(cursor.next().getReportData());
+                }
+                
+                List<BucketRanking[]> rankings = scoringService.replayBlock(catalog, block, weightSets);
+                for (int r = 0; r < block.size(); r++) {
+                    BucketRanking[] ranking = rankings.get(r);
+                    if (ranking == null) {
+                        skipped++;
+                        continue;
+                    }
+                    replayed++;
+                    if (sameTopBucket(catalog, ranking[0], block.get(r))) {
+                        agreements++;
+                    }
+                    for (int w = 1; w < shifts.length; w++) {
+                        shifts[w].record(ranking[0], ranking[w]);
+                    }
+                }
+            }
+        }
+        
+        List<ReplayResultDTO.CandidateShift> candidates = new ArrayList<>(weightSets.size() - 1);
+        for (int w = 1; w < shifts.length; w++) {
+            ScoringWeights weights = weightSets.get(w);
+            candidates.add(ReplayResultDTO.CandidateShift.builder()
+                .name(weights.getName())
+                .riasecWeight(weights.getRiasec())
+                .subjectWeight(weights.getSubject())
+                .practicalWeight(weights.getPractical())
+                .contextWeight(weights.getContext())
+                .top1ChangeRate(shifts[w].top1ChangeRate())
+                .topBucketChangeRate(shifts[w].topBucketChangeRate())
+                .bucketChurn(shifts[w].bucketChurn())
+                .meanRankDisplacement(shifts[w].meanRankDisplacement())
+                .build());
+        }
+        
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Replayed {} reports ({} skipped) in {} ms", replayed, skipped, elapsed);
+        return ReplayResultDTO.builder()
+            .reportsReplayed(replayed)
+            .reportsSkipped(skipped)
+            .baselineAgreementRate(replayed > 0 ? (double) agreements / replayed : 0)
+            .elapsedMillis(elapsed)
+            .candidates(candidates)
+            .build();
+    }
+    
+    private boolean sameTopBucket(CareerCatalog catalog, BucketRanking baseline, StudentReport stored) {
+        List<CareerBucket> storedBuckets = stored.getTop5Buckets();
+        int[] top = baseline.rankedBuckets(1);
+        if (storedBuckets == null || storedBuckets.isEmpty() || top.length == 0) return false;
+        return catalog.getBuckets().nameOf(top[0]).equals(storedBuckets.get(0).getBucketName());
+    }
+}
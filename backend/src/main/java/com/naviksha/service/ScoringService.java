@@ -1,15 +1,37 @@
 package com.naviksha.service;
 
+import com.naviksha.config.ScoringConfig;
 import com.naviksha.model.Career;
 import com.naviksha.model.StudentReport;
 import com.naviksha.model.CareerBucket;
 import com.naviksha.model.CareerMatch;
 import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.scoring.ArchetypeCache;
+import com.naviksha.scoring.BucketRanking;
+import com.naviksha.scoring.CareerCatalog;
+import com.naviksha.scoring.CareerColumnStore;
+import com.naviksha.scoring.CareerFeatureMatrix;
+import com.naviksha.scoring.CompiledCareer;
+import com.naviksha.scoring.ComponentScores;
+import com.naviksha.scoring.RiasecVector;
+import com.naviksha.scoring.ScoringKernel;
+import com.naviksha.scoring.ScoringProfile;
+import com.naviksha.scoring.ScoringRules;
+import com.naviksha.scoring.ScoringWeights;
+import com.naviksha.scoring.TagMask;
+import com.naviksha.scoring.TermDictionary;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 /**
@@ -26,9 +48,64 @@ import java.util.stream.Collectors;
  * HOW TO EDIT/CUSTOMIZE:
  * - Adjust weights in computeFinalScore() method
  * - Modify RIASEC scoring logic in riasecMatchScore()
- * - Update subject importance in subjectMatchScore()
+ * - Subject bands, practical weights and context (family, work style, study
+ *   abroad) bonuses live in data/scoring_rules.json (see ScoringRulesService)
+ *   and can be reloaded without a restart
  * - Add new keywords in practicalFitScore() using subjectivity analysis
- * - Customize family influence in contextFitScore()
+ * 
+ * PERFORMANCE NOTES:
+ * - The career list is compiled into a CareerCatalog once per catalog snapshot
+ *   (CareerService.Snapshot.getCatalog), so the per-career methods never
+ *   re-parse riasecProfile or look up subject and tag names, and the catalog's
+ *   feature matrix, indexes and bucket bounds are shared by every submission
+ * - Student-only work (subject lookup, extracurricular/tag matching, family
+ *   and work style bonuses) is resolved once per submission into a ScoringProfile
+ * - Career tags, extracurriculars and keyword hits are tag bitmasks, so tag
+ *   overlap tests are word-wise ANDs
+ * - Free text is scanned once per submission by SubjectivityAnalysisService's
+ *   keyword automaton; per-career text scores are a sum over the career's tags
+ * - Vibematch answers are scored through a RiasecAnswerTable compiled once
+ *   from the question bank, so question weights live in vibematch_questions.json
+ * - Submissions can start from RIASEC totals accumulated on TestProgress as
+ *   answers were saved, skipping the answer walk at submit time
+ * - RIASEC data flows through as a RiasecVector and is only converted to a map
+ *   for StudentReport.vibeScores
+ * - Ranking is two-phase: every career gets a bare numeric score and only the
+ *   top careers of the top buckets are materialized into CareerMatch objects
+ * - Bucket aggregation happens inside the scoring pass: each score goes
+ *   straight into a BucketRanking (running sums + bounded heaps); no score
+ *   list is kept, regrouped or looked up by career name afterwards
+ * - Jobs above scoring.parallel.threshold are scored in catalog chunks on a
+ *   dedicated ForkJoinPool; per-chunk rankings are merged, so results are
+ *   identical to the sequential path
+ * - Cohorts are scored as a students x careers matrix (scoreBatch), one block
+ *   of students at a time, against a single catalog load
+ * - With scoring.simd.enabled the RIASEC and subject components are evaluated
+ *   for a whole career range at once on a CareerFeatureMatrix, subject marks
+ *   by a ScoringKernel (JDK Vector API when available, scalar loop otherwise);
+ *   both components are bit-identical to the per-method scores
+ * - Stored reports can be re-ranked under candidate ScoringWeights
+ *   (replayBlock); each career's component scores are computed once per report
+ *   and shared by every weight set. Replays run on their own bounded pool
+ *   (scoring.replay.parallelism), never on the scoring pool, so a long replay
+ *   does not slow down live submissions
+ * - With scoring.pruning.enabled each student's buckets are first bounded from
+ *   per-bucket aggregates (BucketBounds); buckets that cannot reach the top
+ *   buckets are skipped, which never changes the report
+ * - With scoring.archetype-cache.enabled students of the same quantized
+ *   profile start from the buckets that ranked best for that archetype; the
+ *   same bounds add any bucket that could still compete, so reports stay exact
+ * - What-if queries keep a student's per-career ComponentScores and recompute
+ *   only the component a changed input feeds, for the careers it touches
+ * - Scoring rules are compiled once per load (ScoringRules) and resolved per
+ *   submission into per-bucket and per-tag context bonuses, so rule
+ *   evaluation never happens per career
+ * - With scoring.column-store.enabled reports are scored straight from a
+ *   memory-mapped CareerColumnStore: no Career objects are loaded, and only
+ *   the careers that make the report are rebuilt as CompiledCareers
+ * - The catalog is loaded as a hot projection (scoring fields only); the
+ *   narrative fields of the careers that make the reports are read in one
+ *   batched query per block (CareerService.findNarrativeFields)
  */
 @Service
 @Slf4j
@@ -43,12 +120,44 @@ public class ScoringService {
     @Autowired
     private SubjectivityAnalysisService subjectivityService;
 
+    @Autowired
+    private ScoringConfig scoringConfig;
+
+    @Autowired
+    private TestService testService;
+
+    @Autowired
+    private ScoringRulesService scoringRulesService;
+
+    @Autowired
+    private CareerColumnStoreService columnStoreService;
+
+    // Dedicated pool so large scoring jobs never compete with the common pool
+    private volatile ForkJoinPool scoringPool;
+
+    // Offline replays only, sized below the machine so live scoring keeps cores
+    private volatile ForkJoinPool replayPool;
+
+    // Candidate buckets per student archetype, created on first use
+    private volatile ArchetypeCache archetypeCache;
+
+    // Bump whenever weights or scoring logic change; stamped into submission fingerprints
+    // (scoring_rules.json carries its own version, see ScoringRulesService)
+    public static final String SCORING_MODEL_VERSION = "1";
+
     // Scoring weights - adjust these to fine-tune matching algorithm
     private static final double RIASEC_WEIGHT = 0.40;
     private static final double SUBJECT_WEIGHT = 0.30;
     private static final double PRACTICAL_WEIGHT = 0.20;
     private static final double CONTEXT_WEIGHT = 0.10;
 
+    public static final ScoringWeights DEFAULT_WEIGHTS =
+        ScoringWeights.of("current", RIASEC_WEIGHT, SUBJECT_WEIGHT, PRACTICAL_WEIGHT, CONTEXT_WEIGHT);
+
+    // Report shape - only these careers are ever materialized
+    private static final int TOP_BUCKETS = 5;
+    private static final int CAREERS_PER_BUCKET = 5;
+
     /**
      * Main method to compute complete career report for a user
      * 
@@ -56,65 +165,643 @@ public class ScoringService {
      * @return Complete StudentReport with rankings and recommendations
      */
     public StudentReport computeCareerReport(TestSubmissionDTO submission) {
+        return computeCareerReport(submission, null);
+    }
+
+    /**
+     * Compute a career report starting from RIASEC totals accumulated while the
+     * test was in progress (see ProgressService), skipping the answer walk
+     * 
+     * @param submission User's test answers and profile data
+     * @param riasecTotals Raw trait totals for the submitted answers, or null to derive them
+     * @return Complete StudentReport with rankings and recommendations
+     */
+    public StudentReport computeCareerReport(TestSubmissionDTO submission, RiasecVector riasecTotals) {
         log.info("Computing career report for user: {}", submission.getUserName());
         
-        // Get all careers for scoring
-        List<Career> allCareers = careerService.getAllCareers();
-        
-        // Calculate RIASEC scores from vibematch answers
-        Map<String, Integer> riasecScores = calculateRiasecScores(submission.getAnswers());
+        // Score the off-heap column store, or the compiled catalog of the current snapshot
+        StudentReport report = scoringConfig.getColumnStore().isEnabled()
+            ? scoreColumnStore(columnStoreService.getStore(), submission, riasecTotals)
+            : scoreBlock(currentCatalog(), List.of(submission), new RiasecVector[] { riasecTotals }).get(0);
         
-        // Score each career against user profile
-        List<CareerMatch> careerMatches = new ArrayList<>();
-        for (Career career : allCareers) {
-            double score = computeFinalScore(career, submission, riasecScores);
-            List<String> reasons = generateTopReasons(career, submission, riasecScores);
-            
-            CareerMatch match = CareerMatch.builder()
-                .careerName(career.getCareerName())
-                .matchScore((int) Math.round(score))
-                .topReasons(reasons)
-                .studyPath(parseStudyPath(career.getTop5CollegeCourses()))
-                .first3Steps(generateFirst3Steps(career))
-                .confidence(determineConfidence(score, submission))
-                .whatWouldChangeRecommendation(generateChangeRecommendation(career, submission))
-                .build();
-            
-            careerMatches.add(match);
+        // Enhance report with AI service
+        try {
+            log.info("Enhancing report with AI service for student: {}", submission.getUserName());
+            StudentReport enhancedReport = aiServiceClient.enhanceReport(report);
+            log.info("Successfully enhanced report with AI service");
+            return enhancedReport;
+        } catch (Exception e) {
+            log.error("Failed to enhance report with AI service, returning original report: {}", e.getMessage());
+            return report;
         }
+    }
+
+    /**
+     * Score a whole cohort against one catalog load
+     * 
+     * Students are scored in blocks of scoring.batch.block-size as a students x
+     * careers matrix. The returned stream is lazy: a block is only scored when
+     * the consumer reaches it, so a large cohort never holds all reports in
+     * memory. Batch reports are not AI-enhanced.
+     * 
+     * @param submissions Cohort submissions, reports are returned in the same order
+     * @return Lazy stream of StudentReports
+     */
+    public Stream<StudentReport> scoreBatch(List<TestSubmissionDTO> submissions) {
+        CareerCatalog catalog = currentCatalog();
+        int blockSize = Math.max(1, scoringConfig.getBatch().getBlockSize());
+        int blocks = (submissions.size() + blockSize - 1) / blockSize;
         
-        // Sort by match score descending
-        careerMatches.sort((a, b) -> Integer.compare(b.getMatchScore(), a.getMatchScore()));
+        log.info("Scoring batch of {} submissions against {} careers", submissions.size(), catalog.size());
+        return IntStream.range(0, blocks)
+            .mapToObj(block -> submissions.subList(block * blockSize,
+                Math.min(submissions.size(), (block + 1) * blockSize)))
+            .flatMap(block -> scoreBlock(catalog, block, new RiasecVector[block.size()]).stream());
+    }
+
+    /**
+     * Compiled catalog of the current snapshot; archetypes cached against an older catalog are dropped
+     */
+    private CareerCatalog currentCatalog() {
+        CareerService.Snapshot snapshot = careerService.getSnapshot();
+        if (scoringConfig.getArchetypeCache().isEnabled()) {
+            getArchetypeCache().syncCatalogVersion(snapshot.getVersion());
+        }
+        return snapshot.getCatalog();
+    }
+
+    /**
+     * Score a block of submissions and build their (non AI-enhanced) reports
+     * 
+     * @param riasecTotals Pre-accumulated raw RIASEC totals per submission; null entries are derived from answers
+     */
+    private List<StudentReport> scoreBlock(CareerCatalog catalog, List<TestSubmissionDTO> submissions,
+                                           RiasecVector[] riasecTotals) {
+        // Calculate RIASEC scores from vibematch answers
+        List<ScoringProfile> profiles = new ArrayList<>(submissions.size());
+        for (int s = 0; s < submissions.size(); s++) {
+            TestSubmissionDTO submission = submissions.get(s);
+            RiasecVector riasecScores = riasecTotals[s] != null
+                ? riasecTotals[s].normalize() : calculateRiasecScores(submission.getAnswers());
+            profiles.add(compileProfile(submission, riasecScores, catalog));
+        }
         
-        // Group into buckets and get top 5
-        List<CareerBucket> topBuckets = groupIntoBuckets(careerMatches);
+        // Phase 1: score every student x career straight into per-bucket running sums and top-K heaps
+        BucketRanking[] rankings = rankBlock(catalog, profiles);
         
-        // Build final report
-        StudentReport report = StudentReport.builder()
+        // Phase 2: narrative fields only for the top careers of the top buckets, in one read
+        Map<String, Career> narratives = fetchNarratives(catalog.getCareers()::get, rankings);
+        List<StudentReport> reports = new ArrayList<>(submissions.size());
+        for (int s = 0; s < profiles.size(); s++) {
+            ScoringProfile profile = profiles.get(s);
+            
+            List<CareerBucket> topBuckets = materializeBuckets(catalog.getCareers()::get, catalog.getBuckets(),
+                rankings[s], profile, narratives);
+            reports.add(buildReport(profile.getSubmission(), profile.getRiasec(), topBuckets));
+        }
+        return reports;
+    }
+
+    private StudentReport buildReport(TestSubmissionDTO submission, RiasecVector riasecScores,
+                                      List<CareerBucket> topBuckets) {
+        return StudentReport.builder()
             .studentName(submission.getUserName())
             .schoolName(submission.getSchoolName())
             .grade(submission.getGrade())
             .board(submission.getBoard())
-            .vibeScores(riasecScores)
+            .vibeScores(riasecScores.toMap())
             .eduStats(submission.getSubjectScores())
             .extracurriculars(submission.getExtracurriculars())
             .parents(submission.getParentCareers())
-            .top5Buckets(topBuckets.subList(0, Math.min(5, topBuckets.size())))
+            .top5Buckets(topBuckets)
             .summaryParagraph(generateSummaryParagraph(submission, topBuckets))
             .build();
+    }
+
+    /**
+     * Phase 1: score every student x career in a single pass, aggregating each
+     * score into the student's BucketRanking as it is produced. Bucket identity
+     * comes from the compiled career, so no score list is kept or regrouped.
+     */
+    private BucketRanking[] rankBlock(CareerCatalog catalog, List<ScoringProfile> profiles) {
+        ArchetypeCache cache = scoringConfig.getArchetypeCache().isEnabled() ? getArchetypeCache() : null;
+        boolean pruning = scoringConfig.getPruning().isEnabled();
+        long[] keys = new long[profiles.size()];
+        int[][] cached = new int[profiles.size()][];
         
-        // Enhance report with AI service
-        try {
-            log.info("Enhancing report with AI service for student: {}", submission.getUserName());
-            StudentReport enhancedReport = aiServiceClient.enhanceReport(report);
-            log.info("Successfully enhanced report with AI service");
-            return enhancedReport;
-        } catch (Exception e) {
-            log.error("Failed to enhance report with AI service, returning original report: {}", e.getMessage());
-            return report;
+        // Per student, the buckets to score: an archetype's cached buckets, else the buckets
+        // BucketBounds cannot rule out; a null entry means every bucket is scored
+        boolean[][] candidates = new boolean[profiles.size()][];
+        for (int s = 0; s < profiles.size(); s++) {
+            ScoringProfile profile = profiles.get(s);
+            if (cache != null) {
+                keys[s] = cache.keyOf(profile);
+                cached[s] = cache.get(keys[s]);
+            }
+            if (cached[s] != null) {
+                candidates[s] = bucketMask(catalog, cached[s]);
+            } else if (pruning) {
+                candidates[s] = catalog.getBucketBounds().candidates(profile, DEFAULT_WEIGHTS,
+                    subjectivityService::alignmentScore, TOP_BUCKETS);
+            }
+        }
+        
+        BucketRanking[] rankings = scoreCandidates(catalog, profiles, candidates);
+        if (cache != null) {
+            completeCachedRankings(catalog, cache, profiles, candidates, rankings, keys, cached);
+        }
+        return rankings;
+    }
+
+    /**
+     * Score every student's candidate buckets, in catalog chunks on the scoring
+     * pool when the job is large enough
+     */
+    private BucketRanking[] scoreCandidates(CareerCatalog catalog, List<ScoringProfile> profiles,
+                                            boolean[][] candidates) {
+        ScoringConfig.Parallel parallel = scoringConfig.getParallel();
+        ScoringKernel kernel = scoringConfig.getSimd().isEnabled() ? ScoringKernel.best() : null;
+        long cells = (long) catalog.size() * profiles.size();
+        
+        if (parallel.isEnabled() && cells >= parallel.getThreshold()) {
+            int chunkSize = Math.max(1, parallel.getChunkSize());
+            return getScoringPool().invoke(
+                new ScoreChunkTask(catalog, kernel, profiles, candidates, 0, catalog.size(), chunkSize));
+        }
+        return scoreRange(catalog, kernel, profiles, candidates, 0, catalog.size());
+    }
+
+    /**
+     * Rankings seeded from cached archetype buckets only cover those buckets.
+     * Score every other bucket whose upper bound could still reach the top
+     * buckets, so the result equals exhaustive scoring, then record each
+     * student's best buckets for their archetype.
+     */
+    private void completeCachedRankings(CareerCatalog catalog, ArchetypeCache cache, List<ScoringProfile> profiles,
+                                        boolean[][] candidates, BucketRanking[] rankings, long[] keys, int[][] cached) {
+        boolean[] refresh = new boolean[profiles.size()];
+        List<Integer> incomplete = new ArrayList<>();
+        List<ScoringProfile> retryProfiles = new ArrayList<>();
+        List<boolean[]> retryBuckets = new ArrayList<>();
+        for (int s = 0; s < profiles.size(); s++) {
+            if (cached[s] == null) {
+                cache.recordLookup(false, false);
+                refresh[s] = true;
+                continue;
+            }
+            boolean[] missing = catalog.getBucketBounds().unresolved(profiles.get(s), DEFAULT_WEIGHTS,
+                subjectivityService::alignmentScore, TOP_BUCKETS, rankings[s], candidates[s]);
+            cache.recordLookup(true, missing == null);
+            if (missing != null) {
+                refresh[s] = true;
+                incomplete.add(s);
+                retryProfiles.add(profiles.get(s));
+                retryBuckets.add(missing);
+            }
+        }
+        
+        if (!retryProfiles.isEmpty()) {
+            BucketRanking[] rest = scoreCandidates(catalog, retryProfiles, retryBuckets.toArray(new boolean[0][]));
+            for (int i = 0; i < rest.length; i++) {
+                rankings[incomplete.get(i)].merge(rest[i]);
+            }
+        }
+        
+        int remembered = TOP_BUCKETS + Math.max(0, scoringConfig.getArchetypeCache().getMargin());
+        for (int s = 0; s < profiles.size(); s++) {
+            if (refresh[s]) {
+                cache.put(keys[s], rankings[s].rankedBuckets(remembered));
+            }
+        }
+    }
+
+    private static boolean[] bucketMask(CareerCatalog catalog, int[] buckets) {
+        boolean[] mask = new boolean[catalog.getBuckets().size()];
+        for (int bucket : buckets) {
+            // Entries can outlive a catalog edit between version checks; they only cost a retry
+            if (bucket < mask.length) mask[bucket] = true;
+        }
+        return mask;
+    }
+
+    /**
+     * Score careers [from, to) for every student, per method or on the feature
+     * matrix when a kernel is given, into fresh per-student rankings
+     */
+    private BucketRanking[] scoreRange(CareerCatalog catalog, ScoringKernel kernel, List<ScoringProfile> profiles,
+                                       boolean[][] candidates, int from, int to) {
+        BucketRanking[] rankings = new BucketRanking[profiles.size()];
+        for (int s = 0; s < rankings.length; s++) {
+            rankings[s] = new BucketRanking(catalog.getBuckets().size(), CAREERS_PER_BUCKET);
+        }
+        if (kernel != null) {
+            scoreRangeWithKernel(catalog, kernel, profiles, candidates, rankings, from, to);
+            return rankings;
+        }
+        // Career-major loop: each compiled career is loaded once and scored against every student
+        List<CompiledCareer> careers = catalog.getCareers();
+        for (int c = from; c < to; c++) {
+            CompiledCareer career = careers.get(c);
+            int bucket = career.getBucketOrdinal();
+            for (int s = 0; s < profiles.size(); s++) {
+                if (candidates[s] != null && !candidates[s][bucket]) continue;
+                rankings[s].add(bucket, c, computeFinalScore(career, profiles.get(s)));
+            }
+        }
+        return rankings;
+    }
+
+    /**
+     * Same formula as computeFinalScore, with the RIASEC and subject components
+     * taken from the feature matrix in one sweep per student over the career range
+     */
+    private void scoreRangeWithKernel(CareerCatalog catalog, ScoringKernel kernel, List<ScoringProfile> profiles,
+                                      boolean[][] candidates, BucketRanking[] rankings, int from, int to) {
+        CareerFeatureMatrix matrix = catalog.getFeatureMatrix();
+        List<CompiledCareer> careers = catalog.getCareers();
+        double[] riasec = new double[to - from];
+        double[] subjects = new double[to - from];
+        float[] sums = new float[to - from];
+        float[] counts = new float[to - from];
+        
+        for (int s = 0; s < profiles.size(); s++) {
+            ScoringProfile profile = profiles.get(s);
+            boolean[] scored = candidates[s];
+            matrix.riasecScores(profile.getRiasec(), from, riasec);
+            matrix.subjectAverages(kernel, profile.getSubjectScores(), from, subjects, sums, counts);
+            
+            for (int i = 0; i < riasec.length; i++) {
+                CompiledCareer career = careers.get(from + i);
+                if (scored != null && !scored[career.getBucketOrdinal()]) continue;
+                double subjectScore = Double.isNaN(subjects[i]) ? 50 : profile.getRules().scaleSubject(subjects[i]);
+                double finalScore = (riasec[i] * RIASEC_WEIGHT) + 
+                                   (subjectScore * SUBJECT_WEIGHT) + 
+                                   (practicalFitScore(career, profile) * PRACTICAL_WEIGHT) + 
+                                   (contextFitScore(career, profile) * CONTEXT_WEIGHT);
+                rankings[s].add(career.getBucketOrdinal(), from + i, Math.max(0, Math.min(100, finalScore)));
+            }
+        }
+    }
+
+    /**
+     * Splits the catalog in halves until a range fits in one chunk. Each leaf
+     * ranks its own career range; halves are merged on the way back up, which
+     * gives the same rankings as the sequential pass.
+     */
+    private class ScoreChunkTask extends RecursiveTask<BucketRanking[]> {
+        private final CareerCatalog catalog;
+        private final ScoringKernel kernel;
+        private final List<ScoringProfile> profiles;
+        private final boolean[][] candidates;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        ScoreChunkTask(CareerCatalog catalog, ScoringKernel kernel, List<ScoringProfile> profiles,
+                       boolean[][] candidates, int from, int to, int chunkSize) {
+            this.catalog = catalog;
+            this.kernel = kernel;
+            this.profiles = profiles;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected BucketRanking[] compute() {
+            if (to - from <= chunkSize) {
+                return scoreRange(catalog, kernel, profiles, candidates, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScoreChunkTask left = new ScoreChunkTask(catalog, kernel, profiles, candidates, from, mid, chunkSize);
+            left.fork();
+            BucketRanking[] rankings = new ScoreChunkTask(catalog, kernel, profiles, candidates, mid, to, chunkSize).compute();
+            BucketRanking[] leftRankings = left.join();
+            for (int s = 0; s < rankings.length; s++) {
+                rankings[s].merge(leftRankings[s]);
+            }
+            return rankings;
+        }
+    }
+
+    /**
+     * Score one submission against a memory-mapped career column store and
+     * build its (non AI-enhanced) report. Same formula and ranking as
+     * scoreBlock over the equivalent catalog; pruning, the archetype cache and
+     * the SIMD kernel only apply to the compiled catalog.
+     */
+    StudentReport scoreColumnStore(CareerColumnStore store, TestSubmissionDTO submission, RiasecVector riasecTotals) {
+        RiasecVector riasecScores = riasecTotals != null
+            ? riasecTotals.normalize() : calculateRiasecScores(submission.getAnswers());
+        ScoringProfile profile = compileProfile(submission, riasecScores, store.getTerms());
+        
+        ScoringConfig.Parallel parallel = scoringConfig.getParallel();
+        BucketRanking ranking = parallel.isEnabled() && store.size() >= parallel.getThreshold()
+            ? getScoringPool().invoke(new ColumnChunkTask(store, profile, 0, store.size(), Math.max(1, parallel.getChunkSize())))
+            : scoreColumns(store, profile, 0, store.size());
+        
+        List<CareerBucket> topBuckets = materializeBuckets(store::career, store.getTerms().getBuckets(), ranking, profile,
+            fetchNarratives(store::career, ranking));
+        return buildReport(submission, riasecScores, topBuckets);
+    }
+
+    /**
+     * Score column store rows [from, to): computeFinalScore, with each
+     * component read from the columns instead of a CompiledCareer
+     */
+    private BucketRanking scoreColumns(CareerColumnStore store, ScoringProfile profile, int from, int to) {
+        BucketRanking ranking = new BucketRanking(store.getTerms().getBuckets().size(), CAREERS_PER_BUCKET);
+        for (int c = from; c < to; c++) {
+            double finalScore = (columnRiasecScore(store, c, profile) * RIASEC_WEIGHT) + 
+                               (columnSubjectScore(store, c, profile) * SUBJECT_WEIGHT) + 
+                               (columnPracticalScore(store, c, profile) * PRACTICAL_WEIGHT) + 
+                               (columnContextScore(store, c, profile) * CONTEXT_WEIGHT);
+            ranking.add(store.bucketOrdinal(c), c, Math.max(0, Math.min(100, finalScore)));
+        }
+        return ranking;
+    }
+
+    // RiasecVector.weightedMatch with career weights of 1 per profile trait
+    private double columnRiasecScore(CareerColumnStore store, int c, ScoringProfile profile) {
+        int traitCount = store.riasecTraitCount(c);
+        if (traitCount == 0) return 0;
+        int traits = store.riasecTraits(c);
+        double totalMatch = 0;
+        for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+            if ((traits & (1 << trait)) != 0) {
+                totalMatch += profile.getRiasec().get(trait) / 100.0;
+            }
+        }
+        return (totalMatch / traitCount) * 100;
+    }
+
+    // Same as subjectMatchScore
+    private double columnSubjectScore(CareerColumnStore store, int c, ScoringProfile profile) {
+        double totalScore = 0.0;
+        int subjectCount = 0;
+        int relevantSubjects = 0;
+        for (int slot = 0; slot < store.subjectSlots(); slot++) {
+            int subjectId = store.subjectId(c, slot);
+            if (subjectId < 0) break;
+            subjectCount++;
+            int score = profile.subjectScore(subjectId);
+            if (score != ScoringProfile.NO_SCORE) {
+                totalScore += score;
+                relevantSubjects++;
+            }
+        }
+        if (subjectCount == 0 || relevantSubjects == 0) return 50;
+        return profile.getRules().scaleSubject(totalScore / relevantSubjects);
+    }
+
+    // Same as practicalFitScore
+    private double columnPracticalScore(CareerColumnStore store, int c, ScoringProfile profile) {
+        ScoringRules rules = profile.getRules();
+        double score = rules.getPracticalBase();
+        int matches = 0;
+        for (long[] activityTags : profile.getActivityTagMasks()) {
+            if (store.tagsIntersect(c, activityTags)) {
+                matches++;
+            }
+        }
+        score += matches * rules.getPerExtracurricularMatch();
+        
+        if (profile.hasSubjectiveText()) {
+            int keywordHits = 0;
+            if (store.tagsIntersect(c, profile.getKeywordTagMask())) {
+                for (int slot = 0; slot < store.tagSlots(); slot++) {
+                    int tagId = store.tagId(c, slot);
+                    if (tagId < 0) break;
+                    keywordHits += profile.getTagKeywordHits()[tagId];
+                }
+            }
+            score += subjectivityService.alignmentScore(keywordHits) * rules.getTextWeight();
+        }
+        return Math.max(0, Math.min(100, score));
+    }
+
+    // Same as contextFitScore
+    private double columnContextScore(CareerColumnStore store, int c, ScoringProfile profile) {
+        int bucket = store.bucketOrdinal(c);
+        double score = profile.getRules().getContextBase() + profile.getContextBuckets()[bucket];
+        for (ScoringRules.TagBonus bonus : profile.getContextTags()) {
+            if (bonus.appliesTo(bucket) && store.hasTag(c, bonus.getTagId())) {
+                score += bonus.getDelta();
+            }
+        }
+        return Math.max(0, Math.min(100, score));
+    }
+
+    /**
+     * ScoreChunkTask for one student over column store rows
+     */
+    private class ColumnChunkTask extends RecursiveTask<BucketRanking> {
+        private final CareerColumnStore store;
+        private final ScoringProfile profile;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        ColumnChunkTask(CareerColumnStore store, ScoringProfile profile, int from, int to, int chunkSize) {
+            this.store = store;
+            this.profile = profile;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected BucketRanking compute() {
+            if (to - from <= chunkSize) {
+                return scoreColumns(store, profile, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ColumnChunkTask left = new ColumnChunkTask(store, profile, from, mid, chunkSize);
+            left.fork();
+            BucketRanking ranking = new ColumnChunkTask(store, profile, mid, to, chunkSize).compute();
+            ranking.merge(left.join());
+            return ranking;
+        }
+    }
+
+    private ArchetypeCache getArchetypeCache() {
+        ArchetypeCache cache = archetypeCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = archetypeCache;
+                if (cache == null) {
+                    ScoringConfig.ArchetypeCache config = scoringConfig.getArchetypeCache();
+                    cache = new ArchetypeCache(config.getMaxEntries(), config.getRiasecStep(), config.getSubjectBand());
+                    archetypeCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Hit-rate and footprint metrics of the archetype candidate cache
+     */
+    public Map<String, Object> getArchetypeCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", scoringConfig.getArchetypeCache().isEnabled());
+        stats.putAll(getArchetypeCache().stats());
+        return stats;
+    }
+
+    private ForkJoinPool getScoringPool() {
+        ForkJoinPool pool = scoringPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = scoringPool;
+                if (pool == null) {
+                    int parallelism = scoringConfig.getParallel().getParallelism();
+                    if (parallelism <= 0) {
+                        parallelism = Runtime.getRuntime().availableProcessors();
+                    }
+                    pool = newPool("scoring", parallelism);
+                    scoringPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private ForkJoinPool getReplayPool() {
+        ForkJoinPool pool = replayPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = replayPool;
+                if (pool == null) {
+                    int parallelism = scoringConfig.getReplay().getParallelism();
+                    if (parallelism <= 0) {
+                        parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                    }
+                    pool = newPool("replay", parallelism);
+                    replayPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private static ForkJoinPool newPool(String name, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName(name + "-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        log.info("Started {} pool with parallelism {}", name, parallelism);
+        return pool;
+    }
+
+    @PreDestroy
+    void shutdownScoringPool() {
+        if (scoringPool != null) {
+            scoringPool.shutdown();
+        }
+        if (replayPool != null) {
+            replayPool.shutdown();
         }
     }
 
+    /**
+     * Re-rank stored reports under several weight sets (offline replay)
+     * 
+     * A report keeps the student's RIASEC percentages, subject marks,
+     * extracurriculars and parent careers, so those are re-scored exactly.
+     * Free-text answers, study abroad and work style preferences are not
+     * stored; every weight set sees them as absent, so comparisons between
+     * weight sets stay like for like.
+     * 
+     * Runs on the replay pool, never the scoring pool.
+     * 
+     * @param reports Stored reports; entries without vibeScores are not replayed
+     * @param weightSets Weight sets to rank under
+     * @return Per report, one BucketRanking per weight set, or null if the report was not replayed
+     */
+    public List<BucketRanking[]> replayBlock(CareerCatalog catalog, List<StudentReport> reports,
+                                             List<ScoringWeights> weightSets) {
+        return getReplayPool().submit(() -> reports.parallelStream()
+            .map(report -> replayReport(catalog, report, weightSets))
+            .collect(Collectors.toList())).join();
+    }
+
+    private BucketRanking[] replayReport(CareerCatalog catalog, StudentReport report, List<ScoringWeights> weightSets) {
+        if (report == null || report.getVibeScores() == null) return null;
+        
+        ScoringProfile profile = compileProfile(submissionOf(report), RiasecVector.fromMap(report.getVibeScores()), catalog);
+        
+        BucketRanking[] rankings = new BucketRanking[weightSets.size()];
+        for (int w = 0; w < rankings.length; w++) {
+            rankings[w] = new BucketRanking(catalog.getBuckets().size(), CAREERS_PER_BUCKET);
+        }
+        List<CompiledCareer> careers = catalog.getCareers();
+        for (int c = 0; c < careers.size(); c++) {
+            CompiledCareer career = careers.get(c);
+            double riasecScore = riasecMatchScore(career, profile);
+            double subjectScore = subjectMatchScore(career, profile);
+            double practicalScore = practicalFitScore(career, profile);
+            double contextScore = contextFitScore(career, profile);
+            for (int w = 0; w < rankings.length; w++) {
+                rankings[w].add(career.getBucketOrdinal(), c,
+                    weightSets.get(w).combine(riasecScore, subjectScore, practicalScore, contextScore));
+            }
+        }
+        return rankings;
+    }
+
+    /**
+     * The scoring inputs a stored report keeps: subject marks, extracurriculars
+     * and parent careers. Free text and preferences are not stored.
+     */
+    static TestSubmissionDTO submissionOf(StudentReport report) {
+        return TestSubmissionDTO.builder()
+            .userName(report.getStudentName())
+            .schoolName(report.getSchoolName())
+            .grade(report.getGrade())
+            .board(report.getBoard())
+            .subjectScores(report.getEduStats())
+            .extracurriculars(report.getExtracurriculars())
+            .parentCareers(report.getParents())
+            .build();
+    }
+
+    /**
+     * All four component scores of every career for one student, for delta
+     * re-scoring (see WhatIfService)
+     */
+    ComponentScores componentScores(CareerCatalog catalog, ScoringProfile profile) {
+        double[][] components = new double[ComponentScores.COUNT][catalog.size()];
+        for (CompiledCareer career : catalog.getCareers()) {
+            int c = career.getIndex();
+            components[ComponentScores.RIASEC][c] = riasecMatchScore(career, profile);
+            components[ComponentScores.SUBJECT][c] = subjectMatchScore(career, profile);
+            components[ComponentScores.PRACTICAL][c] = practicalFitScore(career, profile);
+            components[ComponentScores.CONTEXT][c] = contextFitScore(career, profile);
+        }
+        return new ComponentScores(components);
+    }
+
+    /**
+     * Phase 2: build the full CareerMatch (reasons, study path, steps) for one career
+     */
+    private CareerMatch materializeMatch(CompiledCareer career, double score, ScoringProfile profile,
+                                         Career narrative) {
+        List<String> studyPath = narrative != null
+            ? CareerCatalog.studyPath(narrative.getTop5CollegeCourses()) : career.getStudyPath();
+        return CareerMatch.builder()
+            .careerName(career.getCareerName())
+            .matchScore((int) Math.round(score))
+            .topReasons(generateTopReasons(career, profile))
+            .studyPath(new ArrayList<>(studyPath))
+            .first3Steps(generateFirst3Steps(career.getSource()))
+            .confidence(determineConfidence(score, profile.getSubmission()))
+            .whatWouldChangeRecommendation(generateChangeRecommendation(career, profile))
+            .build();
+    }
+
     /**
      * Calculate RIASEC personality scores from vibematch test answers
      * 
@@ -125,56 +812,80 @@ public class ScoringService {
      * S = Social (helping, teaching)
      * E = Enterprising (leading, persuading)
      * C = Conventional (organizing, detail-oriented)
+     * 
+     * Package-private for ScoringBenchmark.
      */
-    private Map<String, Integer> calculateRiasecScores(Map<String, Object> answers) {
-        Map<String, Integer> scores = new HashMap<>();
-        scores.put("R", 0);
-        scores.put("I", 0);
-        scores.put("A", 0);
-        scores.put("S", 0);
-        scores.put("E", 0);
-        scores.put("C", 0);
-        
-        // Process each vibematch answer (Likert scale 1-5)
-        for (Map.Entry<String, Object> answer : answers.entrySet()) {
-            String questionId = answer.getKey();
-            if (questionId.startsWith("v_") && answer.getValue() instanceof Number) {
-                int score = ((Number) answer.getValue()).intValue();
-                
-                // Map question to RIASEC categories based on vibematch_questions.json
-                Map<String, Integer> riasecMap = getQuestionRiasecMapping(questionId);
-                for (Map.Entry<String, Integer> mapping : riasecMap.entrySet()) {
-                    scores.merge(mapping.getKey(), score * mapping.getValue(), Integer::sum);
-                }
-            }
-        }
+    RiasecVector calculateRiasecScores(Map<String, Object> answers) {
+        // Likert answers (1-5) weighted by each question's riasec_map
+        RiasecVector totals = testService.getRiasecAnswerTable().score(answers);
         
         // Convert to percentages (normalize to 0-100 scale)
-        int totalScore = scores.values().stream().mapToInt(Integer::intValue).sum();
-        if (totalScore > 0) {
-            scores.replaceAll((key, value) -> (int) Math.round((value * 100.0) / totalScore));
-        }
-        
-        return scores;
+        return totals.normalize();
     }
 
     /**
-     * Get RIASEC mapping for a specific question based on vibematch_questions.json structure
+     * Resolve a submission against the compiled catalog
+     * 
+     * Everything here depends only on the student, so it is done once per
+     * submission instead of once per career. Package-private for ScoringBenchmark.
      */
-    private Map<String, Integer> getQuestionRiasecMapping(String questionId) {
-        Map<String, Integer> mapping = new HashMap<>();
+    ScoringProfile compileProfile(TestSubmissionDTO submission, RiasecVector riasecScores,
+                                  CareerCatalog catalog) {
+        // Subject marks indexed by catalog subject ID
+        TermDictionary subjects = catalog.getSubjects();
+        int[] subjectScores = new int[subjects.size()];
+        Arrays.fill(subjectScores, ScoringProfile.NO_SCORE);
+        if (submission.getSubjectScores() != null) {
+            for (Map.Entry<String, Integer> entry : submission.getSubjectScores().entrySet()) {
+                int subjectId = subjects.idOf(entry.getKey());
+                if (subjectId >= 0 && entry.getValue() != null) {
+                    subjectScores[subjectId] = entry.getValue();
+                }
+            }
+        }
         
-        // Based on vibematch_questions.json riasec_map field
-        switch (questionId) {
-            case "v_01", "v_08" -> mapping.put("R", 1);
-            case "v_02", "v_07", "v_11" -> mapping.put("C", 1);
-            case "v_03", "v_09", "v_14" -> mapping.put("I", 1);
-            case "v_04", "v_12" -> mapping.put("S", 1);
-            case "v_05", "v_10" -> mapping.put("A", 1);
-            case "v_06", "v_13" -> mapping.put("E", 1);
+        // Extracurricular -> tag bitmasks, compared case-insensitively in both directions
+        List<String> extracurriculars = submission.getExtracurriculars() != null
+            ? submission.getExtracurriculars() : List.of();
+        long[][] activityTagMasks = new long[extracurriculars.size()][];
+        long[][] activityMentionMasks = new long[extracurriculars.size()][];
+        for (int a = 0; a < extracurriculars.size(); a++) {
+            CareerCatalog.ActivityMasks masks = catalog.activityMasks(extracurriculars.get(a));
+            activityTagMasks[a] = masks.getMatching();
+            activityMentionMasks[a] = masks.getMentioned();
         }
         
-        return mapping;
+        // Free text is scanned for subjectivity keywords once, then resolved per tag ID
+        String subjectiveText = submission.getAnswers() != null ? extractSubjectiveText(submission.getAnswers()) : "";
+        Map<String, Integer> tagHits = subjectivityService.countTagHits(subjectiveText);
+        TermDictionary tags = catalog.getTags();
+        int[] tagKeywordHits = new int[tags.size()];
+        long[] keywordTagMask = TagMask.forSize(tags.size());
+        for (int t = 0; t < tags.size(); t++) {
+            tagKeywordHits[t] = tagHits.getOrDefault(tags.nameOf(t).toLowerCase(), 0);
+            if (tagKeywordHits[t] > 0) {
+                TagMask.set(keywordTagMask, t);
+            }
+        }
+        
+        // Context rules resolve to bonuses per bucket and per career tag
+        ScoringRules rules = scoringRulesService.getRules();
+        
+        return ScoringProfile.builder()
+            .catalog(catalog)
+            .submission(submission)
+            .riasec(riasecScores)
+            .subjectScores(subjectScores)
+            .extracurriculars(extracurriculars)
+            .activityTagMasks(activityTagMasks)
+            .activityMentionMasks(activityMentionMasks)
+            .subjectiveText(subjectiveText)
+            .tagKeywordHits(tagKeywordHits)
+            .keywordTagMask(keywordTagMask)
+            .rules(rules)
+            .contextBuckets(rules.contextBucketBonuses(submission, catalog.getBuckets()))
+            .contextTags(rules.contextTagBonuses(submission, catalog))
+            .build();
     }
 
     /**
@@ -187,10 +898,16 @@ public class ScoringService {
      * - Context Fit: 10% (family and social factors)
      */
     public double computeFinalScore(Career career, TestSubmissionDTO submission, Map<String, Integer> riasecScores) {
-        double riasecScore = riasecMatchScore(career, riasecScores);
-        double subjectScore = subjectMatchScore(career, submission.getSubjectScores());
-        double practicalScore = practicalFitScore(career, submission);
-        double contextScore = contextFitScore(career, submission);
+        CareerCatalog catalog = CareerCatalog.compile(List.of(career));
+        ScoringProfile profile = compileProfile(submission, RiasecVector.fromMap(riasecScores), catalog);
+        return computeFinalScore(catalog.getCareers().get(0), profile);
+    }
+
+    public double computeFinalScore(CompiledCareer career, ScoringProfile profile) {
+        double riasecScore = riasecMatchScore(career, profile);
+        double subjectScore = subjectMatchScore(career, profile);
+        double practicalScore = practicalFitScore(career, profile);
+        double contextScore = contextFitScore(career, profile);
         
         double finalScore = (riasecScore * RIASEC_WEIGHT) + 
                            (subjectScore * SUBJECT_WEIGHT) + 
@@ -208,23 +925,16 @@ public class ScoringService {
      * Compares user's RIASEC profile with career's required profile
      */
     public double riasecMatchScore(Career career, Map<String, Integer> userRiasecScores) {
-        Map<String, Integer> careerRiasec = parseRiasecProfile(career.getRiasecProfile());
-        
-        double totalMatch = 0.0;
-        int profileLength = careerRiasec.size();
-        
-        for (Map.Entry<String, Integer> entry : careerRiasec.entrySet()) {
-            String category = entry.getKey();
-            int careerImportance = entry.getValue();
-            int userScore = userRiasecScores.getOrDefault(category, 0);
-            
-            // Higher career importance means this trait is more critical
-            // Match score is based on how well user's trait aligns with career needs
-            double categoryMatch = (userScore / 100.0) * careerImportance;
-            totalMatch += categoryMatch;
-        }
-        
-        return profileLength > 0 ? (totalMatch / profileLength) * 100 : 0;
+        TestSubmissionDTO submission = TestSubmissionDTO.builder().build();
+        CareerCatalog catalog = CareerCatalog.compile(List.of(career));
+        ScoringProfile profile = compileProfile(submission, RiasecVector.fromMap(userRiasecScores), catalog);
+        return riasecMatchScore(catalog.getCareers().get(0), profile);
+    }
+
+    public double riasecMatchScore(CompiledCareer career, ScoringProfile profile) {
+        // Higher career importance means this trait is more critical
+        // Match score is based on how well user's trait aligns with career needs
+        return career.getRiasec().weightedMatch(profile.getRiasec());
     }
 
     /**
@@ -232,29 +942,30 @@ public class ScoringService {
      * Compares user's grades in relevant subjects with career requirements
      */
     public double subjectMatchScore(Career career, Map<String, Integer> subjectScores) {
-        List<String> primarySubjects = parseSubjectList(career.getPrimarySubjects());
-        if (primarySubjects.isEmpty()) return 50; // Neutral score if no specific subjects
+        TestSubmissionDTO submission = TestSubmissionDTO.builder().subjectScores(subjectScores).build();
+        CareerCatalog catalog = CareerCatalog.compile(List.of(career));
+        return subjectMatchScore(catalog.getCareers().get(0), compileProfile(submission, RiasecVector.zero(), catalog));
+    }
+
+    public double subjectMatchScore(CompiledCareer career, ScoringProfile profile) {
+        int[] primarySubjects = career.getSubjectIds();
+        if (primarySubjects.length == 0) return 50; // Neutral score if no specific subjects
         
         double totalScore = 0.0;
         int relevantSubjects = 0;
         
-        for (String subject : primarySubjects) {
-            if (subjectScores.containsKey(subject)) {
-                totalScore += subjectScores.get(subject);
+        for (int subjectId : primarySubjects) {
+            int score = profile.subjectScore(subjectId);
+            if (score != ScoringProfile.NO_SCORE) {
+                totalScore += score;
                 relevantSubjects++;
             }
         }
         
         if (relevantSubjects == 0) return 50; // Neutral if no relevant subject scores
         
-        double avgScore = totalScore / relevantSubjects;
-        
-        // Apply subject importance scaling
-        // Strong performance (>80) gets bonus, weak performance (<60) gets penalty
-        if (avgScore >= 80) return Math.min(100, avgScore * 1.1);
-        if (avgScore < 60) return avgScore * 0.8;
-        
-        return avgScore;
+        // Subject bands from the scoring rules: strong marks get a bonus, weak marks a penalty
+        return profile.getRules().scaleSubject(totalScore / relevantSubjects);
     }
 
     /**
@@ -262,32 +973,37 @@ public class ScoringService {
      * Analyzes extracurriculars and subjective responses for alignment
      */
     public double practicalFitScore(Career career, TestSubmissionDTO submission) {
-        double score = 50.0; // Base score
-        
-        // Analyze extracurriculars alignment
-        List<String> extracurriculars = submission.getExtracurriculars();
-        List<String> careerTags = parseTagList(career.getTags());
+        CareerCatalog catalog = CareerCatalog.compile(List.of(career));
+        return practicalFitScore(catalog.getCareers().get(0), compileProfile(submission, RiasecVector.zero(), catalog));
+    }
+
+    public double practicalFitScore(CompiledCareer career, ScoringProfile profile) {
+        ScoringRules rules = profile.getRules();
+        double score = rules.getPracticalBase();
         
-        // Count matching interests
+        // Count extracurriculars that match at least one career tag
+        long[] careerTags = career.getTagMask();
         int matches = 0;
-        for (String activity : extracurriculars) {
-            for (String tag : careerTags) {
-                if (activity.toLowerCase().contains(tag.toLowerCase()) || 
-                    tag.toLowerCase().contains(activity.toLowerCase())) {
-                    matches++;
-                    break;
-                }
+        for (long[] activityTags : profile.getActivityTagMasks()) {
+            if (TagMask.intersects(activityTags, careerTags)) {
+                matches++;
             }
         }
         
         // Bonus for relevant extracurriculars
-        score += matches * 10; // +10 points per match
+        score += matches * rules.getPerExtracurricularMatch();
         
         // Analyze subjective text responses using keyword matching
-        String subjectiveText = extractSubjectiveText(submission.getAnswers());
-        if (subjectiveText != null && !subjectiveText.trim().isEmpty()) {
-            double textScore = subjectivityService.analyzeTextAlignment(subjectiveText, career);
-            score += textScore * 0.3; // 30% influence from text analysis
+        if (profile.hasSubjectiveText()) {
+            // Only careers sharing a tag with the keyword hits need the per-tag sum
+            int keywordHits = 0;
+            if (TagMask.intersects(profile.getKeywordTagMask(), careerTags)) {
+                for (int tagId : career.getTagIds()) {
+                    keywordHits += profile.getTagKeywordHits()[tagId];
+                }
+            }
+            double textScore = subjectivityService.alignmentScore(keywordHits);
+            score += textScore * rules.getTextWeight();
         }
         
         return Math.max(0, Math.min(100, score));
@@ -298,68 +1014,28 @@ public class ScoringService {
      * Considers family background and social factors
      */
     public double contextFitScore(Career career, TestSubmissionDTO submission) {
-        double score = 50.0; // Base neutral score
-        
-        // Family career influence
-        List<String> parentCareers = submission.getParentCareers();
-        String careerBucket = career.getBucket();
+        CareerCatalog catalog = CareerCatalog.compile(List.of(career));
+        return contextFitScore(catalog.getCareers().get(0), compileProfile(submission, RiasecVector.zero(), catalog));
+    }
+
+    public double contextFitScore(CompiledCareer career, ScoringProfile profile) {
+        int bucket = career.getBucketOrdinal();
         
-        // Bonus if career aligns with family background
-        for (String parentCareer : parentCareers) {
-            if (isCareerRelated(parentCareer, careerBucket)) {
-                score += 15; // Family familiarity bonus
-                break;
-            }
-        }
+        // Family, work style and other bucket-level rules were summed per bucket
+        double score = profile.getRules().getContextBase() + profile.getContextBuckets()[bucket];
         
-        // Consider study abroad preferences
-        Boolean studyAbroad = submission.getStudyAbroadPreference();
-        if (studyAbroad != null) {
-            List<String> tags = parseTagList(career.getTags());
-            if (studyAbroad && tags.contains("new_age")) {
-                score += 10; // New age careers often have international opportunities
+        // Rules that depend on a career tag, e.g. study abroad for new age careers
+        for (ScoringRules.TagBonus bonus : profile.getContextTags()) {
+            if (bonus.appliesTo(bucket) && career.hasTag(bonus.getTagId())) {
+                score += bonus.getDelta();
             }
         }
         
-        // Consider work style preferences
-        String workStyle = submission.getWorkStylePreference();
-        if (workStyle != null) {
-            score += analyzeWorkStyleFit(workStyle, career);
-        }
-        
         return Math.max(0, Math.min(100, score));
     }
 
     // Helper methods for parsing and analysis
 
-    private Map<String, Integer> parseRiasecProfile(String riasecProfile) {
-        Map<String, Integer> profile = new HashMap<>();
-        if (riasecProfile != null) {
-            for (char c : riasecProfile.toCharArray()) {
-                profile.put(String.valueOf(c), 1);
-            }
-        }
-        return profile;
-    }
-
-    private List<String> parseSubjectList(String subjects) {
-        if (subjects == null) return new ArrayList<>();
-        return Arrays.asList(subjects.replaceAll("[\\[\\]\"]", "").split(","))
-                .stream().map(String::trim).collect(Collectors.toList());
-    }
-
-    private List<String> parseTagList(String tags) {
-        if (tags == null) return new ArrayList<>();
-        return Arrays.asList(tags.replaceAll("[\\[\\]\"]", "").split(","))
-                .stream().map(String::trim).collect(Collectors.toList());
-    }
-
-    private List<String> parseStudyPath(String courses) {
-        if (courses == null) return new ArrayList<>();
-        return Arrays.asList(courses.split(",")).stream()
-                .map(String::trim).limit(3).collect(Collectors.toList());
-    }
-
     private String extractSubjectiveText(Map<String, Object> answers) {
         StringBuilder text = new StringBuilder();
         for (Map.Entry<String, Object> entry : answers.entrySet()) {
@@ -373,37 +1049,38 @@ public class ScoringService {
         return text.toString().trim();
     }
 
-    private List<String> generateTopReasons(Career career, TestSubmissionDTO submission, Map<String, Integer> riasecScores) {
+    private List<String> generateTopReasons(CompiledCareer career, ScoringProfile profile) {
         List<String> reasons = new ArrayList<>();
         
         // RIASEC reasoning
-        Map<String, Integer> careerRiasec = parseRiasecProfile(career.getRiasecProfile());
-        for (String trait : careerRiasec.keySet()) {
-            int userScore = riasecScores.getOrDefault(trait, 0);
+        RiasecVector careerRiasec = career.getRiasec();
+        for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+            if (careerRiasec.get(trait) == 0) continue;
+            int userScore = (int) profile.getRiasec().get(trait);
             if (userScore > 30) {
+                String traitKey = RiasecVector.keyOf(trait);
                 reasons.add(String.format("High %s score (%d%%) — you like %s activities.", 
-                    getTraitName(trait), userScore, getTraitDescription(trait)));
+                    getTraitName(traitKey), userScore, getTraitDescription(traitKey)));
             }
         }
         
         // Subject performance reasoning
-        List<String> primarySubjects = parseSubjectList(career.getPrimarySubjects());
-        for (String subject : primarySubjects) {
-            Integer score = submission.getSubjectScores().get(subject);
-            if (score != null && score > 75) {
-                reasons.add(String.format("Strong %s marks (%d) — good foundation for this field.", subject, score));
+        TermDictionary subjects = profile.getCatalog().getSubjects();
+        for (int subjectId : career.getSubjectIds()) {
+            int score = profile.subjectScore(subjectId);
+            if (score != ScoringProfile.NO_SCORE && score > 75) {
+                reasons.add(String.format("Strong %s marks (%d) — good foundation for this field.", 
+                    subjects.nameOf(subjectId), score));
             }
         }
         
         // Extracurricular alignment
-        List<String> extracurriculars = submission.getExtracurriculars();
-        List<String> careerTags = parseTagList(career.getTags());
-        for (String activity : extracurriculars) {
-            for (String tag : careerTags) {
-                if (activity.toLowerCase().contains(tag.toLowerCase())) {
-                    reasons.add(String.format("%s extracurricular shows practical interest in this area.", activity));
-                    break;
-                }
+        List<String> extracurriculars = profile.getExtracurriculars();
+        long[][] activityMentionMasks = profile.getActivityMentionMasks();
+        for (int a = 0; a < extracurriculars.size(); a++) {
+            if (TagMask.intersects(activityMentionMasks[a], career.getTagMask())) {
+                reasons.add(String.format("%s extracurricular shows practical interest in this area.", 
+                    extracurriculars.get(a)));
             }
         }
         
@@ -448,46 +1125,66 @@ public class ScoringService {
         return "Low";
     }
 
-    private String generateChangeRecommendation(Career career, TestSubmissionDTO submission) {
-        List<String> primarySubjects = parseSubjectList(career.getPrimarySubjects());
-        for (String subject : primarySubjects) {
-            Integer score = submission.getSubjectScores().get(subject);
-            if (score != null && score < 60) {
-                return String.format("If %s performance drops below 50, consider alternative paths.", subject);
+    private String generateChangeRecommendation(CompiledCareer career, ScoringProfile profile) {
+        TermDictionary subjects = profile.getCatalog().getSubjects();
+        for (int subjectId : career.getSubjectIds()) {
+            int score = profile.subjectScore(subjectId);
+            if (score != ScoringProfile.NO_SCORE && score < 60) {
+                return String.format("If %s performance drops below 50, consider alternative paths.", 
+                    subjects.nameOf(subjectId));
             }
         }
         return "Focus on building practical experience through projects and internships.";
     }
 
-    private List<CareerBucket> groupIntoBuckets(List<CareerMatch> careerMatches) {
-        // Group careers by bucket and calculate bucket scores
-        Map<String, List<CareerMatch>> bucketGroups = new HashMap<>();
-        
-        for (CareerMatch match : careerMatches) {
-            Career career = careerService.findByCareerName(match.getCareerName());
-            if (career != null) {
-                bucketGroups.computeIfAbsent(career.getBucket(), k -> new ArrayList<>()).add(match);
+    /**
+     * Aggregate career scores into buckets: average score per bucket and a bounded
+     * heap of the best careers in each. Bucket identity comes from the compiled
+     * catalog, so no lookups are needed.
+     */
+    private List<CareerBucket> materializeBuckets(IntFunction<CompiledCareer> careersByIndex, TermDictionary bucketNames,
+                                                  BucketRanking ranking, ScoringProfile profile,
+                                                  Map<String, Career> narratives) {
+        List<CareerBucket> buckets = new ArrayList<>(TOP_BUCKETS);
+        for (int bucket : ranking.rankedBuckets(TOP_BUCKETS)) {
+            int[] careers = ranking.topCareers(bucket);
+            double[] scores = ranking.topScores(bucket);
+            List<CareerMatch> matches = new ArrayList<>(CAREERS_PER_BUCKET);
+            for (int i = 0; i < careers.length; i++) {
+                CompiledCareer career = careersByIndex.apply(careers[i]);
+                matches.add(materializeMatch(career, scores[i], profile,
+                    narratives.get(career.getSource().getCareerId())));
             }
-        }
-        
-        List<CareerBucket> buckets = new ArrayList<>();
-        for (Map.Entry<String, List<CareerMatch>> entry : bucketGroups.entrySet()) {
-            List<CareerMatch> matches = entry.getValue();
-            int bucketScore = (int) matches.stream().mapToInt(CareerMatch::getMatchScore).average().orElse(0);
-            
-            CareerBucket bucket = CareerBucket.builder()
-                .bucketName(entry.getKey())
-                .bucketScore(bucketScore)
-                .topCareers(matches.stream().limit(5).collect(Collectors.toList()))
-                .build();
             
-            buckets.add(bucket);
+            buckets.add(CareerBucket.builder()
+                .bucketName(bucketNames.nameOf(bucket))
+                .bucketScore(ranking.bucketScore(bucket))
+                .topCareers(matches)
+                .build());
         }
-        
-        buckets.sort((a, b) -> Integer.compare(b.getBucketScore(), a.getBucketScore()));
         return buckets;
     }
 
+    /**
+     * Read the narrative fields of every career that will be materialized from
+     * the given rankings, in a single batched query. Careers compiled from full
+     * documents (e.g. the column store) already carry them and are skipped.
+     */
+    private Map<String, Career> fetchNarratives(IntFunction<CompiledCareer> careersByIndex, BucketRanking... rankings) {
+        Set<String> careerIds = new LinkedHashSet<>();
+        for (BucketRanking ranking : rankings) {
+            for (int bucket : ranking.rankedBuckets(TOP_BUCKETS)) {
+                for (int career : ranking.topCareers(bucket)) {
+                    Career source = careersByIndex.apply(career).getSource();
+                    if (source.getTop5CollegeCourses() == null && source.getCareerId() != null) {
+                        careerIds.add(source.getCareerId());
+                    }
+                }
+            }
+        }
+        return careerIds.isEmpty() ? Map.of() : careerService.findNarrativeFields(careerIds);
+    }
+
     private String generateSummaryParagraph(TestSubmissionDTO submission, List<CareerBucket> buckets) {
         if (buckets.isEmpty()) {
             return String.format("%s — complete the assessment to get personalized career recommendations.", 
@@ -499,27 +1196,4 @@ public class ScoringService {
                 "We recommend focusing on building relevant skills and gaining practical experience " +
                 "in your top-matched fields.", submission.getUserName(), topBucket);
     }
-
-    private boolean isCareerRelated(String parentCareer, String careerBucket) {
-        // Simple mapping of parent careers to career buckets
-        Map<String, String> careerMapping = Map.of(
-            "IT / Software", "Computer Science & Software Development",
-            "Finance / Banking", "Business Finance & Consulting",
-            "Medicine / Healthcare", "Healthcare & Life Sciences",
-            "Education", "Education & Training",
-            "Creative Arts", "Design Media & Creative Industries"
-        );
-        
-        return careerBucket.equals(careerMapping.get(parentCareer));
-    }
-
-    private double analyzeWorkStyleFit(String workStyle, Career career) {
-        // Simple work style matching
-        if (workStyle.contains("Office") || workStyle.contains("Lab")) {
-            if (career.getBucket().contains("Computer Science") || career.getBucket().contains("Data")) {
-                return 10;
-            }
-        }
-        return 0;
-    }
-}
\ No newline at end of file
+}
@@ -1,18 +1,16 @@
 package com.naviksha.service;
 
+import com.naviksha.dto.CatalogImportResultDTO;
 import com.naviksha.dto.SeedResultDTO;
-import com.naviksha.model.Career;
 import com.naviksha.model.User;
-import com.naviksha.repository.CareerRepository;
 import com.naviksha.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import com.opencsv.CSVReader;
 
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.util.Set;
 
 @Service
@@ -20,9 +18,9 @@ import java.util.Set;
 @Slf4j
 public class SeedService {
     
-    private final CareerRepository careerRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CatalogImportService catalogImportService;
     
     public SeedResultDTO seedDatabase() {
         log.info("Starting database seeding...");
@@ -39,36 +37,11 @@ public class SeedService {
     }
     
     private int seedCareers() {
-        try {
-            ClassPathResource resource = new ClassPathResource("data/career_mappings.csv");
-            CSVReader reader = new CSVReader(new InputStreamReader(resource.getInputStream()));
-            
-            String[] headers = reader.readNext(); // Skip header
-            String[] line;
-            int count = 0;
-            
-            while ((line = reader.readNext()) != null) {
-                Career career = Career.builder()
-                    .careerId(line[0])
-                    .careerName(line[1])
-                    .bucket(line[2])
-                    .riasecProfile(line[3])
-                    .primarySubjects(line[4])
-                    .tags(line[5])
-                    .minQualification(line[6])
-                    .top5CollegeCourses(line[7])
-                    .baseParagraph(line[8])
-                    .microprojects(line[9])
-                    .whyFit(line[10])
-                    .build();
-                
-                if (!careerRepository.findByCareerId(career.getCareerId()).isPresent()) {
-                    careerRepository.save(career);
-                    count++;
-                }
-            }
-            
-            log.info("Imported {} careers", count);
+        try (InputStream input = new ClassPathResource("data/career_mappings.csv").getInputStream()) {
+            // Bulk upsert; careers already seeded with the same content are skipped
+            CatalogImportResultDTO result = catalogImportService.importCsv(input);
+            int count = (int) (result.getInserted() + result.getUpdated());
+            log.info("Imported {} careers ({} unchanged, {} invalid)", count, result.getUnchanged(), result.getInvalid());
             return count;
         } catch (Exception e) {
             log.error("Error seeding careers", e);
@@ -1,23 +1,46 @@
 package com.naviksha.service;
 
 import com.naviksha.model.Career;
+import com.naviksha.scoring.CareerCatalog;
+import com.naviksha.scoring.KeywordAutomaton;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Subjectivity Analysis Service
+ * 
+ * Scores free-text answers against the tag vocabulary in
+ * data/subjectivity_keywords.json: every keyword of a career tag found in the
+ * text is worth 10 points, capped at 100.
+ * 
+ * PERFORMANCE NOTES:
+ * - The vocabulary is compiled once into a KeywordAutomaton (Aho-Corasick)
+ * - countTagHits() scans a text exactly once and returns matched keywords per
+ *   tag; scoring a career is then a lookup over its tags (alignmentScore)
+ */
 @Service
 @Slf4j
 public class SubjectivityAnalysisService {
     
+    private static final double POINTS_PER_KEYWORD = 10.0;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     private Map<String, List<String>> keywords;
     
+    // Compiled vocabulary: distinct lowercase keywords and, per tag, their pattern IDs
+    private KeywordAutomaton automaton;
+    private Map<String, int[]> tagPatterns;
+    
     public SubjectivityAnalysisService() {
         loadKeywords();
+        compileKeywords();
     }
     
     @SuppressWarnings("unchecked")
@@ -31,34 +54,70 @@ public class SubjectivityAnalysisService {
         }
     }
     
+    private void compileKeywords() {
+        Map<String, Integer> patternIds = new HashMap<>();
+        List<String> patterns = new ArrayList<>();
+        tagPatterns = new HashMap<>();
+        
+        for (Map.Entry<String, List<String>> entry : keywords.entrySet()) {
+            // Repeated keywords keep one ID per occurrence so they still count twice
+            int[] ids = entry.getValue().stream()
+                .map(String::toLowerCase)
+                .mapToInt(keyword -> patternIds.computeIfAbsent(keyword, k -> {
+                    patterns.add(k);
+                    return patterns.size() - 1;
+                }))
+                .toArray();
+            tagPatterns.put(entry.getKey(), ids);
+        }
+        automaton = KeywordAutomaton.compile(patterns);
+        log.info("Compiled {} subjectivity keywords for {} tags", patterns.size(), tagPatterns.size());
+    }
+    
+    /**
+     * Scan a free-text answer once and count matched keywords per tag
+     * 
+     * @param text Student's free-text answer
+     * @return Matched keyword count by tag, only tags with at least one match
+     */
+    public Map<String, Integer> countTagHits(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return Map.of();
+        }
+        
+        boolean[] found = automaton.scan(text.toLowerCase());
+        Map<String, Integer> hits = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : tagPatterns.entrySet()) {
+            int count = 0;
+            for (int id : entry.getValue()) {
+                if (found[id]) count++;
+            }
+            if (count > 0) {
+                hits.put(entry.getKey(), count);
+            }
+        }
+        return hits;
+    }
+    
+    /**
+     * Text alignment score (0-100) for a number of matched keywords across a career's tags
+     */
+    public double alignmentScore(int keywordHits) {
+        return Math.min(100.0, keywordHits * POINTS_PER_KEYWORD);
+    }
+    
     public double analyzeTextAlignment(String text, Career career) {
         if (text == null || text.trim().isEmpty()) {
             return 0.0;
         }
         
-        String lowerText = text.toLowerCase();
-        double score = 0.0;
-        int matchCount = 0;
-        
         // Check against career tags and keywords
-        String tags = career.getTags();
-        if (tags != null) {
-            String[] careerTags = tags.replaceAll("[\\[\\]\"]", "").split(",");
-            for (String tag : careerTags) {
-                String cleanTag = tag.trim().toLowerCase();
-                List<String> relatedKeywords = keywords.get(cleanTag);
-                
-                if (relatedKeywords != null) {
-                    for (String keyword : relatedKeywords) {
-                        if (lowerText.contains(keyword.toLowerCase())) {
-                            score += 10.0;
-                            matchCount++;
-                        }
-                    }
-                }
-            }
+        Map<String, Integer> hits = countTagHits(text);
+        int matchCount = 0;
+        for (String tag : CareerCatalog.listOf(career.getTags())) {
+            matchCount += hits.getOrDefault(tag.toLowerCase(), 0);
         }
         
-        return Math.min(100.0, score);
+        return alignmentScore(matchCount);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,275 @@
+package com.naviksha.service;
+
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.model.Report;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Submission Cache Service
+ *
+ * Makes test submission idempotent. Double-clicks and client retries would
+ * otherwise re-run scoring, the AI enhancement call, PDF generation and email.
+ *
+ * HOW IT WORKS:
+ * - Each submission is keyed by a canonical fingerprint (see fingerprint()) or,
+ *   if the client sent one, by its Idempotency-Key header scoped to the user
+ * - The first request for a key runs the pipeline; identical requests that
+ *   arrive while it runs wait for the same result (in-flight registry)
+ * - Completed reports are returned for identical requests within
+ *   scoring.dedup.window-seconds (result cache)
+ * - Failed pipelines are not cached, so a retry after an error recomputes;
+ *   this includes Errors, which would otherwise leave duplicates waiting on
+ *   a result that never arrives
+ * - An Idempotency-Key remembers the content fingerprint it was first used
+ *   with; reusing it with a different submission is rejected
+ *   (IdempotencyKeyReusedException) instead of returning the first report
+ * - A retry under the same Idempotency-Key after a catalog edit, rules reload
+ *   or scoring change is not a reused key: the completed report is replaced
+ *   by a fresh run
+ *
+ * FINGERPRINT:
+ * The content fingerprint is SHA-256 over the user, profile fields, answers
+ * and subject scores sorted by key, extracurriculars and parent careers
+ * sorted, and preferences. The fingerprint adds the scoring model, scoring
+ * rules, question bank and career catalog versions, so a catalog edit, rules
+ * reload or scoring change never serves a stale report.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionCacheService {
+
+    private final ScoringConfig scoringConfig;
+    private final CareerService careerService;
+    private final TestService testService;
+    private final ScoringRulesService scoringRulesService;
+
+    private final Map<String, CachedSubmission> submissions = new ConcurrentHashMap<>();
+
+    /**
+     * Run the submission pipeline once per key
+     *
+     * @param key Fingerprint or idempotency key, see keyFor()
+     * @param pipeline Scores, stores and emails the report
+     * @return The report produced by this call, by an in-flight call, or cached within the window
+     * @throws IdempotencyKeyReusedException if the idempotency key was used for a different submission
+     */
+    public Report submitOnce(SubmissionKey key, Supplier<Report> pipeline) {
+        ScoringConfig.Dedup dedup = scoringConfig.getDedup();
+        if (!dedup.isEnabled()) {
+            return pipeline.get();
+        }
+
+        long now = System.currentTimeMillis();
+        long windowMillis = dedup.getWindowSeconds() * 1000L;
+        if (submissions.size() >= dedup.getMaxEntries()) {
+            evictExpired(now, windowMillis);
+            if (submissions.size() >= dedup.getMaxEntries()) {
+                log.warn("Submission cache full ({} entries), processing {} without deduplication",
+                    submissions.size(), key);
+                return pipeline.get();
+            }
+        }
+
+        CompletableFuture<Report> result = new CompletableFuture<>();
+        CachedSubmission entry = submissions.compute(key.getKey(), (k, existing) ->
+            existing != null && !existing.isExpired(now, windowMillis) && !existing.isOutdated(key)
+                ? existing : new CachedSubmission(result, key, now));
+
+        if (entry.result != result) {
+            if (!entry.contentFingerprint.equals(key.getContentFingerprint())) {
+                throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key was already used for a different submission");
+            }
+            log.info("Duplicate submission {}, returning {} report", key,
+                entry.result.isDone() ? "cached" : "in-flight");
+            try {
+                return entry.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        try {
+            Report report = pipeline.get();
+            result.complete(report);
+            return report;
+        } catch (Throwable e) {
+            // Never cache failures; waiting duplicates see the same error
+            submissions.remove(key.getKey(), entry);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Cache key for a submission: the client's Idempotency-Key if given, else
+     * the fingerprint. Both fingerprints are carried either way so a reused
+     * Idempotency-Key can be told apart from a retry, and a retry from one
+     * made after a version change.
+     */
+    public SubmissionKey keyFor(TestSubmissionDTO submission, String idempotencyKey) {
+        String contentFingerprint = contentFingerprint(submission);
+        String fingerprint = stamp(contentFingerprint);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            return new SubmissionKey("key:" + submission.getUserId() + ":" + idempotencyKey.trim(),
+                contentFingerprint, fingerprint);
+        }
+        return new SubmissionKey("fp:" + fingerprint, contentFingerprint, fingerprint);
+    }
+
+    /**
+     * Canonical, order-independent SHA-256 fingerprint of a submission, stamped
+     * with the scoring model, scoring rules, question bank and catalog versions
+     */
+    public String fingerprint(TestSubmissionDTO submission) {
+        return stamp(contentFingerprint(submission));
+    }
+
+    /**
+     * Canonical, order-independent SHA-256 fingerprint of what the client sent,
+     * independent of any version
+     */
+    public String contentFingerprint(TestSubmissionDTO submission) {
+        StringBuilder canonical = new StringBuilder()
+            .append("user=").append(submission.getUserId())
+            .append("|name=").append(submission.getUserName())
+            .append("|school=").append(submission.getSchoolName())
+            .append("|grade=").append(submission.getGrade())
+            .append("|board=").append(submission.getBoard())
+            .append("|answers=").append(sorted(submission.getAnswers()))
+            .append("|subjects=").append(sorted(submission.getSubjectScores()))
+            .append("|extracurriculars=").append(sorted(submission.getExtracurriculars()))
+            .append("|parents=").append(sorted(submission.getParentCareers()))
+            .append("|abroad=").append(submission.getStudyAbroadPreference())
+            .append("|workStyle=").append(submission.getWorkStylePreference());
+        return sha256(canonical.toString());
+    }
+
+    private String stamp(String contentFingerprint) {
+        return sha256(new StringBuilder()
+            .append("model=").append(ScoringService.SCORING_MODEL_VERSION)
+            .append("|rules=").append(scoringRulesService.getRules().getVersion())
+            .append("|questions=").append(testService.getRiasecAnswerTable().version())
+            .append("|catalog=").append(careerService.getSnapshot().getVersion())
+            .append("|content=").append(contentFingerprint)
+            .toString());
+    }
+
+    private static String sha256(String canonical) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String sorted(Map<String, ?> values) {
+        if (values == null) return "null";
+        StringBuilder out = new StringBuilder("{");
+        for (Map.Entry<String, ?> entry : new TreeMap<>(values).entrySet()) {
+            // Type tag keeps 5 and "5" apart
+            Object value = entry.getValue();
+            out.append(entry.getKey()).append('=')
+                .append(value != null ? value.getClass().getSimpleName() : "null").append(':')
+                .append(value).append(';');
+        }
+        return out.append('}').toString();
+    }
+
+    private static String sorted(List<String> values) {
+        if (values == null) return "null";
+        List<String> copy = new ArrayList<>(values);
+        copy.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        return copy.toString();
+    }
+
+    private void evictExpired(long now, long windowMillis) {
+        submissions.entrySet().removeIf(entry -> entry.getValue().isExpired(now, windowMillis));
+    }
+
+    /**
+     * Cache key of a submission and the fingerprints of its content, without
+     * and with the versions it is scored against
+     */
+    public static final class SubmissionKey {
+        private final String key;
+        private final String contentFingerprint;
+        private final String fingerprint;
+
+        SubmissionKey(String key, String contentFingerprint, String fingerprint) {
+            this.key = key;
+            this.contentFingerprint = contentFingerprint;
+            this.fingerprint = fingerprint;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getContentFingerprint() {
+            return contentFingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+    /**
+     * An Idempotency-Key was reused with a different submission
+     */
+    public static class IdempotencyKeyReusedException extends IllegalStateException {
+        public IdempotencyKeyReusedException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class CachedSubmission {
+        private final CompletableFuture<Report> result;
+        private final String contentFingerprint;
+        private final String fingerprint;
+        private final long createdAt;
+
+        CachedSubmission(CompletableFuture<Report> result, SubmissionKey key, long createdAt) {
+            this.result = result;
+            this.contentFingerprint = key.getContentFingerprint();
+            this.fingerprint = key.getFingerprint();
+            this.createdAt = createdAt;
+        }
+
+        // Same submission, but a version moved since its report was produced.
+        // An in-flight run is still joined rather than started twice.
+        boolean isOutdated(SubmissionKey key) {
+            return result.isDone()
+                && contentFingerprint.equals(key.getContentFingerprint())
+                && !fingerprint.equals(key.getFingerprint());
+        }
+
+        // In-flight submissions never expire; they are removed on failure
+        boolean isExpired(long now, long windowMillis) {
+            return result.isDone() && now - createdAt > windowMillis;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.naviksha.service;
 
 import com.naviksha.model.Test;
+import com.naviksha.scoring.RiasecAnswerTable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
@@ -19,6 +20,9 @@ public class TestService {
     
     private final ObjectMapper objectMapper;
     
+    // Compiled question -> RIASEC weights, built from the question bank once
+    private volatile RiasecAnswerTable riasecAnswerTable;
+    
     public List<Test> getAllTests() {
         return Arrays.asList(
             createVibeMatchTest(),
@@ -34,6 +38,28 @@ public class TestService {
         };
     }
     
+    /**
+     * Question x trait weight table compiled from the vibematch question bank
+     * (vibematch_questions.json riasec_map) on first use
+     */
+    public RiasecAnswerTable getRiasecAnswerTable() {
+        RiasecAnswerTable table = riasecAnswerTable;
+        if (table == null) {
+            Test vibematch = getTestById("vibematch");
+            List<Test.Question> questions = vibematch != null && vibematch.getQuestions() != null
+                ? vibematch.getQuestions() : List.of();
+            table = RiasecAnswerTable.compile(questions);
+            if (table.size() > 0) {
+                // An empty bank means loading failed; retry on the next call
+                riasecAnswerTable = table;
+                log.info("Compiled RIASEC answer table for {} vibematch questions", table.size());
+            } else {
+                log.warn("Vibematch question bank is empty, RIASEC scores will be zero");
+            }
+        }
+        return table;
+    }
+    
     private Test createVibeMatchTest() {
         try {
             ClassPathResource resource = new ClassPathResource("data/vibematch_questions.json");
@@ -0,0 +1,321 @@
+package com.naviksha.service;
+
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.dto.WhatIfRequestDTO;
+import com.naviksha.dto.WhatIfResultDTO;
+import com.naviksha.model.Report;
+import com.naviksha.scoring.BucketRanking;
+import com.naviksha.scoring.CareerCatalog;
+import com.naviksha.scoring.CareerIndex;
+import com.naviksha.scoring.CompiledCareer;
+import com.naviksha.scoring.ComponentScores;
+import com.naviksha.scoring.RiasecVector;
+import com.naviksha.scoring.ScoringProfile;
+import com.naviksha.scoring.ScoringRules;
+import com.naviksha.scoring.TagMask;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * What-If Service
+ *
+ * Lets a student or counselor change one input of a stored report (a subject
+ * mark, an extracurricular, parent careers, work style, study abroad) and see
+ * how the top buckets move, without re-scoring the whole catalog.
+ *
+ * HOW IT WORKS:
+ * - The first query on a report scores it once and keeps every career's four
+ *   component scores (ComponentScores) in a session
+ * - The final score is a weighted sum of separable components, so each change
+ *   only recomputes the component it feeds, and CareerIndex narrows that to
+ *   the careers that reference the changed subject, tags or buckets:
+ *   - subject marks -> subject score of careers listing the subject
+ *   - extracurriculars -> practical score of careers sharing a tag with the activity
+ *   - parent careers, work style, study abroad -> context score of careers in
+ *     buckets whose rule bonus changed, or carrying a tag whose rule bonus changed
+ * - Buckets are then re-ranked from the kept components, a weighted sum per career
+ * - Queries never modify the session, so each one is relative to the report
+ *
+ * Sessions are kept per report (scoring.what-if.max-sessions, least recently
+ * used evicted first) and dropped when the career catalog or scoring rules change. Like the
+ * replay engine, the baseline is the report's stored inputs re-scored: free
+ * text, study abroad and work style are not stored with a report.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WhatIfService {
+
+    private static final int TOP_BUCKETS = 5;
+    private static final int CAREERS_PER_BUCKET = 5;
+
+    private final ReportService reportService;
+    private final CareerService careerService;
+    private final ScoringService scoringService;
+    private final ScoringConfig scoringConfig;
+    private final ScoringRulesService scoringRulesService;
+
+    private final Map<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Top buckets of a report before and after the requested changes
+     *
+     * @return null if the report does not exist or was stored without RIASEC scores
+     */
+    public WhatIfResultDTO whatIf(String reportId, WhatIfRequestDTO request) {
+        Session session = getSession(reportId);
+        if (session == null) {
+            return null;
+        }
+        long started = System.nanoTime();
+
+        TestSubmissionDTO changed = apply(session.submission, request);
+        ScoringProfile profile = scoringService.compileProfile(changed, session.profile.getRiasec(), session.catalog);
+        CareerIndex index = session.catalog.getCareerIndex();
+
+        ComponentScores scores = session.scores;
+        List<String> changedComponents = new ArrayList<>();
+        long recomputed = 0;
+
+        BitSet subjectCareers = subjectCareers(session.profile, profile, index);
+        if (!subjectCareers.isEmpty()) {
+            scores = scores.edit(ComponentScores.SUBJECT);
+            for (int c = subjectCareers.nextSetBit(0); c >= 0; c = subjectCareers.nextSetBit(c + 1)) {
+                scores.set(ComponentScores.SUBJECT, c,
+                    scoringService.subjectMatchScore(session.catalog.getCareers().get(c), profile));
+            }
+            changedComponents.add("subject");
+            recomputed += subjectCareers.cardinality();
+        }
+
+        BitSet practicalCareers = practicalCareers(session, request, index);
+        if (!practicalCareers.isEmpty()) {
+            scores = scores.edit(ComponentScores.PRACTICAL);
+            for (int c = practicalCareers.nextSetBit(0); c >= 0; c = practicalCareers.nextSetBit(c + 1)) {
+                scores.set(ComponentScores.PRACTICAL, c,
+                    scoringService.practicalFitScore(session.catalog.getCareers().get(c), profile));
+            }
+            changedComponents.add("practical");
+            recomputed += practicalCareers.cardinality();
+        }
+
+        BitSet contextCareers = contextCareers(session.profile, profile, index);
+        if (!contextCareers.isEmpty()) {
+            scores = scores.edit(ComponentScores.CONTEXT);
+            for (int c = contextCareers.nextSetBit(0); c >= 0; c = contextCareers.nextSetBit(c + 1)) {
+                scores.set(ComponentScores.CONTEXT, c,
+                    scoringService.contextFitScore(session.catalog.getCareers().get(c), profile));
+            }
+            changedComponents.add("context");
+            recomputed += contextCareers.cardinality();
+        }
+
+        BucketRanking ranking = changedComponents.isEmpty() ? session.ranking
+            : scores.rank(session.catalog, ScoringService.DEFAULT_WEIGHTS, CAREERS_PER_BUCKET);
+
+        return WhatIfResultDTO.builder()
+            .reportId(reportId)
+            .changedComponents(changedComponents)
+            .recomputedScores(recomputed)
+            .catalogSize(session.catalog.size())
+            .elapsedMicros((System.nanoTime() - started) / 1000)
+            .baselineTopCareer(topCareer(session.catalog, session.ranking))
+            .topCareer(topCareer(session.catalog, ranking))
+            .buckets(bucketShifts(session.catalog, session.ranking, ranking))
+            .build();
+    }
+
+    private Session getSession(String reportId) {
+        CareerService.Snapshot snapshot = careerService.getSnapshot();
+        long catalogVersion = snapshot.getVersion();
+        ScoringRules rules = scoringRulesService.getRules();
+        synchronized (sessions) {
+            Session session = sessions.get(reportId);
+            if (session != null && session.catalogVersion == catalogVersion && session.profile.getRules() == rules) {
+                return session;
+            }
+        }
+
+        Report report = reportService.getReport(reportId);
+        if (report == null || report.getReportData() == null || report.getReportData().getVibeScores() == null) {
+            return null;
+        }
+
+        // Scored outside the lock; two racing first queries both score, the last one is kept
+        CareerCatalog catalog = snapshot.getCatalog();
+        TestSubmissionDTO submission = ScoringService.submissionOf(report.getReportData());
+        ScoringProfile profile = scoringService.compileProfile(submission,
+            RiasecVector.fromMap(report.getReportData().getVibeScores()), catalog);
+        ComponentScores scores = scoringService.componentScores(catalog, profile);
+        Session session = new Session(catalogVersion, catalog, submission, profile, scores,
+            scores.rank(catalog, ScoringService.DEFAULT_WEIGHTS, CAREERS_PER_BUCKET));
+
+        synchronized (sessions) {
+            sessions.put(reportId, session);
+            int maxSessions = Math.max(1, scoringConfig.getWhatIf().getMaxSessions());
+            Iterator<String> eldest = sessions.keySet().iterator();
+            while (sessions.size() > maxSessions) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        log.info("Opened what-if session for report {} ({} careers)", reportId, catalog.size());
+        return session;
+    }
+
+    private static TestSubmissionDTO apply(TestSubmissionDTO base, WhatIfRequestDTO request) {
+        Map<String, Integer> subjectScores = new HashMap<>(
+            base.getSubjectScores() != null ? base.getSubjectScores() : Map.of());
+        if (request.getSubjectScores() != null) {
+            subjectScores.putAll(request.getSubjectScores());
+        }
+
+        List<String> extracurriculars = new ArrayList<>(
+            base.getExtracurriculars() != null ? base.getExtracurriculars() : List.of());
+        if (request.getRemoveExtracurriculars() != null) {
+            extracurriculars.removeIf(activity -> request.getRemoveExtracurriculars().stream()
+                .anyMatch(removed -> removed.equalsIgnoreCase(activity)));
+        }
+        if (request.getAddExtracurriculars() != null) {
+            extracurriculars.addAll(request.getAddExtracurriculars());
+        }
+
+        return TestSubmissionDTO.builder()
+            .userName(base.getUserName())
+            .schoolName(base.getSchoolName())
+            .grade(base.getGrade())
+            .board(base.getBoard())
+            .subjectScores(subjectScores)
+            .extracurriculars(extracurriculars)
+            .parentCareers(request.getParentCareers() != null ? request.getParentCareers() : base.getParentCareers())
+            .workStylePreference(request.getWorkStylePreference() != null
+                ? request.getWorkStylePreference() : base.getWorkStylePreference())
+            .studyAbroadPreference(request.getStudyAbroadPreference() != null
+                ? request.getStudyAbroadPreference() : base.getStudyAbroadPreference())
+            .build();
+    }
+
+    // Careers listing a subject whose mark changed
+    private static BitSet subjectCareers(ScoringProfile before, ScoringProfile after, CareerIndex index) {
+        BitSet careers = new BitSet();
+        for (int subjectId = 0; subjectId < after.getSubjectScores().length; subjectId++) {
+            if (before.subjectScore(subjectId) != after.subjectScore(subjectId)) {
+                for (int c : index.careersWithSubject(subjectId)) careers.set(c);
+            }
+        }
+        return careers;
+    }
+
+    // Careers sharing a tag with an added or removed activity
+    private static BitSet practicalCareers(Session session, WhatIfRequestDTO request, CareerIndex index) {
+        List<String> activities = new ArrayList<>();
+        if (request.getAddExtracurriculars() != null) activities.addAll(request.getAddExtracurriculars());
+        if (request.getRemoveExtracurriculars() != null) activities.addAll(request.getRemoveExtracurriculars());
+
+        BitSet careers = new BitSet();
+        for (String activity : activities) {
+            long[] tags = session.catalog.activityMasks(activity).getMatching();
+            for (int tagId = 0; tagId < session.catalog.getTags().size(); tagId++) {
+                if (TagMask.contains(tags, tagId)) {
+                    for (int c : index.careersWithTag(tagId)) careers.set(c);
+                }
+            }
+        }
+        return careers;
+    }
+
+    // Careers in buckets whose context bonus changed, and careers with a tag whose tag bonus changed
+    private static BitSet contextCareers(ScoringProfile before, ScoringProfile after, CareerIndex index) {
+        BitSet careers = new BitSet();
+        for (int b = 0; b < after.getContextBuckets().length; b++) {
+            if (before.getContextBuckets()[b] != after.getContextBuckets()[b]) {
+                for (int c : index.careersInBucket(b)) careers.set(c);
+            }
+        }
+        List<ScoringRules.TagBonus> beforeTags = Arrays.asList(before.getContextTags());
+        List<ScoringRules.TagBonus> afterTags = Arrays.asList(after.getContextTags());
+        for (ScoringRules.TagBonus bonus : beforeTags) {
+            if (!afterTags.contains(bonus)) {
+                for (int c : index.careersWithTag(bonus.getTagId())) careers.set(c);
+            }
+        }
+        for (ScoringRules.TagBonus bonus : afterTags) {
+            if (!beforeTags.contains(bonus)) {
+                for (int c : index.careersWithTag(bonus.getTagId())) careers.set(c);
+            }
+        }
+        return careers;
+    }
+
+    private static String topCareer(CareerCatalog catalog, BucketRanking ranking) {
+        int[] top = ranking.rankedBuckets(1);
+        if (top.length == 0) return null;
+        int[] careers = ranking.topCareers(top[0]);
+        return careers.length > 0 ? catalog.getCareers().get(careers[0]).getCareerName() : null;
+    }
+
+    private static List<WhatIfResultDTO.BucketShift> bucketShifts(CareerCatalog catalog, BucketRanking baseline,
+                                                                 BucketRanking ranking) {
+        int[] baseOrder = baseline.rankedBuckets(TOP_BUCKETS);
+        int[] order = ranking.rankedBuckets(TOP_BUCKETS);
+
+        List<WhatIfResultDTO.BucketShift> shifts = new ArrayList<>();
+        for (int rank = 0; rank < order.length; rank++) {
+            shifts.add(bucketShift(catalog, baseline, ranking, order[rank], rankOf(baseOrder, order[rank]), rank + 1));
+        }
+        for (int rank = 0; rank < baseOrder.length; rank++) {
+            if (rankOf(order, baseOrder[rank]) == null) {
+                shifts.add(bucketShift(catalog, baseline, ranking, baseOrder[rank], rank + 1, null));
+            }
+        }
+        return shifts;
+    }
+
+    private static WhatIfResultDTO.BucketShift bucketShift(CareerCatalog catalog, BucketRanking baseline,
+                                                           BucketRanking ranking, int bucket,
+                                                           Integer baselineRank, Integer rank) {
+        List<String> topCareers = new ArrayList<>();
+        for (int c : ranking.topCareers(bucket)) {
+            CompiledCareer career = catalog.getCareers().get(c);
+            topCareers.add(career.getCareerName());
+        }
+        return WhatIfResultDTO.BucketShift.builder()
+            .bucketName(catalog.getBuckets().nameOf(bucket))
+            .baselineRank(baselineRank)
+            .rank(rank)
+            .baselineScore(baseline.bucketScore(bucket))
+            .score(ranking.bucketScore(bucket))
+            .topCareers(topCareers)
+            .build();
+    }
+
+    private static Integer rankOf(int[] order, int bucket) {
+        for (int rank = 0; rank < order.length; rank++) {
+            if (order[rank] == bucket) return rank + 1;
+        }
+        return null;
+    }
+
+    private static final class Session {
+        private final long catalogVersion;
+        private final CareerCatalog catalog;
+        private final TestSubmissionDTO submission;
+        private final ScoringProfile profile;
+        private final ComponentScores scores;
+        private final BucketRanking ranking;
+
+        Session(long catalogVersion, CareerCatalog catalog, TestSubmissionDTO submission, ScoringProfile profile,
+                ComponentScores scores, BucketRanking ranking) {
+            this.catalogVersion = catalogVersion;
+            this.catalog = catalog;
+            this.submission = submission;
+            this.profile = profile;
+            this.scores = scores;
+            this.ranking = ranking;
+        }
+    }
+}
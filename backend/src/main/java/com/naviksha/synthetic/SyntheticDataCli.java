@@ -0,0 +1,108 @@
+package com.naviksha.synthetic;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naviksha.model.Career;
+import com.naviksha.model.Test;
+import com.naviksha.service.CareerCsv;
+import com.naviksha.service.TestService;
+import com.opencsv.CSVReader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic Data CLI
+ *
+ * Writes a synthetic catalog and cohort to disk without starting Spring.
+ *
+ * USAGE:
+ * mvn -q compile exec:java -Dexec.mainClass=com.naviksha.synthetic.SyntheticDataCli \
+ *     -Dexec.args="--careers=100000 --students=1000000 --seed=42 --out=target/synthetic"
+ *
+ * OPTIONS (all optional):
+ * --careers=N     Careers to generate (default 10000)
+ * --students=N    Submissions to generate (default 10000)
+ * --seed=N        Random seed (default 42)
+ * --out=DIR       Output directory (default target/synthetic)
+ * --format=F      Career format: csv, ndjson or both (default both)
+ *
+ * OUTPUT:
+ * careers.csv / careers.ndjson and submissions.ndjson in the output directory
+ */
+public final class SyntheticDataCli {
+
+    private SyntheticDataCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        long careers = Long.parseLong(options.getOrDefault("careers", "10000"));
+        long students = Long.parseLong(options.getOrDefault("students", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Path out = Path.of(options.getOrDefault("out", "target/synthetic"));
+        String format = options.getOrDefault("format", "both");
+
+        SyntheticDataGenerator generator = fromClasspath(seed);
+        Files.createDirectories(out);
+        if (format.equals("csv") || format.equals("both")) {
+            try (Writer writer = open(out.resolve("careers.csv"))) {
+                generator.writeCareersCsv(writer, careers);
+            }
+        }
+        if (format.equals("ndjson") || format.equals("both")) {
+            try (Writer writer = open(out.resolve("careers.ndjson"))) {
+                generator.writeCareersNdjson(writer, careers);
+            }
+        }
+        try (Writer writer = open(out.resolve("submissions.ndjson"))) {
+            generator.writeSubmissionsNdjson(writer, students);
+        }
+        System.out.printf("Wrote %d careers and %d submissions (seed %d) to %s%n", careers, students, seed, out);
+    }
+
+    /**
+     * Generator using the bundled career_mappings.csv, vibematch questions and subjectivity keywords
+     */
+    public static SyntheticDataGenerator fromClasspath(long seed) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<Career> templates = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new InputStreamReader(
+                new ClassPathResource("data/career_mappings.csv").getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readNext(); // Skip header
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                templates.add(CareerCsv.fromRow(line));
+            }
+        }
+
+        Test vibematch = new TestService(objectMapper).getTestById("vibematch");
+
+        Map<String, List<String>> keywords;
+        try (InputStream in = new ClassPathResource("data/subjectivity_keywords.json").getInputStream()) {
+            keywords = objectMapper.readValue(in, new TypeReference<Map<String, List<String>>>() {});
+        }
+
+        return new SyntheticDataGenerator(seed, templates, vibematch.getQuestions(), keywords);
+    }
+
+    private static Writer open(Path file) throws Exception {
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+}
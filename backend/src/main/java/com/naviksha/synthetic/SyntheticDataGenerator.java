@@ -0,0 +1,386 @@
+package com.naviksha.synthetic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.model.Career;
+import com.naviksha.model.Test;
+import com.naviksha.scoring.CareerCatalog;
+import com.naviksha.scoring.RiasecVector;
+import com.naviksha.service.CareerCsv;
+import com.opencsv.CSVWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Synthetic Data Generator
+ *
+ * Deterministic, seedable generator of large career catalogs and student
+ * cohorts for scale testing, benchmarks and load tests.
+ *
+ * HOW IT WORKS:
+ * - Careers are variations of a template catalog (normally career_mappings.csv):
+ *   a template is picked, its RIASEC code drifts to a neighbouring trait on
+ *   the Holland hexagon, and subjects and tags are swapped with ones seen in
+ *   the same bucket. Bucket, RIASEC, subject and tag distributions therefore
+ *   follow the real catalog.
+ * - Students get a dominant and a secondary RIASEC trait; Likert answers,
+ *   subject marks (higher in subjects of careers sharing the dominant trait),
+ *   extracurriculars and free text follow that archetype, with noise.
+ * - Record i is generated from its own random stream derived from (seed, i),
+ *   so output is identical across runs, any record can be produced on its
+ *   own, and streams never hold more than one record in memory.
+ *
+ * OUTPUT:
+ * - Careers as CSV (career_mappings.csv layout, readable by SeedService) or NDJSON
+ * - Submissions as NDJSON, one TestSubmissionDTO per line
+ */
+public final class SyntheticDataGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    // Separate stream families so careers[i] and students[i] are unrelated
+    private static final long CAREER_STREAM = 0x43415245L;
+    private static final long STUDENT_STREAM = 0x53545544L;
+
+    private static final String[] SPECIALIZATIONS = {
+        "Applied", "Associate", "Senior", "Research", "Clinical", "Digital", "Field",
+        "Industrial", "Lead", "Junior", "Regional", "Technical", "Strategic", "Assistant"
+    };
+    private static final String[] BOARDS = {"CBSE", "ICSE", "State Board", "Others"};
+    private static final String[] WORK_STYLES = {
+        "Office / Lab work", "Field work / On-site", "Remote / Flexible", "Hybrid", "Depends on role"
+    };
+    private static final String[] PARENT_CAREERS = {
+        "IT / Software", "Finance / Banking", "Medicine / Healthcare", "Business / Trade",
+        "Government / Bureaucracy", "Education", "Creative Arts", "Skilled Trade", "Agriculture"
+    };
+    // Extracurriculars students with each dominant trait gravitate to, in RIASEC order
+    private static final String[][] TRAIT_ACTIVITIES = {
+        {"Sports", "Robotics / Coding"},
+        {"Robotics / Coding", "Debate / MUN"},
+        {"Music / Singing", "Dance", "Theatre / Drama", "Painting / Art"},
+        {"Community Service", "Debate / MUN", "Sports"},
+        {"Entrepreneurship Club", "Debate / MUN", "Internships"},
+        {"Internships", "Entrepreneurship Club"}
+    };
+    private static final String[] ALL_ACTIVITIES = {
+        "Sports", "Music / Singing", "Dance", "Theatre / Drama", "Debate / MUN", "Robotics / Coding",
+        "Painting / Art", "Community Service", "Entrepreneurship Club", "Internships"
+    };
+    private static final String[] TEXT_TEMPLATES = {
+        "I really enjoy when I get to %s and %s with my friends.",
+        "In school I liked projects where we could %s, and I want to %s more.",
+        "My favourite weekends are spent trying to %s or %s something new."
+    };
+
+    private final long seed;
+    private final List<Career> templates;
+    private final List<Test.Question> likertQuestions;
+    private final String subjectiveQuestionId;
+    private final List<List<String>> keywords;
+
+    // Derived from the templates
+    private final Map<String, List<String>> bucketSubjects = new HashMap<>();
+    private final Map<String, List<String>> bucketTags = new HashMap<>();
+    private final List<List<String>> traitSubjects = new ArrayList<>();
+    private final List<String> allSubjects;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param seed Same seed, same inputs, same output
+     * @param templates Catalog to derive careers from, e.g. career_mappings.csv
+     * @param vibematchQuestions Question bank; Likert questions are answered by archetype,
+     *                           the first subjective question gets free text
+     * @param subjectivityKeywords Tag to keyword vocabulary used for free text
+     */
+    public SyntheticDataGenerator(long seed, List<Career> templates, List<Test.Question> vibematchQuestions,
+                                  Map<String, List<String>> subjectivityKeywords) {
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("At least one template career is required");
+        }
+        this.seed = seed;
+        this.templates = List.copyOf(templates);
+        this.likertQuestions = vibematchQuestions.stream()
+            .filter(question -> question.getRiasecMap() != null && !question.getRiasecMap().isEmpty())
+            .collect(Collectors.toList());
+        this.subjectiveQuestionId = vibematchQuestions.stream()
+            .filter(question -> "subjective".equals(question.getType()))
+            .map(Test.Question::getId)
+            .findFirst()
+            .orElse(null);
+        this.keywords = new ArrayList<>(new TreeMap<>(subjectivityKeywords).values());
+
+        Set<String> subjects = new TreeSet<>();
+        for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+            traitSubjects.add(new ArrayList<>());
+        }
+        for (Career career : this.templates) {
+            List<String> careerSubjects = CareerCatalog.listOf(career.getPrimarySubjects());
+            addAllDistinct(bucketSubjects.computeIfAbsent(career.getBucket(), k -> new ArrayList<>()), careerSubjects);
+            addAllDistinct(bucketTags.computeIfAbsent(career.getBucket(), k -> new ArrayList<>()),
+                CareerCatalog.listOf(career.getTags()));
+            subjects.addAll(careerSubjects);
+            String profile = career.getRiasecProfile() != null ? career.getRiasecProfile() : "";
+            for (char code : profile.toCharArray()) {
+                int trait = RiasecVector.TRAITS.indexOf(code);
+                if (trait >= 0) {
+                    addAllDistinct(traitSubjects.get(trait), careerSubjects);
+                }
+            }
+        }
+        subjects.remove("Any"); // Catalog wildcard, not a subject a student is marked in
+        subjects.add("English");
+        this.allSubjects = new ArrayList<>(subjects);
+    }
+
+    private static void addAllDistinct(List<String> target, List<String> values) {
+        for (String value : values) {
+            if (!target.contains(value)) target.add(value);
+        }
+    }
+
+    // Careers
+
+    /**
+     * Lazily generated catalog of the given size
+     */
+    public Stream<Career> careers(long count) {
+        return LongStream.range(0, count).mapToObj(this::career);
+    }
+
+    /**
+     * The index-th career of the catalog
+     */
+    public Career career(long index) {
+        SplittableRandom random = randomFor(CAREER_STREAM, index);
+        Career template = templates.get(random.nextInt(templates.size()));
+        String bucket = template.getBucket();
+
+        List<String> subjects = new ArrayList<>(CareerCatalog.listOf(template.getPrimarySubjects()));
+        vary(subjects, bucketSubjects.getOrDefault(bucket, List.of()), random, 0.3, 0.2);
+        List<String> tags = new ArrayList<>(CareerCatalog.listOf(template.getTags()));
+        vary(tags, bucketTags.getOrDefault(bucket, List.of()), random, 0.5, 0.2);
+
+        return Career.builder()
+            .careerId(String.format("syn-%07d", index + 1))
+            .careerName(SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)] + " "
+                + template.getCareerName() + " " + (index + 1))
+            .bucket(bucket)
+            .riasecProfile(driftRiasec(template.getRiasecProfile(), random))
+            .primarySubjects(subjects)
+            .tags(tags)
+            .minQualification(template.getMinQualification())
+            .top5CollegeCourses(template.getTop5CollegeCourses())
+            .baseParagraph(template.getBaseParagraph())
+            .microprojects(template.getMicroprojects())
+            .whyFit(template.getWhyFit())
+            .build();
+    }
+
+    /**
+     * Occasionally add a value from the pool or drop one, never emptying the list
+     */
+    private static void vary(List<String> values, List<String> pool, SplittableRandom random,
+                             double addChance, double dropChance) {
+        if (!pool.isEmpty() && random.nextDouble() < addChance) {
+            String extra = pool.get(random.nextInt(pool.size()));
+            if (!values.contains(extra)) values.add(extra);
+        }
+        if (values.size() > 1 && random.nextDouble() < dropChance) {
+            values.remove(random.nextInt(values.size()));
+        }
+    }
+
+    /**
+     * Add a neighbouring trait on the Holland hexagon (R-I-A-S-E-C) or drop one
+     */
+    private static String driftRiasec(String profile, SplittableRandom random) {
+        boolean[] traits = new boolean[RiasecVector.SIZE];
+        int count = 0;
+        if (profile != null) {
+            for (char code : profile.toCharArray()) {
+                int trait = RiasecVector.TRAITS.indexOf(code);
+                if (trait >= 0 && !traits[trait]) {
+                    traits[trait] = true;
+                    count++;
+                }
+            }
+        }
+        if (count == 0) {
+            traits[random.nextInt(RiasecVector.SIZE)] = true;
+            count = 1;
+        }
+
+        double roll = random.nextDouble();
+        if (roll < 0.3 && count < 3) {
+            int anchor = nthSet(traits, random.nextInt(count));
+            traits[neighbour(anchor, random)] = true;
+        } else if (roll > 0.85 && count > 1) {
+            traits[nthSet(traits, random.nextInt(count))] = false;
+        }
+
+        StringBuilder code = new StringBuilder();
+        for (int trait = 0; trait < RiasecVector.SIZE; trait++) {
+            if (traits[trait]) code.append(RiasecVector.TRAITS.charAt(trait));
+        }
+        return code.toString();
+    }
+
+    private static int nthSet(boolean[] traits, int n) {
+        for (int trait = 0; trait < traits.length; trait++) {
+            if (traits[trait] && n-- == 0) return trait;
+        }
+        throw new IllegalStateException("No trait " + n);
+    }
+
+    private static int neighbour(int trait, SplittableRandom random) {
+        return (trait + (random.nextBoolean() ? 1 : RiasecVector.SIZE - 1)) % RiasecVector.SIZE;
+    }
+
+    // Students
+
+    /**
+     * Lazily generated cohort of the given size
+     */
+    public Stream<TestSubmissionDTO> submissions(long count) {
+        return LongStream.range(0, count).mapToObj(this::submission);
+    }
+
+    /**
+     * The index-th student of the cohort
+     */
+    public TestSubmissionDTO submission(long index) {
+        SplittableRandom random = randomFor(STUDENT_STREAM, index);
+        int dominant = random.nextInt(RiasecVector.SIZE);
+        int secondary = random.nextDouble() < 0.6 ? neighbour(dominant, random)
+            : (dominant + 1 + random.nextInt(RiasecVector.SIZE - 1)) % RiasecVector.SIZE;
+
+        // Likert answers: high for the archetype's traits, low otherwise; a few left unanswered
+        Map<String, Object> answers = new LinkedHashMap<>();
+        for (Test.Question question : likertQuestions) {
+            if (random.nextDouble() < 0.05) continue;
+            int trait = RiasecVector.indexOf(question.getRiasecMap().keySet().iterator().next());
+            double mean = trait == dominant ? 4.3 : trait == secondary ? 3.6 : 2.3;
+            answers.put(question.getId(), (int) clamp(Math.round(mean + gaussian(random) * 0.8), 1, 5));
+        }
+        if (subjectiveQuestionId != null && !keywords.isEmpty() && random.nextDouble() < 0.7) {
+            answers.put(subjectiveQuestionId, freeText(random));
+        }
+
+        // Subject marks: general ability plus a bonus in subjects linked to the dominant trait
+        double ability = 68 + gaussian(random) * 12;
+        List<String> favoured = traitSubjects.get(dominant);
+        Map<String, Integer> subjectScores = new LinkedHashMap<>();
+        int subjectCount = Math.min(allSubjects.size(), 4 + random.nextInt(4));
+        for (String subject : pick(allSubjects, subjectCount, random)) {
+            double bonus = favoured.contains(subject) ? 7 : 0;
+            subjectScores.put(subject, (int) clamp(Math.round(ability + bonus + gaussian(random) * 8), 30, 100));
+        }
+
+        List<String> extracurriculars = new ArrayList<>();
+        int activities = random.nextInt(4);
+        for (int a = 0; a < activities; a++) {
+            String[] pool = random.nextDouble() < 0.7 ? TRAIT_ACTIVITIES[dominant] : ALL_ACTIVITIES;
+            String activity = pool[random.nextInt(pool.length)];
+            if (!extracurriculars.contains(activity)) extracurriculars.add(activity);
+        }
+
+        return TestSubmissionDTO.builder()
+            .userId(String.format("syn-user-%07d", index + 1))
+            .userName(String.format("Student %07d", index + 1))
+            .schoolName("Synthetic School " + (random.nextInt(200) + 1))
+            .grade(8 + random.nextInt(5))
+            .board(BOARDS[random.nextInt(BOARDS.length)])
+            .answers(answers)
+            .subjectScores(subjectScores)
+            .extracurriculars(extracurriculars)
+            .parentCareers(pick(Arrays.asList(PARENT_CAREERS), 1 + random.nextInt(2), random))
+            .studyAbroadPreference(random.nextDouble() < 0.35)
+            .workStylePreference(WORK_STYLES[random.nextInt(WORK_STYLES.length)])
+            .build();
+    }
+
+    private String freeText(SplittableRandom random) {
+        List<String> first = keywords.get(random.nextInt(keywords.size()));
+        List<String> second = keywords.get(random.nextInt(keywords.size()));
+        String template = TEXT_TEMPLATES[random.nextInt(TEXT_TEMPLATES.length)];
+        return String.format(template, first.get(random.nextInt(first.size())),
+            second.get(random.nextInt(second.size())));
+    }
+
+    /**
+     * count distinct values from the list, in list order
+     */
+    private static List<String> pick(List<String> values, int count, SplittableRandom random) {
+        boolean[] chosen = new boolean[values.size()];
+        int remaining = Math.min(count, values.size());
+        while (remaining > 0) {
+            int i = random.nextInt(values.size());
+            if (!chosen[i]) {
+                chosen[i] = true;
+                remaining--;
+            }
+        }
+        List<String> picked = new ArrayList<>(count);
+        for (int i = 0; i < values.size(); i++) {
+            if (chosen[i]) picked.add(values.get(i));
+        }
+        return picked;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private SplittableRandom randomFor(long stream, long index) {
+        return new SplittableRandom(seed ^ stream * GOLDEN_GAMMA ^ (index + 1) * GOLDEN_GAMMA * GOLDEN_GAMMA);
+    }
+
+    // Writers
+
+    /**
+     * Stream count careers to CSV in the career_mappings.csv layout
+     */
+    public void writeCareersCsv(Writer out, long count) throws IOException {
+        CSVWriter writer = new CSVWriter(out);
+        writer.writeNext(CareerCsv.HEADER, false);
+        Iterator<Career> careers = careers(count).iterator();
+        while (careers.hasNext()) {
+            writer.writeNext(CareerCsv.toRow(careers.next()));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Stream count careers as NDJSON, one Career per line
+     */
+    public void writeCareersNdjson(Writer out, long count) throws IOException {
+        writeNdjson(out, careers(count).iterator());
+    }
+
+    /**
+     * Stream count submissions as NDJSON, one TestSubmissionDTO per line
+     */
+    public void writeSubmissionsNdjson(Writer out, long count) throws IOException {
+        writeNdjson(out, submissions(count).iterator());
+    }
+
+    private void writeNdjson(Writer out, Iterator<?> records) throws IOException {
+        while (records.hasNext()) {
+            out.write(objectMapper.writeValueAsString(records.next()));
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
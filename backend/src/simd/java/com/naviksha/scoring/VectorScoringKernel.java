@@ -0,0 +1,41 @@
+package com.naviksha.scoring;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector Scoring Kernel
+ *
+ * SIMD implementation on the JDK Vector API. Processes one hardware vector of
+ * careers per iteration and finishes the tail with a scalar loop. Compiled
+ * only by the simd Maven profile and loaded by name when the
+ * jdk.incubator.vector module is present - see {@link ScoringKernel#best()}.
+ *
+ * Multiply and add are kept as separate operations (no fused multiply-add) so
+ * results are bit-identical to {@link ScalarScoringKernel}.
+ */
+final class VectorScoringKernel implements ScoringKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void accumulate(float weight, float[] column, int offset, float[] acc, int length) {
+        FloatVector w = FloatVector.broadcast(SPECIES, weight);
+        int upper = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            FloatVector.fromArray(SPECIES, column, offset + i)
+                .mul(w)
+                .add(FloatVector.fromArray(SPECIES, acc, i))
+                .intoArray(acc, i);
+        }
+        for (; i < length; i++) {
+            acc[i] += weight * column[offset + i];
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x" + Float.SIZE;
+    }
+}
@@ -0,0 +1,114 @@
+package com.naviksha.scoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for ArchetypeCache
+ *
+ * TEST CASES:
+ * - Profiles within one RIASEC step and subject band share an archetype key
+ * - A catalog version change drops every entry and counts one invalidation
+ * - The cache never holds more than maxEntries, evicting least recently used
+ * - Lookups are counted as hits, partial hits and misses
+ *
+ * Reports scored through the cache are compared to uncached scoring in
+ * ScoringServiceTests.
+ */
+class ArchetypeCacheTests {
+
+    @Test
+    @DisplayName("Near-identical profiles share an archetype key")
+    void testKeyQuantizesProfile() {
+        ArchetypeCache cache = new ArchetypeCache(100, 10, 10);
+
+        // Given: RIASEC within one step and marks within one band of each other
+        long key = cache.keyOf(profile(RiasecVector.of(12, 41, 20, 8, 9, 10), 81, 70));
+        long near = cache.keyOf(profile(RiasecVector.of(14, 44, 18, 8, 9, 7), 88, 74));
+
+        // Then: same archetype; another step, band or a missing subject is a different one
+        assertEquals(key, near);
+        assertNotEquals(key, cache.keyOf(profile(RiasecVector.of(12, 56, 20, 8, 9, 10), 81, 70)));
+        assertNotEquals(key, cache.keyOf(profile(RiasecVector.of(12, 41, 20, 8, 9, 10), 91, 70)));
+        assertNotEquals(key, cache.keyOf(profile(RiasecVector.of(12, 41, 20, 8, 9, 10), 81, ScoringProfile.NO_SCORE)));
+    }
+
+    @Test
+    @DisplayName("A catalog version change drops every archetype")
+    void testSyncCatalogVersionInvalidates() {
+        ArchetypeCache cache = new ArchetypeCache(100, 10, 10);
+        cache.syncCatalogVersion(1);
+        cache.put(1L, new int[] { 0, 1 });
+        cache.put(2L, new int[] { 2 });
+
+        // When: the same version is synced again, entries survive
+        cache.syncCatalogVersion(1);
+        assertArrayEquals(new int[] { 0, 1 }, cache.get(1L));
+        assertEquals(0L, cache.stats().get("invalidations"));
+
+        // When: the version changes, everything is dropped in one invalidation
+        cache.syncCatalogVersion(2);
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals(0, cache.stats().get("entries"));
+        assertEquals(1L, cache.stats().get("invalidations"));
+
+        // And: changing version again with nothing cached is not an invalidation
+        cache.syncCatalogVersion(3);
+        assertEquals(1L, cache.stats().get("invalidations"));
+    }
+
+    @Test
+    @DisplayName("The cache is bounded and evicts the least recently used archetype")
+    void testLruBound() {
+        ArchetypeCache cache = new ArchetypeCache(3, 10, 10);
+        cache.put(1L, new int[] { 1 });
+        cache.put(2L, new int[] { 2 });
+        cache.put(3L, new int[] { 3 });
+        cache.get(1L);
+
+        // When: two more archetypes are recorded
+        cache.put(4L, new int[] { 4 });
+        cache.put(5L, new int[] { 5 });
+
+        // Then: the two least recently used are gone and the bound holds
+        assertNull(cache.get(2L));
+        assertNull(cache.get(3L));
+        assertArrayEquals(new int[] { 1 }, cache.get(1L));
+        assertArrayEquals(new int[] { 5 }, cache.get(5L));
+        assertEquals(3, cache.stats().get("entries"));
+        assertEquals(2L, cache.stats().get("evictions"));
+    }
+
+    @Test
+    @DisplayName("Lookups are counted as hits, partial hits and misses")
+    void testLookupCounters() {
+        ArchetypeCache cache = new ArchetypeCache(100, 10, 10);
+        cache.recordLookup(false, false);
+        cache.recordLookup(true, true);
+        cache.recordLookup(true, true);
+        cache.recordLookup(true, false);
+
+        Map<String, Object> stats = cache.stats();
+        assertEquals(4L, stats.get("lookups"));
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(1L, stats.get("partialHits"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(0.5, stats.get("hitRate"));
+    }
+
+    private static ScoringProfile profile(RiasecVector riasec, int... subjectScores) {
+        return ScoringProfile.builder()
+            .riasec(riasec)
+            .subjectScores(subjectScores)
+            .activityTagMasks(new long[][] { { 0b101L } })
+            .keywordTagMask(new long[] { 0b10L })
+            .contextBuckets(new double[] { 0, 5 })
+            .contextTags(new ScoringRules.TagBonus[0])
+            .build();
+    }
+}
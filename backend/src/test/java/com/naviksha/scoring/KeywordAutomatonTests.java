@@ -0,0 +1,161 @@
+package com.naviksha.scoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for KeywordAutomaton
+ *
+ * TEST CASES:
+ * - Overlapping patterns (he, she, hers, his) are all found in one pass
+ * - Patterns that are prefixes or suffixes of others are found on their own
+ *   and inside the longer pattern
+ * - A repeated pattern reports both of its IDs
+ * - Mixed-case keywords and texts, lowercased as callers do, give the same
+ *   per-tag hit counts as the String.contains loop the automaton replaced
+ * - Random vocabularies and texts over a small alphabet always agree with
+ *   String.contains
+ */
+class KeywordAutomatonTests {
+
+    @Test
+    @DisplayName("Overlapping patterns are all found")
+    void testOverlappingPatterns() {
+        List<String> patterns = List.of("he", "she", "hers", "his", "her");
+        KeywordAutomaton automaton = KeywordAutomaton.compile(patterns);
+
+        assertArrayEquals(new boolean[] { true, true, true, false, true }, automaton.scan("ushers"));
+        assertArrayEquals(new boolean[] { true, false, false, true, false }, automaton.scan("this hexagon"));
+        assertArrayEquals(new boolean[5], automaton.scan("xyz"));
+        assertArrayEquals(new boolean[5], automaton.scan(""));
+        assertSameAsContains(patterns, "ushers", "this hexagon", "she sells his hers", "hhhhe");
+    }
+
+    @Test
+    @DisplayName("Prefix and suffix patterns are found on their own and inside longer ones")
+    void testPrefixAndSuffixPatterns() {
+        List<String> patterns = List.of("data", "database", "base", "start", "startup", "up", "ai");
+
+        assertSameAsContains(patterns,
+            "i built a database",
+            "base jumping",
+            "my startup used data",
+            "the start of a paint job",
+            "dat abase",
+            "startu");
+        assertArrayEquals(new boolean[] { true, true, true, false, false, false, false },
+            KeywordAutomaton.compile(patterns).scan("database"));
+    }
+
+    @Test
+    @DisplayName("A repeated pattern reports every occurrence ID")
+    void testDuplicatePatterns() {
+        List<String> patterns = List.of("experiment", "lab", "experiment", "robot", "robot");
+        KeywordAutomaton automaton = KeywordAutomaton.compile(patterns);
+
+        assertEquals(5, automaton.patternCount());
+        assertArrayEquals(new boolean[] { true, false, true, false, false }, automaton.scan("an experiment"));
+        assertArrayEquals(new boolean[] { false, true, false, true, true }, automaton.scan("robot lab"));
+    }
+
+    @Test
+    @DisplayName("Hit counts per tag match the String.contains loop, whatever the case")
+    void testTagHitCountsMatchContainsLoop() {
+        // Given: a vocabulary with mixed case, overlaps and a keyword listed under two tags
+        Map<String, List<String>> vocabulary = new LinkedHashMap<>();
+        vocabulary.put("tech", List.of("Code", "database", "AI", "robot", "App"));
+        vocabulary.put("research", List.of("data", "Experiment", "lab", "experiment", "Test"));
+        vocabulary.put("hands_on", List.of("build", "Robot", "fix", "craft"));
+        List<String> texts = List.of(
+            "I Built A ROBOT and coded an app with a DataBase",
+            "Lab experiments on paint drying; I wrote the test plan",
+            "Crafting, fixing, building!",
+            "nothing relevant here",
+            "");
+
+        // When: keywords are compiled as SubjectivityAnalysisService does, one ID per distinct lowercase keyword
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> patterns = new ArrayList<>();
+        Map<String, int[]> tagPatterns = new LinkedHashMap<>();
+        vocabulary.forEach((tag, keywords) -> tagPatterns.put(tag, keywords.stream()
+            .map(String::toLowerCase)
+            .mapToInt(keyword -> ids.computeIfAbsent(keyword, k -> {
+                patterns.add(k);
+                return patterns.size() - 1;
+            }))
+            .toArray()));
+        KeywordAutomaton automaton = KeywordAutomaton.compile(patterns);
+
+        // Then: every tag counts the same keywords as the contains loop
+        for (String text : texts) {
+            boolean[] found = automaton.scan(text.toLowerCase());
+            for (Map.Entry<String, List<String>> tag : vocabulary.entrySet()) {
+                int hits = 0;
+                for (int id : tagPatterns.get(tag.getKey())) {
+                    if (found[id]) hits++;
+                }
+                assertEquals(containsHits(text, tag.getValue()), hits, tag.getKey() + " in \"" + text + "\"");
+            }
+        }
+        // And: the repeated keyword counts twice
+        assertEquals(3, containsHits("Lab experiments", vocabulary.get("research")));
+    }
+
+    @Test
+    @DisplayName("Random patterns and texts agree with String.contains")
+    void testRandomPatternsMatchContains() {
+        // Given: a three-letter alphabet, so patterns overlap and nest constantly
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            int count = 1 + random.nextInt(12);
+            for (int p = 0; p < count; p++) {
+                patterns.add(randomText(random, 1 + random.nextInt(5)));
+            }
+            String[] texts = new String[5];
+            for (int t = 0; t < texts.length; t++) {
+                texts[t] = randomText(random, random.nextInt(30));
+            }
+
+            // Then
+            assertSameAsContains(patterns, texts);
+        }
+    }
+
+    private static void assertSameAsContains(List<String> patterns, String... texts) {
+        KeywordAutomaton automaton = KeywordAutomaton.compile(patterns);
+        for (String text : texts) {
+            boolean[] found = automaton.scan(text);
+            for (int p = 0; p < patterns.size(); p++) {
+                assertEquals(text.contains(patterns.get(p)), found[p],
+                    "\"" + patterns.get(p) + "\" in \"" + text + "\"");
+            }
+        }
+    }
+
+    /**
+     * The per-keyword loop SubjectivityAnalysisService used before the automaton
+     */
+    private static int containsHits(String text, List<String> keywords) {
+        String lowerText = text.toLowerCase();
+        int hits = 0;
+        for (String keyword : keywords) {
+            if (lowerText.contains(keyword.toLowerCase())) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.naviksha.scoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for RankingShift
+ *
+ * TEST CASES:
+ * - Every metric over a small cohort, checked against values worked out by hand
+ * - An identical candidate moves nothing
+ * - No rankings, or an empty baseline, leaves every rate at zero
+ *
+ * TEST DATA:
+ * Four buckets, one career per bucket (career = bucket) unless noted, and
+ * churn and displacement over the top 2 buckets.
+ */
+class RankingShiftTests {
+
+    private static final int BUCKETS = 4;
+    private static final int TOP = 2;
+
+    @Test
+    @DisplayName("Metrics match a hand-computed cohort")
+    void testHandComputedMetrics() {
+        RankingShift shift = new RankingShift(BUCKETS, TOP);
+
+        // Student 1: unchanged. Nothing moves.
+        shift.record(ranking(90, 80, 70, 60), ranking(90, 80, 70, 60));
+
+        // Student 2: bucket 0 stays first (both average 85) but career 4 overtakes career 0;
+        // bucket 1 falls from rank 1 to rank 3. Headline changes, churn 1/2, displacement 0 + 2
+        BucketRanking baseline = ranking(90, 80, 70, 60);
+        baseline.add(0, 4, 80);
+        BucketRanking candidate = new BucketRanking(BUCKETS, 5);
+        candidate.add(0, 0, 80);
+        candidate.add(0, 4, 90);
+        candidate.add(1, 1, 60);
+        candidate.add(2, 2, 70);
+        candidate.add(3, 3, 80);
+        shift.record(baseline, candidate);
+
+        // Student 3: buckets 0 and 1 swap. Top bucket and headline change, churn 0, displacement 1 + 1
+        shift.record(ranking(90, 80, 70, 60), ranking(80, 90, 70, 60));
+
+        // Student 4: bucket 1 has no careers in the candidate, so it ranks last (rank 2 of 2).
+        // Churn 1/2, displacement 0 + 1
+        candidate = new BucketRanking(BUCKETS, 5);
+        candidate.add(0, 0, 90);
+        candidate.add(2, 2, 70);
+        shift.record(ranking(90, 80, 70, 60), candidate);
+
+        // Then: 2 of 4 headlines, 1 of 4 top buckets, churn (0 + 1/2 + 0 + 1/2) / 4,
+        // displacement (0 + 2 + 2 + 1) over 4 x 2 buckets
+        assertEquals(4, shift.getRankings());
+        assertEquals(0.5, shift.top1ChangeRate(), 1e-12);
+        assertEquals(0.25, shift.topBucketChangeRate(), 1e-12);
+        assertEquals(0.25, shift.bucketChurn(), 1e-12);
+        assertEquals(0.625, shift.meanRankDisplacement(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("An identical candidate ranking has no shift")
+    void testIdenticalRankingHasNoShift() {
+        RankingShift shift = new RankingShift(BUCKETS, TOP);
+        for (int student = 0; student < 3; student++) {
+            shift.record(ranking(60 + student, 70, 80, 50), ranking(60 + student, 70, 80, 50));
+        }
+
+        assertEquals(3, shift.getRankings());
+        assertEquals(0.0, shift.top1ChangeRate());
+        assertEquals(0.0, shift.topBucketChangeRate());
+        assertEquals(0.0, shift.bucketChurn());
+        assertEquals(0.0, shift.meanRankDisplacement());
+    }
+
+    @Test
+    @DisplayName("No rankings or an empty baseline leaves every rate at zero")
+    void testEmpty() {
+        RankingShift shift = new RankingShift(BUCKETS, TOP);
+        assertEquals(0.0, shift.top1ChangeRate());
+        assertEquals(0.0, shift.meanRankDisplacement());
+
+        // When: the baseline has no scored careers, the student is counted but nothing is compared
+        shift.record(new BucketRanking(BUCKETS, 5), ranking(90, 80, 70, 60));
+
+        assertEquals(1, shift.getRankings());
+        assertEquals(0.0, shift.top1ChangeRate());
+        assertEquals(0.0, shift.topBucketChangeRate());
+        assertEquals(0.0, shift.bucketChurn());
+        assertEquals(0.0, shift.meanRankDisplacement());
+    }
+
+    /**
+     * One career per bucket, career index = bucket ordinal, with the given match scores
+     */
+    private static BucketRanking ranking(int... scores) {
+        BucketRanking ranking = new BucketRanking(BUCKETS, 5);
+        for (int bucket = 0; bucket < scores.length; bucket++) {
+            ranking.add(bucket, bucket, scores[bucket]);
+        }
+        return ranking;
+    }
+}
@@ -0,0 +1,126 @@
+package com.naviksha.scoring;
+
+import com.naviksha.model.Career;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for RiasecVector
+ *
+ * TEST CASES:
+ * - weightedMatch of a profile vector equals the original per-career formula,
+ *   which averages over the distinct characters of the profile code
+ * - Profiles with the same traits but different divisors are different values,
+ *   so they never share an interned requirement
+ * - The column store keeps the divisor, so its careers equal the compiled ones
+ *
+ * TEST DATA:
+ * - Profiles: "IA", "IAI" (repeated trait), "R/I" and "ria" (non-RIASEC characters),
+ *   "" and null
+ */
+class RiasecVectorTests {
+
+    private static final List<String> PROFILES = Arrays.asList("IA", "IAI", "R/I", "ria", "RI", "", null);
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("weightedMatch averages over the distinct characters of the profile")
+    void testWeightedMatchMatchesOriginalFormula() {
+        // Given
+        Map<String, Integer> percentages = Map.of("R", 35, "I", 25, "A", 20, "S", 10, "E", 6, "C", 4);
+        RiasecVector student = RiasecVector.fromMap(percentages);
+
+        for (String profile : PROFILES) {
+            // When
+            RiasecVector requirement = RiasecVector.fromProfile(profile);
+
+            // Then
+            assertEquals(originalMatch(profile, percentages), requirement.weightedMatch(student), 1e-9, profile);
+        }
+        assertEquals(2, RiasecVector.fromProfile("IAI").traitCount());
+        assertEquals(3, RiasecVector.fromProfile("R/I").traitCount());
+        assertEquals(20.0, RiasecVector.fromProfile("R/I").weightedMatch(student), 1e-9);
+        assertEquals(0.0, RiasecVector.fromProfile("ria").weightedMatch(student));
+    }
+
+    @Test
+    @DisplayName("The divisor is part of the value")
+    void testDivisorInEquality() {
+        RiasecVector ri = RiasecVector.fromProfile("RI");
+        RiasecVector slashed = RiasecVector.fromProfile("R/I");
+
+        // Same weights, different divisor
+        assertEquals(ri.toMap(), slashed.toMap());
+        assertNotEquals(ri, slashed);
+        assertEquals(ri, RiasecVector.fromProfile("IR"));
+        assertEquals(ri.hashCode(), RiasecVector.fromProfile("IR").hashCode());
+        assertEquals(ri, RiasecVector.of(1, 1, 0, 0, 0, 0));
+        assertEquals(2, new HashSet<>(List.of(ri, slashed, RiasecVector.fromProfile("IRI"))).size());
+
+        // And: the feature matrix interns them as separate requirements
+        CareerCatalog catalog = CareerCatalog.compile(List.of(career("c001", "RI"), career("c002", "R/I")));
+        CareerFeatureMatrix matrix = CareerFeatureMatrix.build(catalog);
+        double[] scores = new double[2];
+        matrix.riasecScores(RiasecVector.of(50, 30, 20, 0, 0, 0), 0, scores);
+        assertEquals(2, matrix.riasecRequirements());
+        assertEquals(80.0 / 2, scores[0], 1e-9);
+        assertEquals(80.0 / 3, scores[1], 1e-9);
+    }
+
+    @Test
+    @DisplayName("The column store keeps the divisor")
+    void testColumnStoreKeepsDivisor() throws Exception {
+        // Given
+        List<Career> careers = new ArrayList<>();
+        for (String profile : PROFILES) {
+            careers.add(career("c" + careers.size(), profile));
+        }
+        CareerCatalog catalog = CareerCatalog.compile(careers);
+
+        // When
+        CareerColumnStore store = CareerColumnStore.write(tempDir.resolve("careers.cols"), careers::stream);
+
+        // Then
+        for (int c = 0; c < careers.size(); c++) {
+            RiasecVector compiled = catalog.getCareers().get(c).getRiasec();
+            assertEquals(compiled, store.career(c).getRiasec(), careers.get(c).getRiasecProfile());
+            assertEquals(compiled.traitCount(), store.riasecTraitCount(c));
+        }
+    }
+
+    /**
+     * The baseline ScoringService.riasecMatchScore, profile characters as map keys
+     */
+    private static double originalMatch(String riasecProfile, Map<String, Integer> percentages) {
+        Map<String, Integer> careerRiasec = new HashMap<>();
+        if (riasecProfile != null) {
+            for (char c : riasecProfile.toCharArray()) {
+                careerRiasec.put(String.valueOf(c), 1);
+            }
+        }
+        double totalMatch = 0.0;
+        for (Map.Entry<String, Integer> entry : careerRiasec.entrySet()) {
+            totalMatch += (percentages.getOrDefault(entry.getKey(), 0) / 100.0) * entry.getValue();
+        }
+        return careerRiasec.size() > 0 ? (totalMatch / careerRiasec.size()) * 100 : 0;
+    }
+
+    private static Career career(String careerId, String riasecProfile) {
+        return Career.builder()
+            .careerId(careerId)
+            .careerName("Career " + careerId)
+            .bucket("Engineering & Core Technology")
+            .riasecProfile(riasecProfile)
+            .primarySubjects(List.of("Mathematics"))
+            .tags(List.of("hands_on"))
+            .build();
+    }
+}
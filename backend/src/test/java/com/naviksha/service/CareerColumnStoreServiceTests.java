@@ -0,0 +1,116 @@
+package com.naviksha.service;
+
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.model.Career;
+import com.naviksha.scoring.CareerColumnStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for CareerColumnStoreService
+ *
+ * TEST CASES:
+ * - An existing file that matches the careers collection is mapped as is
+ * - An existing file written from other careers (before a restart, by
+ *   another instance) is rewritten on first use
+ * - The content hash changes with any stored field and with career order
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CareerColumnStoreServiceTests {
+
+    @Mock
+    private CareerService careerService;
+
+    @TempDir
+    private Path dir;
+
+    private CareerColumnStoreService columnStoreService;
+    private Path path;
+    private List<Career> database;
+
+    @BeforeEach
+    void setUp() {
+        path = dir.resolve("careers.columns");
+        ScoringConfig scoringConfig = new ScoringConfig();
+        scoringConfig.getColumnStore().setPath(path.toString());
+        database = List.of(career("c001", "Mechanical Engineer", "hands_on"), career("c010", "Data Scientist", "data"));
+        when(careerService.streamAllCareers()).thenAnswer(invocation -> database.stream());
+
+        columnStoreService = new CareerColumnStoreService(careerService, scoringConfig);
+    }
+
+    @Test
+    @DisplayName("A file matching the database is mapped as is")
+    void testMatchingFileMapped() throws Exception {
+        // Given
+        CareerColumnStore.write(path, database::stream);
+        long written = Files.getLastModifiedTime(path).toMillis();
+
+        // When
+        CareerColumnStore store = columnStoreService.getStore();
+
+        // Then: checked with one cursor pass, not rewritten
+        assertEquals(CareerColumnStore.contentHash(database.stream()), store.getContentHash());
+        assertEquals(2, store.size());
+        assertEquals(written, Files.getLastModifiedTime(path).toMillis());
+        verify(careerService, times(1)).streamAllCareers();
+    }
+
+    @Test
+    @DisplayName("A stale file is rewritten on first use")
+    void testStaleFileRewritten() throws Exception {
+        // Given: a file left from an older catalog
+        CareerColumnStore.write(path, () -> List.of(career("c001", "Mechanical Engineer", "hands_on")).stream());
+
+        // When
+        CareerColumnStore store = columnStoreService.getStore();
+
+        // Then: the database careers are served, and the file now holds them
+        assertEquals(2, store.size());
+        assertEquals("Data Scientist", store.career(1).getSource().getCareerName());
+        assertEquals(CareerColumnStore.contentHash(database.stream()), CareerColumnStore.open(path).getContentHash());
+        assertSame(store, columnStoreService.getStore());
+    }
+
+    @Test
+    @DisplayName("The content hash covers every stored field and the order")
+    void testContentHash() {
+        long hash = CareerColumnStore.contentHash(database.stream());
+
+        assertEquals(hash, CareerColumnStore.contentHash(List.of(
+            career("c001", "Mechanical Engineer", "hands_on"), career("c010", "Data Scientist", "data")).stream()));
+        assertNotEquals(hash, CareerColumnStore.contentHash(List.of(
+            career("c001", "Mechanical Engineer", "hands_on"), career("c010", "Data Scientist", "new_age")).stream()));
+        assertNotEquals(hash, CareerColumnStore.contentHash(List.of(
+            career("c001", "Mechanical Engineer", "hands_on"), career("c010", "Data Analyst", "data")).stream()));
+        assertNotEquals(hash, CareerColumnStore.contentHash(List.of(database.get(1), database.get(0)).stream()));
+        assertNotEquals(hash, CareerColumnStore.contentHash(database.subList(0, 1).stream()));
+    }
+
+    private static Career career(String careerId, String careerName, String tag) {
+        return Career.builder()
+            .careerId(careerId)
+            .careerName(careerName)
+            .bucket("Engineering & Core Technology")
+            .riasecProfile("RI")
+            .primarySubjects(List.of("Mathematics", "Physics"))
+            .tags(List.of(tag))
+            .top5CollegeCourses(List.of("B.Tech"))
+            .build();
+    }
+}
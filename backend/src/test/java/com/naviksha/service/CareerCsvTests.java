@@ -0,0 +1,78 @@
+package com.naviksha.service;
+
+import com.naviksha.model.Career;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for CareerCsv
+ *
+ * TEST CASES:
+ * - A career_mappings.csv row parses into the Career model's native lists
+ * - Blank list entries and whitespace are dropped
+ * - toRow and fromRow round-trip, nulls included
+ */
+class CareerCsvTests {
+
+    @Test
+    @DisplayName("A row parses into native lists")
+    void testFromRow() {
+        // Given: a row as the CSV reader returns it, quotes already removed
+        String[] row = {
+            "c010", "Data Scientist", "Data AI & Analytics", "IA",
+            "[\"Mathematics\",\"Computer Science\",\"Statistics\"]", "[\"data\",\"new_age\"]",
+            "B.Sc/B.Tech", "B.Sc Statistics, B.Tech CS (AI),B.Stat",
+            "Work on data, build models, find insights.",
+            "Analyse exam results; Build a chatbot ;", "Strong in Maths"
+        };
+
+        // When
+        Career career = CareerCsv.fromRow(row);
+
+        // Then
+        assertEquals("c010", career.getCareerId());
+        assertEquals("IA", career.getRiasecProfile());
+        assertEquals(List.of("Mathematics", "Computer Science", "Statistics"), career.getPrimarySubjects());
+        assertEquals(List.of("data", "new_age"), career.getTags());
+        assertEquals(List.of("B.Sc Statistics", "B.Tech CS (AI)", "B.Stat"), career.getTop5CollegeCourses());
+        assertEquals(List.of("Analyse exam results", "Build a chatbot"), career.getMicroprojects());
+        assertEquals("Work on data, build models, find insights.", career.getBaseParagraph());
+    }
+
+    @Test
+    @DisplayName("List parsing drops blanks and keeps null")
+    void testListParsing() {
+        assertEquals(List.of(), CareerCsv.parseJsonList("[]"));
+        assertEquals(List.of("Physics"), CareerCsv.parseJsonList("[ \"Physics\" , \"\" ]"));
+        assertNull(CareerCsv.parseJsonList(null));
+        assertEquals(List.of("a", "b"), CareerCsv.parseDelimited(" a ;; b ", ";"));
+        assertNull(CareerCsv.parseDelimited(null, ","));
+    }
+
+    @Test
+    @DisplayName("toRow and fromRow round-trip")
+    void testRoundTrip() {
+        Career career = Career.builder()
+            .careerId("c001")
+            .careerName("Mechanical Engineer")
+            .bucket("Engineering & Core Technology")
+            .riasecProfile("R")
+            .primarySubjects(List.of("Mathematics", "Physics"))
+            .tags(List.of("mechanical", "hands_on"))
+            .minQualification("B.Tech / Diploma")
+            .top5CollegeCourses(List.of("B.Tech Mechanical", "B.E Mechanical"))
+            .baseParagraph("You enjoy building, and fixing, things.")
+            .microprojects(List.of("Build a go-kart", "Strip an engine"))
+            .build();
+
+        String[] row = CareerCsv.toRow(career);
+
+        assertEquals(CareerCsv.HEADER.length, row.length);
+        assertEquals(career, CareerCsv.fromRow(row));
+        assertNull(row[10], "Missing fields stay null");
+    }
+}
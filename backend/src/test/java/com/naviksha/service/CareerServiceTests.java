@@ -0,0 +1,256 @@
+package com.naviksha.service;
+
+import com.naviksha.model.Career;
+import com.naviksha.repository.CareerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for CareerService
+ *
+ * TEST CASES:
+ * - Save, update and delete each publish a new snapshot and bump the version,
+ *   keeping only the scoring fields of written careers
+ * - A write before anything was read only bumps the version; the first read
+ *   loads the written state at that version
+ * - refresh() keeps the snapshot and version while the database is unchanged
+ * - Listeners run outside the write lock, so they may call back into the
+ *   service, and a failing listener never fails the write
+ * - Writes made by another instance (shared change count moved) are reloaded
+ *   by syncWithDatabase(); this instance's own writes are not
+ * - getAllCareers() hands out copies, and saved careers are copied into the
+ *   snapshot, so callers cannot change what is scored
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CareerServiceTests {
+
+    @Mock
+    private CareerRepository careerRepository;
+
+    @Mock
+    private CatalogChangeCounter changeCounter;
+
+    @InjectMocks
+    private CareerService careerService;
+
+    private List<Career> stored;
+    private AtomicLong sharedChanges;
+
+    @BeforeEach
+    void setUp() {
+        stored = new ArrayList<>(List.of(career("c001", "Mechanical Engineer"), career("c010", "Data Scientist")));
+        when(careerRepository.findAllForScoring()).thenAnswer(invocation -> List.copyOf(stored));
+        when(careerRepository.save(any(Career.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(careerRepository.findByCareerId(any())).thenAnswer(invocation -> stored.stream()
+            .filter(career -> career.getCareerId().equals(invocation.getArgument(0)))
+            .findFirst());
+        sharedChanges = new AtomicLong();
+        when(changeCounter.current()).thenAnswer(invocation -> sharedChanges.get());
+        when(changeCounter.increment()).thenAnswer(invocation -> sharedChanges.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("Save, update and delete each publish a new snapshot")
+    void testWritesPublishSnapshots() {
+        // Given: the catalog has been read
+        CareerService.Snapshot loaded = careerService.getSnapshot();
+        assertEquals(0, loaded.getVersion());
+        assertEquals(List.of("c001", "c010"), careerIds(loaded));
+
+        // When: a new career is saved, with narrative fields
+        Career architect = career("c020", "Architect");
+        architect.setBaseParagraph("You like designing spaces.");
+        careerService.saveCareer(architect);
+
+        // Then: appended at version 1, scoring fields only
+        CareerService.Snapshot saved = careerService.getSnapshot();
+        assertEquals(1, saved.getVersion());
+        assertEquals(1, careerService.getCatalogVersion());
+        assertEquals(List.of("c001", "c010", "c020"), careerIds(saved));
+        assertNull(saved.getCareers().get(2).getBaseParagraph());
+        assertEquals(List.of("c001", "c010"), careerIds(loaded), "Published snapshots never change");
+
+        // When: an existing career is updated
+        careerService.updateCareer(career("c001", "Automobile Engineer"));
+
+        // Then: replaced in place at version 2
+        CareerService.Snapshot updated = careerService.getSnapshot();
+        assertEquals(2, updated.getVersion());
+        assertEquals(List.of("c001", "c010", "c020"), careerIds(updated));
+        assertEquals("Automobile Engineer", updated.getCareers().get(0).getCareerName());
+
+        // When: a career is deleted
+        careerService.deleteCareer("c010");
+
+        // Then: removed at version 3, and the database was only read once
+        CareerService.Snapshot deleted = careerService.getSnapshot();
+        assertEquals(3, deleted.getVersion());
+        assertEquals(List.of("c001", "c020"), careerIds(deleted));
+        verify(careerRepository).delete(stored.get(1));
+        verify(careerRepository, times(1)).findAllForScoring();
+    }
+
+    @Test
+    @DisplayName("A write before the first read defers to that read")
+    void testWriteBeforeFirstReadDefersToLoad() {
+        // When: a career is saved before anything was read
+        stored.add(career("c020", "Architect"));
+        careerService.saveCareer(stored.get(2));
+
+        // Then: only the version moved
+        assertEquals(1, careerService.getCatalogVersion());
+        verify(careerRepository, never()).findAllForScoring();
+
+        // And: the first read loads the written state at that version
+        CareerService.Snapshot snapshot = careerService.getSnapshot();
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(List.of("c001", "c010", "c020"), careerIds(snapshot));
+    }
+
+    @Test
+    @DisplayName("refresh() keeps the version while the database is unchanged")
+    void testRefreshKeepsVersionWhenUnchanged() {
+        CareerService.Snapshot loaded = careerService.getSnapshot();
+
+        // When: nothing changed in the database
+        assertFalse(careerService.refresh());
+
+        // Then: same snapshot, same version
+        assertSame(loaded, careerService.getSnapshot());
+        assertEquals(0, careerService.getCatalogVersion());
+
+        // When: the database changed behind the service
+        stored.add(career("c020", "Architect"));
+        assertTrue(careerService.refresh());
+
+        // Then
+        assertEquals(1, careerService.getSnapshot().getVersion());
+        assertEquals(List.of("c001", "c010", "c020"), careerIds(careerService.getSnapshot()));
+    }
+
+    @Test
+    @DisplayName("Listeners are notified outside the write lock")
+    void testListenersNotifiedOutsideLock() throws Exception {
+        careerService.getSnapshot();
+
+        // Given: a listener that needs the write lock from another thread, e.g. to refresh
+        List<Long> versions = new ArrayList<>();
+        List<Boolean> refreshedWhileNotified = new ArrayList<>();
+        careerService.addSnapshotListener(snapshot -> {
+            versions.add(snapshot.getVersion());
+            if (versions.size() == 1) {
+                CompletableFuture<Boolean> refresh = CompletableFuture.supplyAsync(careerService::refresh);
+                try {
+                    refresh.get(5, TimeUnit.SECONDS);
+                    refreshedWhileNotified.add(true);
+                } catch (Exception e) {
+                    refreshedWhileNotified.add(false);
+                }
+            }
+        });
+        // And: a listener that fails
+        careerService.addSnapshotListener(snapshot -> {
+            throw new IllegalStateException("listener failed");
+        });
+
+        // When
+        Career saved = careerService.saveCareer(career("c020", "Architect"));
+
+        // Then: the other thread got the lock while listeners ran, and the failure did not reach the caller
+        assertEquals("c020", saved.getCareerId());
+        assertEquals(List.of(true), refreshedWhileNotified);
+        assertEquals(1L, versions.get(0));
+    }
+
+    @Test
+    @DisplayName("Writes on other instances are picked up by syncWithDatabase")
+    void testSyncWithOtherInstances() {
+        // Nothing served yet: nothing to sync
+        assertFalse(careerService.syncWithDatabase());
+        careerService.getSnapshot();
+
+        // When: nothing changed anywhere
+        assertFalse(careerService.syncWithDatabase());
+
+        // When: this instance writes
+        careerService.saveCareer(career("c020", "Architect"));
+
+        // Then: counted, but not reloaded
+        assertEquals(1, sharedChanges.get());
+        assertFalse(careerService.syncWithDatabase());
+        verify(careerRepository, times(1)).findAllForScoring();
+
+        // When: another instance writes
+        stored.add(career("c030", "Pilot"));
+        sharedChanges.incrementAndGet();
+
+        // Then: the next sync reloads at a new version
+        assertTrue(careerService.syncWithDatabase());
+        assertEquals(List.of("c001", "c010", "c030"), careerIds(careerService.getSnapshot()));
+        assertEquals(2, careerService.getCatalogVersion());
+        assertFalse(careerService.syncWithDatabase());
+
+        // When: both instances write between two syncs
+        stored.add(career("c040", "Chef"));
+        sharedChanges.incrementAndGet();
+        careerService.deleteCareer("c030");
+
+        // Then: the own write does not hide the other one
+        assertTrue(careerService.syncWithDatabase());
+        assertTrue(careerIds(careerService.getSnapshot()).contains("c040"));
+    }
+
+    @Test
+    @DisplayName("Callers get copies and cannot change the snapshot")
+    void testCareersCopiedAtBoundary() {
+        // When: a caller changes what it was handed
+        Career handed = careerService.getAllCareers().get(0);
+        handed.setCareerName("Changed");
+        handed.getTags().add("changed");
+
+        // And: a caller changes a career after saving it
+        Career architect = career("c020", "Architect");
+        architect.setTags(new ArrayList<>(List.of("design")));
+        careerService.saveCareer(architect);
+        architect.getTags().add("changed");
+
+        // Then: the snapshot is untouched
+        CareerService.Snapshot snapshot = careerService.getSnapshot();
+        assertEquals("Mechanical Engineer", snapshot.getCareers().get(0).getCareerName());
+        assertEquals(List.of("hands_on"), snapshot.getCareers().get(0).getTags());
+        assertEquals(List.of("design"), snapshot.getCareers().get(2).getTags());
+        assertEquals(snapshot.getCareers(), careerService.getAllCareers());
+    }
+
+    private static List<String> careerIds(CareerService.Snapshot snapshot) {
+        return snapshot.getCareers().stream().map(Career::getCareerId).toList();
+    }
+
+    private static Career career(String careerId, String careerName) {
+        return Career.builder()
+            .careerId(careerId)
+            .careerName(careerName)
+            .bucket("Engineering & Core Technology")
+            .riasecProfile("RI")
+            .primarySubjects(List.of("Mathematics", "Physics"))
+            .tags(new ArrayList<>(List.of("hands_on")))
+            .build();
+    }
+}
@@ -0,0 +1,237 @@
+package com.naviksha.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.naviksha.dto.CatalogImportResultDTO;
+import com.naviksha.model.Career;
+import com.naviksha.synthetic.SyntheticDataCli;
+import com.naviksha.synthetic.SyntheticDataGenerator;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for CatalogImportService
+ *
+ * TEST CASES:
+ * - CSV rows with quoted commas, quoted list fields and multi-line fields
+ *   import as the right careers; invalid rows are skipped and reported with
+ *   the line they start on
+ * - Rows whose content hash matches the stored one are not written
+ * - Upserts are sent in bulk batches of 1000
+ * - The catalog is reloaded once per import that changed it, never per row
+ * - NDJSON lines import the same way; bad JSON is reported by line
+ *
+ * The careers collection is an in-memory list behind a mocked MongoCollection:
+ * each upsert either matches a stored careerId or inserts it.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CatalogImportServiceTests {
+
+    private static final String HEADER = String.join(",", CareerCsv.HEADER) + "\n";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private CareerService careerService;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> findIterable;
+
+    private CatalogImportService importService;
+    private Map<String, Document> stored;
+    private List<List<Document>> batches;
+    private long catalogVersion;
+
+    @BeforeEach
+    void setUp() {
+        importService = new CatalogImportService(mongoTemplate, careerService, new ObjectMapper());
+        stored = new LinkedHashMap<>();
+        batches = new ArrayList<>();
+
+        when(mongoTemplate.getCollectionName(Career.class)).thenReturn("careers");
+        when(mongoTemplate.getCollection("careers")).thenReturn(collection);
+        when(collection.find()).thenReturn(findIterable);
+        when(findIterable.projection(any())).thenReturn(findIterable);
+        when(findIterable.iterator()).thenAnswer(invocation -> cursor(new ArrayList<>(stored.values()).iterator()));
+        when(collection.bulkWrite(any(), any())).thenAnswer(invocation -> bulkWrite(invocation.getArgument(0)));
+
+        when(careerService.getCatalogVersion()).thenAnswer(invocation -> catalogVersion);
+        doAnswer(invocation -> ++catalogVersion).when(careerService).markCatalogChanged();
+    }
+
+    @Test
+    @DisplayName("CSV rows import with quoted fields; bad rows are reported by line")
+    void testCsvParsingAndValidation() throws Exception {
+        // Given: a quoted multi-line paragraph (lines 2-3), then one bad row per rule, then a quoted comma
+        String csv = HEADER
+            + "c001,Mechanical Engineer,Engineering & Core Technology,R,\"[\"\"Mathematics\"\",\"\"Physics\"\"]\","
+            + "\"[\"\"mechanical\"\",\"\"hands_on\"\"]\",B.Tech / Diploma,\"B.Tech Mechanical,B.E Mechanical\","
+            + "\"You enjoy building, fixing and\ntesting things.\",Build a go-kart;Strip an engine,Hands-on\n"
+            + ",Missing Id,Engineering & Core Technology,R,[],[],,,,,\n"
+            + "c002,Bad Profile,Engineering & Core Technology,RX,[],[],,,,,\n"
+            + "c003,Too Short,Engineering & Core Technology\n"
+            + "c001,Duplicate,Engineering & Core Technology,R,[],[],,,,,\n"
+            + "c004,\"Data Scientist, Junior\",Data AI & Analytics,IA,\"[\"\"Mathematics\"\"]\",\"[\"\"data\"\"]\","
+            + "B.Sc,,\"Models, insights\",,\n";
+
+        // When
+        CatalogImportResultDTO result = importService.importCsv(stream(csv));
+
+        // Then: two careers inserted, four rows rejected at the lines they start on
+        assertEquals(6, result.getRowsRead());
+        assertEquals(2, result.getInserted());
+        assertEquals(4, result.getInvalid());
+        assertEquals(List.of(
+            "line 4: careerId is required",
+            "line 5: riasecProfile may only contain RIASEC letters: RX",
+            "line 6: expected 11 columns, found 3",
+            "line 7: duplicate careerId c001"), result.getErrors());
+
+        // And: fields were split on the right commas
+        Document engineer = stored.get("c001");
+        assertEquals(List.of("Mathematics", "Physics"), engineer.get("primarySubjects"));
+        assertEquals(List.of("mechanical", "hands_on"), engineer.get("tags"));
+        assertEquals(List.of("B.Tech Mechanical", "B.E Mechanical"), engineer.get("top5CollegeCourses"));
+        assertEquals("You enjoy building, fixing and\ntesting things.", engineer.get("baseParagraph"));
+        assertEquals(List.of("Build a go-kart", "Strip an engine"), engineer.get("microprojects"));
+        assertEquals("Data Scientist, Junior", stored.get("c004").get("careerName"));
+        assertEquals("Models, insights", stored.get("c004").get("baseParagraph"));
+    }
+
+    @Test
+    @DisplayName("Unchanged rows are skipped by content hash")
+    void testUnchangedRowsSkipped() throws Exception {
+        // Given: a catalog imported once
+        SyntheticDataGenerator generator = SyntheticDataCli.fromClasspath(25);
+        StringWriter csv = new StringWriter();
+        generator.writeCareersCsv(csv, 50);
+        importService.importCsv(stream(csv.toString()));
+        batches.clear();
+
+        // When: the same file is imported again
+        CatalogImportResultDTO again = importService.importCsv(stream(csv.toString()));
+
+        // Then: nothing is written and the catalog is not reloaded
+        assertEquals(50, again.getUnchanged());
+        assertEquals(0, again.getInserted() + again.getUpdated());
+        assertTrue(batches.isEmpty());
+        verify(careerService, times(1)).markCatalogChanged();
+
+        // When: one career changed
+        Career career = generator.career(7);
+        String original = csv.toString();
+        int row = original.indexOf(career.getCareerId());
+        String edited = original.substring(0, row)
+            + original.substring(row).replaceFirst(Pattern.quote(career.getCareerName()), "Renamed Career");
+        CatalogImportResultDTO changed = importService.importCsv(stream(edited));
+
+        // Then: only that row is written
+        assertEquals(49, changed.getUnchanged());
+        assertEquals(1, changed.getUpdated());
+        assertEquals(List.of(1), batches.stream().map(List::size).toList());
+        assertEquals("Renamed Career", stored.get(career.getCareerId()).get("careerName"));
+    }
+
+    @Test
+    @DisplayName("Upserts are batched and the catalog reloads once per import")
+    void testBatchedUpserts() throws Exception {
+        // Given: 2,500 new careers
+        StringWriter csv = new StringWriter();
+        SyntheticDataCli.fromClasspath(25).writeCareersCsv(csv, 2500);
+
+        // When
+        CatalogImportResultDTO result = importService.importCsv(stream(csv.toString()));
+
+        // Then: three unordered bulk writes, one reload, and the new version is reported
+        assertEquals(List.of(1000, 1000, 500), batches.stream().map(List::size).toList());
+        assertEquals(2500, result.getInserted());
+        assertEquals(0, result.getInvalid());
+        verify(careerService, times(1)).markCatalogChanged();
+        assertEquals(1, result.getCatalogVersion());
+    }
+
+    @Test
+    @DisplayName("NDJSON imports the same way; bad JSON is reported by line")
+    void testNdjsonImport() throws Exception {
+        // Given: three careers, a blank line and a broken line
+        StringWriter ndjson = new StringWriter();
+        SyntheticDataCli.fromClasspath(25).writeCareersNdjson(ndjson, 3);
+        String input = ndjson + "\n{\"careerId\": \n";
+
+        // When
+        CatalogImportResultDTO result = importService.importCatalog(stream(input), CatalogImportService.Format.NDJSON);
+
+        // Then
+        assertEquals(3, result.getInserted());
+        assertEquals(1, result.getInvalid());
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).startsWith("line 5: invalid JSON"), result.getErrors().get(0));
+        verify(careerService, times(1)).markCatalogChanged();
+    }
+
+    /**
+     * Apply a batch of upserts to the stored careers
+     */
+    private BulkWriteResult bulkWrite(List<? extends WriteModel<Document>> requests) {
+        List<Document> batch = new ArrayList<>();
+        List<BulkWriteUpsert> upserts = new ArrayList<>();
+        int matched = 0;
+        for (WriteModel<Document> request : requests) {
+            Document career = (Document) ((Document) ((UpdateOneModel<Document>) request).getUpdate()).get("$set");
+            batch.add(career);
+            if (stored.put(career.getString("careerId"), career) == null) {
+                upserts.add(new BulkWriteUpsert(batch.size() - 1, null));
+            } else {
+                matched++;
+            }
+        }
+        batches.add(batch);
+
+        BulkWriteResult result = mock(BulkWriteResult.class);
+        when(result.getUpserts()).thenReturn(upserts);
+        when(result.getMatchedCount()).thenReturn(matched);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<Document> cursor(Iterator<Document> documents) {
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> documents.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> documents.next());
+        return cursor;
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
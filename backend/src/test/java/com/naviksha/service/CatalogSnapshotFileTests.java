@@ -0,0 +1,119 @@
+package com.naviksha.service;
+
+import com.naviksha.model.Career;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for CatalogSnapshotFile
+ *
+ * TEST CASES:
+ * - Every career field round-trips, including nulls, empty lists and non-ASCII text
+ * - Rewriting replaces the file and leaves no temporary file behind
+ * - Truncated, bit-flipped, foreign and empty files are rejected with an IOException
+ */
+class CatalogSnapshotFileTests {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @DisplayName("Careers round-trip through the snapshot file")
+    void testRoundTrip() throws IOException {
+        // Given
+        List<Career> careers = careers();
+        Path path = dir.resolve("catalog.snapshot");
+
+        // When
+        long checksum = CatalogSnapshotFile.write(path, careers, 42);
+        CatalogSnapshotFile file = CatalogSnapshotFile.read(path);
+
+        // Then
+        assertEquals(careers, file.getCareers());
+        assertEquals(42, file.getCatalogVersion());
+        assertEquals(checksum, file.getChecksum());
+        assertTrue(file.getWrittenAt() > 0);
+        assertNull(file.getCareers().get(1).getTags());
+        assertEquals(List.of(), file.getCareers().get(1).getPrimarySubjects());
+    }
+
+    @Test
+    @DisplayName("A rewrite replaces the file atomically")
+    void testRewriteReplacesFile() throws IOException {
+        Path path = dir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, careers(), 1);
+
+        // When
+        CatalogSnapshotFile.write(path, careers().subList(0, 1), 2);
+
+        // Then
+        CatalogSnapshotFile file = CatalogSnapshotFile.read(path);
+        assertEquals(2, file.getCatalogVersion());
+        assertEquals(1, file.getCareers().size());
+        assertFalse(Files.exists(dir.resolve("catalog.snapshot.tmp")));
+    }
+
+    @Test
+    @DisplayName("Truncated, corrupt and foreign files are rejected")
+    void testInvalidFilesRejected() throws IOException {
+        Path path = dir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, careers(), 1);
+        byte[] valid = Files.readAllBytes(path);
+
+        // Truncated payload
+        Files.write(path, Arrays.copyOf(valid, valid.length - 10));
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(path));
+
+        // Truncated header
+        Files.write(path, Arrays.copyOf(valid, 20));
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(path));
+
+        // One flipped payload bit
+        byte[] corrupt = valid.clone();
+        corrupt[corrupt.length - 5] ^= 0x01;
+        Files.write(path, corrupt);
+        IOException mismatch = assertThrows(IOException.class, () -> CatalogSnapshotFile.read(path));
+        assertTrue(mismatch.getMessage().contains("checksum"));
+
+        // Some other file
+        Files.write(path, "careerId,careerName,bucket\n".repeat(4).getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(path));
+
+        // Empty file
+        Files.write(path, new byte[0]);
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.read(path));
+    }
+
+    private static List<Career> careers() {
+        return List.of(
+            Career.builder()
+                .id("64f0c0ffee")
+                .careerId("c010")
+                .careerName("Data Scientist")
+                .bucket("Data AI & Analytics")
+                .riasecProfile("IA")
+                .primarySubjects(List.of("Mathematics", "Computer Science", "Statistics"))
+                .tags(List.of("data", "new_age"))
+                .minQualification("B.Sc/B.Tech")
+                .top5CollegeCourses(List.of("B.Sc Statistics", "B.Tech CS (AI)"))
+                .baseParagraph("Work on data to build models – and find insights. ✓")
+                .microprojects(List.of("Analyse your school's results"))
+                .whyFit("Strong in Maths")
+                .build(),
+            Career.builder()
+                .careerId("c050")
+                .careerName("Yoga Instructor")
+                .bucket("Sports Fitness & Wellness")
+                .primarySubjects(List.of())
+                .build());
+    }
+}
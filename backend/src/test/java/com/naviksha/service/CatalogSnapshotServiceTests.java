@@ -0,0 +1,183 @@
+package com.naviksha.service;
+
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.model.Career;
+import com.naviksha.repository.CareerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for CatalogSnapshotService
+ *
+ * TEST CASES:
+ * - A valid file is served before the database is read, and kept when the
+ *   database matches it
+ * - When the database differs, the database wins and the file is rewritten
+ * - A corrupt or truncated file is ignored and the catalog loads from the
+ *   database, which then replaces the file
+ * - installSnapshot is a no-op once a catalog is loaded
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CatalogSnapshotServiceTests {
+
+    @Mock
+    private CareerRepository careerRepository;
+
+    @Mock
+    private CatalogChangeCounter changeCounter;
+
+    @TempDir
+    private Path dir;
+
+    private CareerService careerService;
+    private CatalogSnapshotService snapshotService;
+    private Path path;
+    private List<Career> database;
+
+    @BeforeEach
+    void setUp() {
+        path = dir.resolve("catalog.snapshot");
+        ScoringConfig scoringConfig = new ScoringConfig();
+        scoringConfig.getCatalogSnapshot().setPath(path.toString());
+        database = List.of(career("c001", "Mechanical Engineer"), career("c010", "Data Scientist"));
+        when(careerRepository.findAllForScoring()).thenAnswer(invocation -> database);
+
+        careerService = new CareerService(careerRepository, changeCounter);
+        snapshotService = new CatalogSnapshotService(careerService, scoringConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotService.shutdown();
+    }
+
+    @Test
+    @DisplayName("A valid file is served and kept when the database matches")
+    void testValidFileServed() throws Exception {
+        // Given: a file holding what the database holds
+        CatalogSnapshotFile.write(path, database, 7);
+        long written = Files.getLastModifiedTime(path).toMillis();
+
+        // When
+        snapshotService.init();
+
+        // Then: served from the file, validated without a new version or rewrite
+        assertEquals(database, careerService.getSnapshot().getCareers());
+        awaitStat("validation", "valid");
+        assertEquals(2, snapshotService.getStats().get("installedCareers"));
+        assertEquals(0, careerService.getCatalogVersion());
+        assertEquals(-1L, snapshotService.getStats().get("writtenVersion"));
+        assertEquals(written, Files.getLastModifiedTime(path).toMillis());
+    }
+
+    @Test
+    @DisplayName("When the database differs, it replaces the file's catalog")
+    void testDatabaseWins() throws Exception {
+        // Given: a stale file
+        CatalogSnapshotFile.write(path, List.of(career("c001", "Mechanical Engineer")), 3);
+
+        // When
+        snapshotService.init();
+
+        // Then: the database is served at the next version and written back to the file
+        awaitStat("validation", "replaced");
+        awaitStat("writtenVersion", 1L);
+        assertEquals(database, careerService.getSnapshot().getCareers());
+        assertEquals(1, careerService.getSnapshot().getVersion());
+        assertEquals(database, CatalogSnapshotFile.read(path).getCareers());
+    }
+
+    @Test
+    @DisplayName("A corrupt file falls back to the database")
+    void testCorruptFileIgnored() throws Exception {
+        // Given: a file with one flipped payload bit, so it fails its checksum
+        CatalogSnapshotFile.write(path, List.of(career("c999", "Stale Career")), 3);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 3] ^= 0x10;
+        Files.write(path, bytes);
+
+        assertFallsBackToDatabase();
+    }
+
+    @Test
+    @DisplayName("A truncated file falls back to the database")
+    void testTruncatedFileIgnored() throws Exception {
+        // Given: a file that lost its tail
+        CatalogSnapshotFile.write(path, List.of(career("c999", "Stale Career")), 3);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertFallsBackToDatabase();
+    }
+
+    @Test
+    @DisplayName("installSnapshot does nothing once a catalog is loaded")
+    void testInstallSnapshotAfterLoad() throws IOException {
+        // Given: the catalog was read from the database
+        CareerService.Snapshot loaded = careerService.getSnapshot();
+
+        // When: a file shows up late
+        boolean installed = careerService.installSnapshot(List.of(career("c999", "Stale Career")));
+
+        // Then
+        assertFalse(installed);
+        assertSame(loaded, careerService.getSnapshot());
+
+        // And: the service ignores a file when the catalog is already loaded
+        CatalogSnapshotFile.write(path, List.of(career("c999", "Stale Career")), 3);
+        snapshotService.init();
+        assertEquals(-1, snapshotService.getStats().get("installedCareers"));
+        assertEquals(database, careerService.getSnapshot().getCareers());
+    }
+
+    /**
+     * Start up; nothing may be installed, the database is served, and the file is rewritten from it
+     */
+    private void assertFallsBackToDatabase() throws Exception {
+        snapshotService.init();
+
+        assertEquals(-1, snapshotService.getStats().get("installedCareers"));
+        assertEquals(database, careerService.getSnapshot().getCareers());
+        awaitStat("validation", "loaded");
+        awaitStat("writtenVersion", 0L);
+        assertEquals(database, CatalogSnapshotFile.read(path).getCareers());
+    }
+
+    private void awaitStat(String name, Object expected) throws InterruptedException {
+        Supplier<Object> stat = () -> snapshotService.getStats().get(name);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!expected.equals(stat.get()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, stat.get(), name);
+    }
+
+    private static Career career(String careerId, String careerName) {
+        return Career.builder()
+            .careerId(careerId)
+            .careerName(careerName)
+            .bucket("Engineering & Core Technology")
+            .riasecProfile("RI")
+            .primarySubjects(List.of("Mathematics", "Physics"))
+            .tags(List.of("hands_on"))
+            .build();
+    }
+}
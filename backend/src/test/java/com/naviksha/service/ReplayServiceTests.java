@@ -0,0 +1,209 @@
+package com.naviksha.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.dto.ReplayRequestDTO;
+import com.naviksha.dto.ReplayResultDTO;
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.model.Report;
+import com.naviksha.model.StudentReport;
+import com.naviksha.repository.ReportRepository;
+import com.naviksha.synthetic.SyntheticDataCli;
+import com.naviksha.synthetic.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for ReplayService
+ *
+ * TEST CASES:
+ * - Replaying reports under the current weights reproduces every stored top
+ *   bucket (baselineAgreementRate 1.0), and a candidate equal to the current
+ *   weights shows no shift
+ * - A candidate with other weights shifts rankings
+ * - maxReports stops the replay early, and reports without scores are skipped
+ * - Replays run on the replay pool only, never on the scoring pool
+ *
+ * TEST DATA:
+ * A generated catalog and cohort, stored with only the inputs a report keeps
+ * (no free text, study abroad or work style), so the replayed baseline can
+ * match the stored report exactly.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReplayServiceTests {
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private CareerService careerService;
+
+    @Mock
+    private SubjectivityAnalysisService subjectivityService;
+
+    @Mock
+    private AIServiceClient aiServiceClient;
+
+    @Mock
+    private CareerColumnStoreService columnStoreService;
+
+    @Spy
+    private ScoringConfig scoringConfig = new ScoringConfig();
+
+    @Spy
+    private TestService testService = new TestService(new ObjectMapper());
+
+    @Spy
+    private ScoringRulesService scoringRulesService = new ScoringRulesService(new ObjectMapper(), new ScoringConfig());
+
+    @InjectMocks
+    private ScoringService scoringService;
+
+    private ReplayService replayService;
+    private List<Report> reports;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replayService = new ReplayService(reportRepository, careerService, scoringService, scoringConfig);
+        SyntheticDataGenerator generator = SyntheticDataCli.fromClasspath(13);
+        when(careerService.getSnapshot()).thenReturn(new CareerService.Snapshot(1, generator.careers(400).toList()));
+        when(subjectivityService.alignmentScore(anyInt())).thenReturn(50.0);
+        when(aiServiceClient.enhanceReport(any(StudentReport.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Stored reports, scored from the inputs a report keeps
+        reports = new ArrayList<>();
+        generator.submissions(30).forEach(submission -> reports.add(Report.builder()
+            .reportData(scoringService.computeCareerReport(storedInputs(submission)))
+            .build()));
+        when(reportRepository.streamAllBy()).thenAnswer(invocation -> reports.stream());
+        scoringConfig.getBatch().setBlockSize(7);
+    }
+
+    @Test
+    @DisplayName("Current weights reproduce every stored top bucket")
+    void testDefaultWeightsAgreeWithStoredReports() {
+        // Given: a candidate identical to the current weights
+        ReplayRequestDTO request = ReplayRequestDTO.builder()
+            .candidates(List.of(weights("same", 0.40, 0.30, 0.20, 0.10)))
+            .build();
+
+        // When
+        ReplayResultDTO result = replayService.replay(request);
+
+        // Then
+        assertEquals(30, result.getReportsReplayed());
+        assertEquals(0, result.getReportsSkipped());
+        assertEquals(1.0, result.getBaselineAgreementRate());
+        ReplayResultDTO.CandidateShift same = result.getCandidates().get(0);
+        assertEquals("same", same.getName());
+        assertEquals(0.0, same.getTop1ChangeRate());
+        assertEquals(0.0, same.getTopBucketChangeRate());
+        assertEquals(0.0, same.getBucketChurn());
+        assertEquals(0.0, same.getMeanRankDisplacement());
+    }
+
+    @Test
+    @DisplayName("Other weights shift rankings")
+    void testCandidateWeightsShiftRankings() {
+        // Given: a candidate that only looks at subjects
+        ReplayRequestDTO request = ReplayRequestDTO.builder()
+            .candidates(List.of(weights(null, 0, 1, 0, 0)))
+            .build();
+
+        // When
+        ReplayResultDTO result = replayService.replay(request);
+
+        // Then
+        ReplayResultDTO.CandidateShift subjectsOnly = result.getCandidates().get(0);
+        assertEquals("candidate-1", subjectsOnly.getName());
+        assertTrue(subjectsOnly.getTopBucketChangeRate() > 0);
+        assertTrue(subjectsOnly.getMeanRankDisplacement() > 0);
+        assertTrue(subjectsOnly.getBucketChurn() > 0 && subjectsOnly.getBucketChurn() <= 1);
+    }
+
+    @Test
+    @DisplayName("maxReports limits the replay and unscored reports are skipped")
+    void testMaxReportsAndSkippedReports() {
+        // Given: an old report stored without RIASEC scores
+        reports.get(2).getReportData().setVibeScores(null);
+        ReplayRequestDTO request = ReplayRequestDTO.builder()
+            .candidates(List.of(weights("same", 0.40, 0.30, 0.20, 0.10)))
+            .maxReports(10)
+            .build();
+
+        // When
+        ReplayResultDTO result = replayService.replay(request);
+
+        // Then
+        assertEquals(9, result.getReportsReplayed());
+        assertEquals(1, result.getReportsSkipped());
+        assertEquals(1.0, result.getBaselineAgreementRate());
+    }
+
+    @Test
+    @DisplayName("Replays run on their own pool")
+    void testReplayRunsOnReplayPool() {
+        // Given: a record of the threads reports are replayed on
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(scoringRulesService).getRules();
+        scoringConfig.getReplay().setParallelism(2);
+
+        // When
+        ReplayResultDTO result = replayService.replay(ReplayRequestDTO.builder()
+            .candidates(List.of(weights("subjects", 0.10, 0.70, 0.10, 0.10)))
+            .build());
+
+        // Then: only replay workers, at most the configured number
+        assertEquals(30, result.getReportsReplayed());
+        assertFalse(threads.isEmpty());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("replay-")), threads.toString());
+        assertTrue(threads.size() <= 2, threads.toString());
+    }
+
+    private static TestSubmissionDTO storedInputs(TestSubmissionDTO submission) {
+        Map<String, Object> likert = new LinkedHashMap<>();
+        submission.getAnswers().forEach((question, answer) -> {
+            if (answer instanceof Integer) likert.put(question, answer);
+        });
+        return TestSubmissionDTO.builder()
+            .userName(submission.getUserName())
+            .schoolName(submission.getSchoolName())
+            .grade(submission.getGrade())
+            .board(submission.getBoard())
+            .answers(likert)
+            .subjectScores(submission.getSubjectScores())
+            .extracurriculars(submission.getExtracurriculars())
+            .parentCareers(submission.getParentCareers())
+            .build();
+    }
+
+    private static ReplayRequestDTO.WeightSet weights(String name, double riasec, double subject,
+                                                      double practical, double context) {
+        return ReplayRequestDTO.WeightSet.builder()
+            .name(name)
+            .riasec(riasec)
+            .subject(subject)
+            .practical(practical)
+            .context(context)
+            .build();
+    }
+}
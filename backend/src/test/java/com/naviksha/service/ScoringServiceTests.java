@@ -1,19 +1,33 @@
 package com.naviksha.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naviksha.config.ScoringConfig;
 import com.naviksha.dto.TestSubmissionDTO;
 import com.naviksha.model.Career;
+import com.naviksha.model.CareerBucket;
+import com.naviksha.model.CareerMatch;
 import com.naviksha.model.StudentReport;
+import com.naviksha.scoring.CareerCatalog;
+import com.naviksha.scoring.CareerColumnStore;
+import com.naviksha.scoring.CareerFeatureMatrix;
+import com.naviksha.scoring.RiasecVector;
+import com.naviksha.scoring.ScoringKernel;
+import com.naviksha.synthetic.SyntheticDataCli;
+import com.naviksha.synthetic.SyntheticDataGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.nio.file.Path;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,10 +65,22 @@ class ScoringServiceTests {
     @Mock
     private AIServiceClient aiServiceClient;
 
+    @Spy
+    private ScoringConfig scoringConfig = new ScoringConfig();
+
+    // Real question bank, so RIASEC weights come from vibematch_questions.json
+    @Spy
+    private TestService testService = new TestService(new ObjectMapper());
+
+    // Real rules file, so bands and bonuses come from scoring_rules.json
+    @Spy
+    private ScoringRulesService scoringRulesService = new ScoringRulesService(new ObjectMapper(), new ScoringConfig());
+
     @InjectMocks
     private ScoringService scoringService;
 
     private List<Career> testCareers;
+    private long catalogVersion;
     private TestSubmissionDTO aishaSubmission;
     private TestSubmissionDTO bobSubmission;
     private TestSubmissionDTO carolSubmission;
@@ -65,15 +91,9 @@ class ScoringServiceTests {
         setupTestSubmissions();
         
         // Mock service calls
-        when(careerService.getAllCareers()).thenReturn(testCareers);
-        when(careerService.findByCareerName(any())).thenAnswer(invocation -> {
-            String careerName = invocation.getArgument(0);
-            return testCareers.stream()
-                .filter(c -> c.getCareerName().equals(careerName))
-                .findFirst()
-                .orElse(null);
-        });
+        useCatalog(testCareers);
         when(subjectivityService.analyzeTextAlignment(any(), any())).thenReturn(50.0);
+        when(subjectivityService.alignmentScore(anyInt())).thenReturn(50.0);
         
         // Mock AI service to prevent NullPointerException and return the original report
         when(aiServiceClient.enhanceReport(any(StudentReport.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -83,7 +103,7 @@ class ScoringServiceTests {
     @DisplayName("Aisha's profile should rank Data Science careers highest")
     void testAishaDataScienceRanking() {
         // Given: Aisha's test submission with strong Investigative score
-        when(careerService.getAllCareers()).thenReturn(testCareers);
+        useCatalog(testCareers);
         
         // When: Computing career report
         StudentReport report = scoringService.computeCareerReport(aishaSubmission);
@@ -110,6 +130,9 @@ class ScoringServiceTests {
             .flatMap(bucket -> bucket.getTopCareers().stream())
             .anyMatch(career -> career.getCareerName().equals("Data Scientist"));
         assertTrue(dataScientistFound, "Data Scientist should appear in top career matches");
+        
+        // Bucket identity comes from the compiled catalog - no per-career lookups
+        verify(careerService, never()).findByCareerName(any());
     }
 
     @Test
@@ -209,6 +232,32 @@ class ScoringServiceTests {
         assertTrue(strongScore >= 0 && strongScore <= 100, "Subject score should be in 0-100 range");
     }
 
+    @Test
+    @DisplayName("Context bonuses come from the scoring rules file")
+    void testContextRules() {
+        Career dataScientist = testCareers.stream()
+            .filter(c -> c.getCareerName().equals("Data Scientist"))
+            .findFirst()
+            .orElseThrow();
+        Career designer = testCareers.stream()
+            .filter(c -> c.getCareerName().equals("UX/UI Designer"))
+            .findFirst()
+            .orElseThrow();
+        
+        TestSubmissionDTO submission = TestSubmissionDTO.builder()
+            .parentCareers(List.of("Creative Arts"))
+            .workStylePreference("Office / Lab")
+            .studyAbroadPreference(true)
+            .build();
+        
+        // Work style (Data bucket) and study abroad (new_age tag) rules
+        assertEquals(70.0, scoringService.contextFitScore(dataScientist, submission), 1e-9);
+        // Family rule for the parent's bucket
+        assertEquals(65.0, scoringService.contextFitScore(designer, submission), 1e-9);
+        // Strong band: 95 * 1.1 capped at 100
+        assertEquals(100.0, scoringService.subjectMatchScore(dataScientist, Map.of("Mathematics", 95)), 1e-9);
+    }
+
     @Test
     @DisplayName("Final scores are within valid range and deterministic")
     void testFinalScoring() {
@@ -264,6 +313,373 @@ class ScoringServiceTests {
         });
     }
 
+    @Test
+    @DisplayName("Parallel scoring ranks careers exactly like sequential scoring")
+    void testParallelScoringMatchesSequential() {
+        // Given: a catalog large enough to be split into many chunks
+        List<Career> largeCatalog = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            for (Career career : testCareers) {
+                largeCatalog.add(Career.builder()
+                    .careerId(career.getCareerId() + "-" + i)
+                    .careerName(career.getCareerName() + " " + i)
+                    .bucket(career.getBucket())
+                    .riasecProfile(career.getRiasecProfile())
+                    .primarySubjects(career.getPrimarySubjects())
+                    .tags(career.getTags())
+                    .top5CollegeCourses(career.getTop5CollegeCourses())
+                    .build());
+            }
+        }
+        useCatalog(largeCatalog);
+        
+        // When: scoring sequentially and then in parallel
+        StudentReport sequential = scoringService.computeCareerReport(aishaSubmission);
+        scoringConfig.getParallel().setThreshold(0);
+        scoringConfig.getParallel().setChunkSize(7);
+        StudentReport parallel = scoringService.computeCareerReport(aishaSubmission);
+        
+        // Then: buckets, scores and career order are identical
+        assertEquals(sequential.getTop5Buckets().size(), parallel.getTop5Buckets().size());
+        for (int b = 0; b < sequential.getTop5Buckets().size(); b++) {
+            CareerBucket expected = sequential.getTop5Buckets().get(b);
+            CareerBucket actual = parallel.getTop5Buckets().get(b);
+            assertEquals(expected.getBucketName(), actual.getBucketName());
+            assertEquals(expected.getBucketScore(), actual.getBucketScore());
+            assertEquals(expected.getTopCareers(), actual.getTopCareers());
+        }
+    }
+
+    @Test
+    @DisplayName("Batch scoring matches individual submissions")
+    void testScoreBatchMatchesIndividualReports() {
+        // Given: a cohort split across several matrix blocks
+        scoringConfig.getBatch().setBlockSize(2);
+        List<TestSubmissionDTO> cohort = Arrays.asList(aishaSubmission, bobSubmission, carolSubmission);
+        
+        // When: scoring the cohort in one batch
+        List<StudentReport> batchReports = scoringService.scoreBatch(cohort).toList();
+        
+        // Then: every report matches its individual submission, in request order
+        assertEquals(cohort.size(), batchReports.size());
+        for (int i = 0; i < cohort.size(); i++) {
+            StudentReport individual = scoringService.computeCareerReport(cohort.get(i));
+            assertEquals(individual.getStudentName(), batchReports.get(i).getStudentName());
+            assertEquals(individual.getVibeScores(), batchReports.get(i).getVibeScores());
+            assertEquals(individual.getTop5Buckets(), batchReports.get(i).getTop5Buckets());
+        }
+    }
+
+    @Test
+    @DisplayName("SIMD feature-matrix kernel matches per-method scoring")
+    void testSimdKernelMatchesPerMethodScoring() {
+        // Given: the test catalog laid out as a feature matrix
+        CareerCatalog catalog = CareerCatalog.compile(testCareers);
+        CareerFeatureMatrix matrix = catalog.getFeatureMatrix();
+        Map<String, Integer> riasecScores = Map.of("R", 10, "I", 50, "A", 15, "S", 10, "E", 5, "C", 10);
+        
+        int[] subjectScores = new int[catalog.getSubjects().size()];
+        Arrays.fill(subjectScores, -1);
+        aishaSubmission.getSubjectScores().forEach((subject, mark) -> {
+            if (catalog.getSubjects().idOf(subject) >= 0) subjectScores[catalog.getSubjects().idOf(subject)] = mark;
+        });
+        
+        // When: scoring every career in one sweep
+        double[] riasec = new double[catalog.size()];
+        matrix.riasecScores(RiasecVector.fromMap(riasecScores), 0, riasec);
+        
+        // Then: each RIASEC component equals the per-method score exactly
+        for (int c = 0; c < catalog.size(); c++) {
+            double expected = scoringService.riasecMatchScore(testCareers.get(c), riasecScores);
+            assertEquals(expected, riasec[c], "RIASEC mismatch for " + testCareers.get(c).getCareerName());
+        }
+        
+        for (ScoringKernel kernel : List.of(ScoringKernel.scalar(), ScoringKernel.best())) {
+            // When: averaging subject marks in one kernel sweep
+            double[] subjects = new double[catalog.size()];
+            matrix.subjectAverages(kernel, subjectScores, 0, subjects, new float[catalog.size()], new float[catalog.size()]);
+            
+            // Then: each subject component equals the per-method score exactly
+            for (int c = 0; c < catalog.size(); c++) {
+                double expected = scoringService.subjectMatchScore(testCareers.get(c), aishaSubmission.getSubjectScores());
+                double actual = Double.isNaN(subjects[c]) ? 50 : scoringRulesService.getRules().scaleSubject(subjects[c]);
+                assertEquals(expected, actual, kernel.name() + " subject mismatch for " + testCareers.get(c).getCareerName());
+            }
+        }
+        
+        // And: full reports are unchanged when the kernel is enabled
+        List<TestSubmissionDTO> submissions = Arrays.asList(aishaSubmission, bobSubmission, carolSubmission);
+        List<StudentReport> perMethod = new ArrayList<>();
+        submissions.forEach(submission -> perMethod.add(scoringService.computeCareerReport(submission)));
+        scoringConfig.getSimd().setEnabled(true);
+        for (int i = 0; i < submissions.size(); i++) {
+            StudentReport simd = scoringService.computeCareerReport(submissions.get(i));
+            assertEquals(perMethod.get(i).getTop5Buckets(), simd.getTop5Buckets());
+        }
+    }
+
+    @Test
+    @DisplayName("SIMD scoring rounds a final score of exactly x.5 like per-method scoring")
+    void testSimdKernelRoundsHalfScoresLikePerMethodScoring() {
+        // Given: a student whose final score for this career is exactly 56.5 in double;
+        // the subject average 215 / 3 is not representable, and in float it lands below 71.6666...
+        Career career = Career.builder()
+            .careerId("c099")
+            .careerName("Robotics Researcher")
+            .bucket("Data AI & Analytics")
+            .riasecProfile("I")
+            .primarySubjects(Arrays.asList("Mathematics", "Physics", "Chemistry"))
+            .tags(Arrays.asList("coding"))
+            .build();
+        TestSubmissionDTO submission = TestSubmissionDTO.builder()
+            .userName("Half")
+            .grade(11)
+            .board("CBSE")
+            .answers(Map.of())
+            .subjectScores(Map.of("Mathematics", 60, "Physics", 85, "Chemistry", 70))
+            .extracurriculars(Arrays.asList("Robotics / Coding"))
+            .parentCareers(Arrays.asList())
+            .build();
+        RiasecVector riasecTotals = RiasecVector.of(0, 45, 55, 0, 0, 0);
+        assertEquals(56.5, scoringService.computeFinalScore(career, submission, riasecTotals.normalize().toMap()));
+        useCatalog(List.of(career));
+        
+        // When: ranking per method and on the feature matrix
+        StudentReport perMethod = scoringService.computeCareerReport(submission, riasecTotals);
+        scoringConfig.getSimd().setEnabled(true);
+        StudentReport simd = scoringService.computeCareerReport(submission, riasecTotals);
+        
+        // Then: both round half up to the same match score
+        assertEquals(57, perMethod.getTop5Buckets().get(0).getTopCareers().get(0).getMatchScore());
+        assertEquals(57, simd.getTop5Buckets().get(0).getTopCareers().get(0).getMatchScore());
+        assertEquals(perMethod.getTop5Buckets(), simd.getTop5Buckets());
+    }
+
+    @Test
+    @DisplayName("Bucket pruning ranks careers exactly like scoring every bucket")
+    void testPruningMatchesFullScoring() throws Exception {
+        // Given: a generated catalog spanning every bucket, the personas plus a generated cohort,
+        // and no archetype cache so each report is scored from scratch
+        SyntheticDataGenerator generator = SyntheticDataCli.fromClasspath(16);
+        useCatalog(generator.careers(600).toList());
+        List<TestSubmissionDTO> personas = new ArrayList<>(Arrays.asList(aishaSubmission, bobSubmission, carolSubmission));
+        generator.submissions(25).forEach(personas::add);
+        scoringConfig.getArchetypeCache().setEnabled(false);
+        
+        for (boolean simd : new boolean[] { false, true }) {
+            scoringConfig.getSimd().setEnabled(simd);
+            for (TestSubmissionDTO persona : personas) {
+                // When: scoring with pruning off and on
+                scoringConfig.getPruning().setEnabled(false);
+                StudentReport full = scoringService.computeCareerReport(persona);
+                scoringConfig.getPruning().setEnabled(true);
+                StudentReport pruned = scoringService.computeCareerReport(persona);
+                
+                // Then: top buckets, bucket scores, career order and match scores are identical
+                assertSameRanking(full, pruned, (simd ? "SIMD " : "scalar ") + persona.getUserName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Archetype cache never changes a report")
+    void testArchetypeCacheMatchesUncachedScoring() throws Exception {
+        // Given: a generated catalog, and archetypes so coarse that Aisha's RIASEC and marks
+        // no longer matter: only her subjects, activities and preferences form the key
+        useCatalog(SyntheticDataCli.fromClasspath(17).careers(600).toList());
+        scoringConfig.getArchetypeCache().setRiasecStep(1000);
+        scoringConfig.getArchetypeCache().setSubjectBand(1000);
+        
+        // A near-identical Aisha (one mark off), and a Realistic student colliding with her archetype
+        Map<String, Integer> nearMarks = new HashMap<>(aishaSubmission.getSubjectScores());
+        nearMarks.put("Mathematics", 87);
+        TestSubmissionDTO nearAisha = withProfile(aishaSubmission.getAnswers(), nearMarks);
+        TestSubmissionDTO collidingAisha = withProfile(bobSubmission.getAnswers(), Map.of(
+            "Mathematics", 60, "Physics", 95, "Chemistry", 90, "Computer Science", 40, "English", 55));
+        List<TestSubmissionDTO> students = Arrays.asList(
+            aishaSubmission, aishaSubmission, nearAisha, collidingAisha, collidingAisha);
+        
+        // When: scoring without and then with the cache
+        scoringConfig.getArchetypeCache().setEnabled(false);
+        List<StudentReport> uncached = new ArrayList<>();
+        students.forEach(student -> uncached.add(scoringService.computeCareerReport(student)));
+        scoringConfig.getArchetypeCache().setEnabled(true);
+        
+        // Then: every report is identical to uncached scoring
+        for (int i = 0; i < students.size(); i++) {
+            assertSameRanking(uncached.get(i), scoringService.computeCareerReport(students.get(i)), "student " + i);
+        }
+        assertNotEquals(uncached.get(0).getTop5Buckets().get(0).getBucketName(),
+            uncached.get(3).getTop5Buckets().get(0).getBucketName(), "Colliding students should rank differently");
+        
+        // And: Aisha misses, her repeats hit, the colliding student needs more buckets once
+        Map<String, Object> stats = scoringService.getArchetypeCacheStats();
+        assertEquals(5L, stats.get("lookups"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(3L, stats.get("hits"));
+        assertEquals(1L, stats.get("partialHits"));
+        assertEquals(1, stats.get("entries"));
+    }
+
+    @Test
+    @DisplayName("Column store scoring matches compiled catalog scoring")
+    void testColumnStoreMatchesCompiledCatalog(@TempDir Path tempDir) throws Exception {
+        // Given: the test careers plus a tied pair of careers, a bucket tied with another
+        // and a career without subjects or tags, written to a column store file
+        Career dataScientist = testCareers.get(0);
+        Career designer = testCareers.get(2);
+        List<Career> fixture = new ArrayList<>(testCareers);
+        fixture.add(Career.builder()
+            .careerId("c011")
+            .careerName("Data Analyst")
+            .bucket(dataScientist.getBucket())
+            .riasecProfile(dataScientist.getRiasecProfile())
+            .primarySubjects(dataScientist.getPrimarySubjects())
+            .tags(dataScientist.getTags())
+            .build());
+        fixture.add(Career.builder()
+            .careerId("c031")
+            .careerName("Product Designer")
+            .bucket("Product & Interaction Design")
+            .riasecProfile(designer.getRiasecProfile())
+            .primarySubjects(designer.getPrimarySubjects())
+            .tags(designer.getTags())
+            .build());
+        fixture.add(Career.builder()
+            .careerId("c050")
+            .careerName("Community Organizer")
+            .bucket("Social Impact")
+            .riasecProfile("SE")
+            .build());
+        useCatalog(fixture);
+        CareerColumnStore store = CareerColumnStore.write(tempDir.resolve("careers.cols"), fixture::stream);
+        
+        for (TestSubmissionDTO submission : Arrays.asList(aishaSubmission, bobSubmission, carolSubmission)) {
+            // When: scoring the compiled catalog and the column store
+            StudentReport compiled = scoringService.computeCareerReport(submission);
+            StudentReport columns = scoringService.scoreColumnStore(store, submission, null);
+            
+            // Then: identical reports, ties broken the same way
+            assertEquals(compiled.getVibeScores(), columns.getVibeScores());
+            assertEquals(compiled.getTop5Buckets(), columns.getTop5Buckets(), submission.getUserName());
+            assertEquals(fixture.stream().map(Career::getBucket).distinct().count(), columns.getTop5Buckets().size());
+        }
+        
+        // And: the tied careers keep catalog order, and the tied buckets score the same
+        StudentReport aisha = scoringService.computeCareerReport(aishaSubmission);
+        CareerBucket dataBucket = findBucket(aisha, dataScientist.getBucket());
+        assertEquals(List.of("Data Scientist", "Data Analyst"),
+            dataBucket.getTopCareers().stream().map(CareerMatch::getCareerName).toList());
+        assertEquals(dataBucket.getTopCareers().get(0).getMatchScore(), dataBucket.getTopCareers().get(1).getMatchScore());
+        assertEquals(findBucket(aisha, designer.getBucket()).getBucketScore(),
+            findBucket(aisha, "Product & Interaction Design").getBucketScore());
+    }
+
+    @Test
+    @DisplayName("Pre-accumulated RIASEC totals give the same report as re-deriving them")
+    void testPreAccumulatedRiasecTotals() {
+        // Given: totals accumulated over two autosaves, as ProgressService does
+        Map<String, Object> partialAnswers = new HashMap<>(aishaSubmission.getAnswers());
+        partialAnswers.remove("v_14");
+        partialAnswers.put("v_03", 1);
+        double[] sums = new double[RiasecVector.SIZE];
+        int[] counts = new int[RiasecVector.SIZE];
+        testService.getRiasecAnswerTable().applyDelta(null, partialAnswers, sums, counts);
+        testService.getRiasecAnswerTable().applyDelta(partialAnswers, aishaSubmission.getAnswers(), sums, counts);
+        
+        // When: scoring from the totals and from the raw answers
+        StudentReport fromTotals = scoringService.computeCareerReport(aishaSubmission, RiasecVector.of(sums));
+        StudentReport fromAnswers = scoringService.computeCareerReport(aishaSubmission);
+        
+        // Then: both paths agree
+        assertEquals(3, counts[RiasecVector.I], "Three Investigative answers should be counted");
+        assertEquals(fromAnswers.getVibeScores(), fromTotals.getVibeScores());
+        assertEquals(fromAnswers.getTop5Buckets(), fromTotals.getTop5Buckets());
+    }
+
+    @Test
+    @DisplayName("Hot-projection catalog reads narrative fields once, for the report's careers only")
+    void testNarrativeFieldsFetchedForTopCareers() {
+        // Given: the catalog as loaded by the scoring projection (no narrative fields)
+        StudentReport fullDocuments = scoringService.computeCareerReport(aishaSubmission);
+        List<Career> hotCatalog = new ArrayList<>();
+        Map<String, Career> byCareerId = new HashMap<>();
+        for (Career career : testCareers) {
+            hotCatalog.add(Career.builder()
+                .careerId(career.getCareerId())
+                .careerName(career.getCareerName())
+                .bucket(career.getBucket())
+                .riasecProfile(career.getRiasecProfile())
+                .primarySubjects(career.getPrimarySubjects())
+                .tags(career.getTags())
+                .build());
+            byCareerId.put(career.getCareerId(), career);
+        }
+        useCatalog(hotCatalog);
+        when(careerService.findNarrativeFields(any())).thenAnswer(invocation -> {
+            Map<String, Career> found = new HashMap<>();
+            for (Object careerId : (Collection<?>) invocation.getArgument(0)) {
+                found.put((String) careerId, byCareerId.get(careerId));
+            }
+            return found;
+        });
+
+        // When: scoring from the hot catalog
+        StudentReport hot = scoringService.computeCareerReport(aishaSubmission);
+
+        // Then: one batched read, and the report matches scoring full documents
+        verify(careerService, times(1)).findNarrativeFields(any());
+        assertEquals(fullDocuments.getTop5Buckets(), hot.getTop5Buckets());
+    }
+
+    private static void assertSameRanking(StudentReport expected, StudentReport actual, String label) {
+        assertEquals(expected.getTop5Buckets().size(), actual.getTop5Buckets().size(), label);
+        for (int b = 0; b < expected.getTop5Buckets().size(); b++) {
+            CareerBucket expectedBucket = expected.getTop5Buckets().get(b);
+            CareerBucket actualBucket = actual.getTop5Buckets().get(b);
+            assertEquals(expectedBucket.getBucketName(), actualBucket.getBucketName(), label);
+            assertEquals(expectedBucket.getBucketScore(), actualBucket.getBucketScore(), label);
+            assertEquals(expectedBucket.getTopCareers().size(), actualBucket.getTopCareers().size(), label);
+            for (int c = 0; c < expectedBucket.getTopCareers().size(); c++) {
+                assertEquals(expectedBucket.getTopCareers().get(c).getCareerName(),
+                    actualBucket.getTopCareers().get(c).getCareerName(), label);
+                assertEquals(expectedBucket.getTopCareers().get(c).getMatchScore(),
+                    actualBucket.getTopCareers().get(c).getMatchScore(), label);
+            }
+        }
+    }
+
+    private static CareerBucket findBucket(StudentReport report, String bucketName) {
+        return report.getTop5Buckets().stream()
+            .filter(bucket -> bucket.getBucketName().equals(bucketName))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Bucket not in report: " + bucketName));
+    }
+
+    /**
+     * Aisha's submission with other Vibematch answers and subject marks
+     */
+    private TestSubmissionDTO withProfile(Map<String, Object> answers, Map<String, Integer> subjectScores) {
+        return TestSubmissionDTO.builder()
+            .userName(aishaSubmission.getUserName())
+            .grade(aishaSubmission.getGrade())
+            .board(aishaSubmission.getBoard())
+            .answers(answers)
+            .subjectScores(subjectScores)
+            .extracurriculars(aishaSubmission.getExtracurriculars())
+            .parentCareers(aishaSubmission.getParentCareers())
+            .studyAbroadPreference(aishaSubmission.getStudyAbroadPreference())
+            .workStylePreference(aishaSubmission.getWorkStylePreference())
+            .build();
+    }
+
+    /**
+     * Serve the given careers as a new catalog snapshot
+     */
+    private void useCatalog(List<Career> careers) {
+        when(careerService.getSnapshot()).thenReturn(new CareerService.Snapshot(++catalogVersion, careers));
+    }
+
     private void setupTestCareers() {
         testCareers = Arrays.asList(
             Career.builder()
@@ -271,10 +687,10 @@ class ScoringServiceTests {
                 .careerName("Data Scientist")
                 .bucket("Data AI & Analytics")
                 .riasecProfile("IA")
-                .primarySubjects("[\"Mathematics\",\"Computer Science\",\"Statistics\"]")
-                .tags("[\"data\",\"new_age\"]")
+                .primarySubjects(List.of("Mathematics", "Computer Science", "Statistics"))
+                .tags(List.of("data", "new_age"))
                 .minQualification("B.Sc/B.Tech")
-                .top5CollegeCourses("B.Sc Statistics,B.Tech CS (AI),B.Stat")
+                .top5CollegeCourses(List.of("B.Sc Statistics", "B.Tech CS (AI)", "B.Stat"))
                 .baseParagraph("Work on data to build models and find insights.")
                 .build(),
             
@@ -283,10 +699,10 @@ class ScoringServiceTests {
                 .careerName("Mechanical Engineer")
                 .bucket("Engineering & Core Technology")
                 .riasecProfile("R")
-                .primarySubjects("[\"Mathematics\",\"Physics\"]")
-                .tags("[\"mechanical\",\"hands_on\"]")
+                .primarySubjects(List.of("Mathematics", "Physics"))
+                .tags(List.of("mechanical", "hands_on"))
                 .minQualification("B.Tech / Diploma")
-                .top5CollegeCourses("B.Tech Mechanical,B.E Mechanical")
+                .top5CollegeCourses(List.of("B.Tech Mechanical", "B.E Mechanical"))
                 .baseParagraph("You enjoy building and fixing things.")
                 .build(),
             
@@ -295,10 +711,10 @@ class ScoringServiceTests {
                 .careerName("UX/UI Designer")
                 .bucket("Design Media & Creative Industries")
                 .riasecProfile("AE")
-                .primarySubjects("[\"Art / Design\",\"Computer Science\"]")
-                .tags("[\"design\",\"creative\"]")
+                .primarySubjects(List.of("Art / Design", "Computer Science"))
+                .tags(List.of("design", "creative"))
                 .minQualification("B.Des / Diploma")
-                .top5CollegeCourses("B.Des Product,B.Des Graphic,BFA")
+                .top5CollegeCourses(List.of("B.Des Product", "B.Des Graphic", "BFA"))
                 .baseParagraph("Designs interfaces and visual experiences.")
                 .build()
         );
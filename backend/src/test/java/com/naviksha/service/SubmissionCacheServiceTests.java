@@ -0,0 +1,354 @@
+package com.naviksha.service;
+
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.model.Report;
+import com.naviksha.model.ScoringRuleSet;
+import com.naviksha.model.Test.Question;
+import com.naviksha.scoring.RiasecAnswerTable;
+import com.naviksha.scoring.ScoringRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for SubmissionCacheService
+ *
+ * TEST CASES:
+ * - The fingerprint ignores the order of answers, subjects and list fields
+ * - The fingerprint changes with the catalog, rules and question bank versions
+ * - Idempotency-Keys are scoped to the user
+ * - A reused Idempotency-Key with a different submission is rejected
+ * - Retrying an Idempotency-Key after a catalog or rules change recomputes
+ *   the report instead of rejecting the key
+ * - A duplicate arriving while the pipeline runs waits for the same report
+ * - A failed pipeline is not cached, so a retry runs it again
+ * - An Error in the pipeline fails waiting duplicates and frees the key
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SubmissionCacheServiceTests {
+
+    @Mock
+    private CareerService careerService;
+
+    @Mock
+    private TestService testService;
+
+    @Mock
+    private ScoringRulesService scoringRulesService;
+
+    @Spy
+    private ScoringConfig scoringConfig = new ScoringConfig();
+
+    @InjectMocks
+    private SubmissionCacheService submissionCacheService;
+
+    @BeforeEach
+    void setUp() {
+        useVersions(1, "rules-1", 3);
+    }
+
+    @Test
+    @DisplayName("Fingerprint does not depend on map or list order")
+    void testFingerprintIsOrderIndependent() {
+        // Given: the same submission built in two different orders
+        TestSubmissionDTO submission = submission("u1");
+
+        TestSubmissionDTO reordered = submission("u1");
+        Map<String, Object> answers = new LinkedHashMap<>();
+        List<String> keys = new ArrayList<>(submission.getAnswers().keySet());
+        Collections.reverse(keys);
+        keys.forEach(key -> answers.put(key, submission.getAnswers().get(key)));
+        reordered.setAnswers(answers);
+        Map<String, Integer> subjects = new LinkedHashMap<>();
+        subjects.put("Physics", 85);
+        subjects.put("English", 72);
+        subjects.put("Maths", 90);
+        reordered.setSubjectScores(subjects);
+        reordered.setExtracurriculars(List.of("Coding", "Debate", "Robotics"));
+        reordered.setParentCareers(List.of("Teacher", "Engineer"));
+
+        // Then
+        assertEquals(submissionCacheService.fingerprint(submission),
+            submissionCacheService.fingerprint(reordered));
+
+        // And: a changed answer is a different submission
+        reordered.getAnswers().put("v_02", 4);
+        assertNotEquals(submissionCacheService.fingerprint(submission),
+            submissionCacheService.fingerprint(reordered));
+    }
+
+    @Test
+    @DisplayName("Fingerprint changes with catalog, rules and question bank versions")
+    void testFingerprintTracksVersions() {
+        TestSubmissionDTO submission = submission("u1");
+        String original = submissionCacheService.fingerprint(submission);
+
+        // When: only the career catalog changes
+        useVersions(2, "rules-1", 3);
+        String catalogChanged = submissionCacheService.fingerprint(submission);
+
+        // When: only the scoring rules change
+        useVersions(1, "rules-2", 3);
+        String rulesChanged = submissionCacheService.fingerprint(submission);
+
+        // When: only the question bank changes
+        useVersions(1, "rules-1", 4);
+        String questionsChanged = submissionCacheService.fingerprint(submission);
+
+        // Then: each is a new fingerprint, and restoring the versions restores it
+        assertEquals(4, Set.of(original, catalogChanged, rulesChanged, questionsChanged).size());
+        useVersions(1, "rules-1", 3);
+        assertEquals(original, submissionCacheService.fingerprint(submission));
+    }
+
+    @Test
+    @DisplayName("The same Idempotency-Key from two users are different submissions")
+    void testIdempotencyKeyIsScopedToUser() {
+        // Given: two users send the same key for otherwise identical answers
+        SubmissionCacheService.SubmissionKey first = submissionCacheService.keyFor(submission("u1"), "retry-1");
+        SubmissionCacheService.SubmissionKey second = submissionCacheService.keyFor(submission("u2"), "retry-1");
+
+        // Then
+        assertNotEquals(first.getKey(), second.getKey());
+        assertEquals(first.getKey(), submissionCacheService.keyFor(submission("u1"), " retry-1 ").getKey());
+
+        // And: each user's pipeline runs
+        AtomicInteger runs = new AtomicInteger();
+        Report firstReport = submissionCacheService.submitOnce(first, () -> report("r" + runs.incrementAndGet()));
+        Report secondReport = submissionCacheService.submitOnce(second, () -> report("r" + runs.incrementAndGet()));
+        assertEquals(2, runs.get());
+        assertNotSame(firstReport, secondReport);
+    }
+
+    @Test
+    @DisplayName("A reused Idempotency-Key with a different submission is rejected")
+    void testReusedIdempotencyKeyWithDifferentBodyIsRejected() {
+        // Given: a completed submission under a key
+        TestSubmissionDTO submission = submission("u1");
+        Report report = submissionCacheService.submitOnce(
+            submissionCacheService.keyFor(submission, "retry-1"), () -> report("r1"));
+
+        // When: the same key and body are retried, the report is reused
+        assertSame(report, submissionCacheService.submitOnce(
+            submissionCacheService.keyFor(submission("u1"), "retry-1"), () -> fail("Pipeline re-ran")));
+
+        // When: the key is sent again with different answers
+        TestSubmissionDTO changed = submission("u1");
+        changed.getSubjectScores().put("Maths", 40);
+        SubmissionCacheService.SubmissionKey reused = submissionCacheService.keyFor(changed, "retry-1");
+
+        // Then
+        assertThrows(SubmissionCacheService.IdempotencyKeyReusedException.class,
+            () -> submissionCacheService.submitOnce(reused, () -> fail("Pipeline re-ran")));
+    }
+
+    @Test
+    @DisplayName("An Idempotency-Key retried after a version change is recomputed")
+    void testIdempotencyKeyRetriedAfterVersionChange() {
+        // Given: a completed submission under a key
+        Report first = submissionCacheService.submitOnce(
+            submissionCacheService.keyFor(submission("u1"), "retry-1"), () -> report("r1"));
+
+        // When: the catalog changes and then the rules are reloaded before each retry
+        useVersions(2, "rules-1", 3);
+        Report afterCatalogEdit = submissionCacheService.submitOnce(
+            submissionCacheService.keyFor(submission("u1"), "retry-1"), () -> report("r2"));
+        useVersions(2, "rules-2", 3);
+        Report afterRulesReload = submissionCacheService.submitOnce(
+            submissionCacheService.keyFor(submission("u1"), "retry-1"), () -> report("r3"));
+
+        // Then: each retry is scored against the current versions, not rejected
+        assertEquals("r1", first.getId());
+        assertEquals("r2", afterCatalogEdit.getId());
+        assertEquals("r3", afterRulesReload.getId());
+        assertSame(afterRulesReload, submissionCacheService.submitOnce(
+            submissionCacheService.keyFor(submission("u1"), "retry-1"), () -> fail("Pipeline re-ran")));
+
+        // And: a different body under the key is still rejected
+        TestSubmissionDTO changed = submission("u1");
+        changed.getSubjectScores().put("Maths", 40);
+        assertThrows(SubmissionCacheService.IdempotencyKeyReusedException.class,
+            () -> submissionCacheService.submitOnce(
+                submissionCacheService.keyFor(changed, "retry-1"), () -> fail("Pipeline re-ran")));
+    }
+
+    @Test
+    @DisplayName("A duplicate submitted while the pipeline runs joins it")
+    void testConcurrentDuplicateJoinsInFlightSubmission() throws Exception {
+        SubmissionCacheService.SubmissionKey key = submissionCacheService.keyFor(submission("u1"), null);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Given: the first submission is still running
+        AtomicReference<Report> firstReport = new AtomicReference<>();
+        Thread first = new Thread(() -> firstReport.set(submissionCacheService.submitOnce(key, () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+            return report("r1");
+        })));
+        first.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When: an identical submission arrives and blocks on the in-flight report
+        AtomicReference<Report> secondReport = new AtomicReference<>();
+        Thread second = new Thread(() -> secondReport.set(submissionCacheService.submitOnce(key, () -> {
+            runs.incrementAndGet();
+            return report("r2");
+        })));
+        second.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (second.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, second.getState());
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        // Then: the pipeline ran once and both callers got its report
+        assertEquals(1, runs.get());
+        assertEquals("r1", firstReport.get().getId());
+        assertSame(firstReport.get(), secondReport.get());
+    }
+
+    @Test
+    @DisplayName("A failed submission is not cached")
+    void testFailureIsNotCached() {
+        SubmissionCacheService.SubmissionKey key = submissionCacheService.keyFor(submission("u1"), "retry-1");
+        AtomicInteger runs = new AtomicInteger();
+
+        // Given: the first run fails
+        assertThrows(IllegalStateException.class, () -> submissionCacheService.submitOnce(key, () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("PDF service down");
+        }));
+
+        // When: the client retries
+        Report report = submissionCacheService.submitOnce(key, () -> {
+            runs.incrementAndGet();
+            return report("r2");
+        });
+
+        // Then: the pipeline ran again and its report is now cached
+        assertEquals(2, runs.get());
+        assertEquals("r2", report.getId());
+        assertSame(report, submissionCacheService.submitOnce(key, () -> fail("Pipeline re-ran")));
+    }
+
+    @Test
+    @DisplayName("An Error in the pipeline releases waiting duplicates and the key")
+    void testErrorReleasesSubmission() throws Exception {
+        SubmissionCacheService.SubmissionKey key = submissionCacheService.keyFor(submission("u1"), null);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Given: the first submission is running and will fail with an Error
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        Thread first = new Thread(() -> {
+            try {
+                submissionCacheService.submitOnce(key, () -> {
+                    started.countDown();
+                    await(release);
+                    throw new OutOfMemoryError("Java heap space");
+                });
+            } catch (Throwable e) {
+                firstFailure.set(e);
+            }
+        });
+        first.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // And: a duplicate is waiting on it
+        AtomicReference<Throwable> secondFailure = new AtomicReference<>();
+        Thread second = new Thread(() -> {
+            try {
+                submissionCacheService.submitOnce(key, () -> fail("Pipeline re-ran"));
+            } catch (Throwable e) {
+                secondFailure.set(e);
+            }
+        });
+        second.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (second.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, second.getState());
+
+        // When
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        // Then: both callers see the Error, and a retry runs the pipeline again
+        assertFalse(second.isAlive());
+        assertTrue(firstFailure.get() instanceof OutOfMemoryError);
+        assertTrue(secondFailure.get() instanceof OutOfMemoryError);
+        assertEquals("r2", submissionCacheService.submitOnce(key, () -> report("r2")).getId());
+    }
+
+    private void useVersions(long catalogVersion, String rulesVersion, int questionWeight) {
+        when(careerService.getSnapshot()).thenReturn(new CareerService.Snapshot(catalogVersion, List.of()));
+        when(scoringRulesService.getRules()).thenReturn(ScoringRules.compile(new ScoringRuleSet(), rulesVersion));
+        Question question = Question.builder().id("v_01").riasecMap(Map.of("I", questionWeight)).build();
+        when(testService.getRiasecAnswerTable()).thenReturn(RiasecAnswerTable.compile(List.of(question)));
+    }
+
+    private static TestSubmissionDTO submission(String userId) {
+        TestSubmissionDTO submission = new TestSubmissionDTO();
+        submission.setUserId(userId);
+        submission.setUserName("Aisha");
+        submission.setGrade(11);
+        submission.setBoard("CBSE");
+
+        Map<String, Object> answers = new HashMap<>();
+        answers.put("v_01", 5);
+        answers.put("v_02", 3);
+        answers.put("v_03", "Building things");
+        answers.put("v_04", 2);
+        submission.setAnswers(answers);
+
+        Map<String, Integer> subjects = new HashMap<>();
+        subjects.put("Maths", 90);
+        subjects.put("English", 72);
+        subjects.put("Physics", 85);
+        submission.setSubjectScores(subjects);
+
+        submission.setExtracurriculars(new ArrayList<>(List.of("Robotics", "Coding", "Debate")));
+        submission.setParentCareers(new ArrayList<>(List.of("Engineer", "Teacher")));
+        submission.setStudyAbroadPreference(true);
+        submission.setWorkStylePreference("Team");
+        return submission;
+    }
+
+    private static Report report(String id) {
+        return Report.builder().id(id).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.naviksha.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naviksha.config.ScoringConfig;
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.dto.WhatIfRequestDTO;
+import com.naviksha.dto.WhatIfResultDTO;
+import com.naviksha.model.Career;
+import com.naviksha.model.Report;
+import com.naviksha.model.StudentReport;
+import com.naviksha.scoring.BucketRanking;
+import com.naviksha.scoring.CareerCatalog;
+import com.naviksha.scoring.CompiledCareer;
+import com.naviksha.scoring.RiasecVector;
+import com.naviksha.scoring.ScoringProfile;
+import com.naviksha.synthetic.SyntheticDataCli;
+import com.naviksha.synthetic.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for WhatIfService
+ *
+ * TEST CASES:
+ * - Each kind of change (subject mark, added or removed extracurricular,
+ *   parent careers, work style, study abroad) ranks buckets exactly as a
+ *   fresh full scoring of the changed inputs
+ * - Several changes in one query combine the same way
+ * - A session is reused while the catalog and rules are unchanged, and
+ *   dropped when either changes
+ *
+ * TEST DATA:
+ * - A generated 600-career catalog spanning every bucket
+ * - Aisha's stored report: Investigative, strong Maths/Physics,
+ *   Robotics/Coding and Community Service, an IT parent
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WhatIfServiceTests {
+
+    private static final String REPORT_ID = "r1";
+    private static final Map<String, Integer> VIBE_SCORES = Map.of(
+        "R", 12, "I", 41, "A", 20, "S", 8, "E", 9, "C", 10);
+
+    @Mock
+    private CareerService careerService;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private SubjectivityAnalysisService subjectivityService;
+
+    @Mock
+    private AIServiceClient aiServiceClient;
+
+    @Mock
+    private CareerColumnStoreService columnStoreService;
+
+    @Spy
+    private ScoringConfig scoringConfig = new ScoringConfig();
+
+    @Spy
+    private TestService testService = new TestService(new ObjectMapper());
+
+    // Real rules file, so context rules come from scoring_rules.json
+    @Spy
+    private ScoringRulesService scoringRulesService = new ScoringRulesService(new ObjectMapper(), new ScoringConfig());
+
+    @InjectMocks
+    private ScoringService scoringService;
+
+    private WhatIfService whatIfService;
+    private SyntheticDataGenerator generator;
+    private long catalogVersion;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        whatIfService = new WhatIfService(reportService, careerService, scoringService, scoringConfig,
+            scoringRulesService);
+        generator = SyntheticDataCli.fromClasspath(21);
+        useCatalog(generator.careers(600).toList());
+        when(subjectivityService.alignmentScore(anyInt())).thenReturn(50.0);
+        when(reportService.getReport(REPORT_ID)).thenReturn(Report.builder()
+            .id(REPORT_ID)
+            .reportData(StudentReport.builder()
+                .studentName("Aisha")
+                .grade(11)
+                .board("CBSE")
+                .vibeScores(VIBE_SCORES)
+                .eduStats(Map.of("Mathematics", 88, "Physics", 82, "Chemistry", 74,
+                    "Computer Science", 60, "English", 78))
+                .extracurriculars(List.of("Robotics / Coding", "Community Service"))
+                .parents(List.of("IT / Software"))
+                .build())
+            .build());
+    }
+
+    @Test
+    @DisplayName("Each kind of change matches a fresh full scoring")
+    void testEachChangeMatchesFullScoring() {
+        // Given: one request per kind of change, the inputs it should produce, and the component it feeds
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        changes.put("subject mark", new Object[] {
+            WhatIfRequestDTO.builder().subjectScores(Map.of("Mathematics", 45)).build(),
+            stored().subjectScores(withMark("Mathematics", 45)).build(), "subject" });
+        changes.put("add extracurricular", new Object[] {
+            WhatIfRequestDTO.builder().addExtracurriculars(List.of("Web Design Club")).build(),
+            stored().extracurriculars(List.of("Robotics / Coding", "Community Service", "Web Design Club")).build(),
+            "practical" });
+        changes.put("remove extracurricular", new Object[] {
+            WhatIfRequestDTO.builder().removeExtracurriculars(List.of("community service")).build(),
+            stored().extracurriculars(List.of("Robotics / Coding")).build(), "practical" });
+        changes.put("parent careers", new Object[] {
+            WhatIfRequestDTO.builder().parentCareers(List.of("Medicine / Healthcare")).build(),
+            stored().parentCareers(List.of("Medicine / Healthcare")).build(), "context" });
+        changes.put("work style", new Object[] {
+            WhatIfRequestDTO.builder().workStylePreference("Office / Lab work").build(),
+            stored().workStylePreference("Office / Lab work").build(), "context" });
+        changes.put("study abroad", new Object[] {
+            WhatIfRequestDTO.builder().studyAbroadPreference(true).build(),
+            stored().studyAbroadPreference(true).build(), "context" });
+
+        for (Map.Entry<String, Object[]> change : changes.entrySet()) {
+            // When
+            WhatIfResultDTO result = whatIfService.whatIf(REPORT_ID, (WhatIfRequestDTO) change.getValue()[0]);
+
+            // Then: only the fed component was recomputed, and the ranking is the full one
+            assertEquals(List.of(change.getValue()[2]), result.getChangedComponents(), change.getKey());
+            assertTrue(result.getRecomputedScores() > 0 && result.getRecomputedScores() < result.getCatalogSize(),
+                change.getKey() + " should only recompute the careers it touches");
+            assertMatchesFullScoring((TestSubmissionDTO) change.getValue()[1], result, change.getKey());
+        }
+    }
+
+    @Test
+    @DisplayName("Several changes in one query match a fresh full scoring")
+    void testCombinedChangesMatchFullScoring() {
+        // Given: Aisha drops Maths, takes up design and leans creative
+        WhatIfRequestDTO request = WhatIfRequestDTO.builder()
+            .subjectScores(Map.of("Mathematics", 40, "Fine Arts", 95))
+            .addExtracurriculars(List.of("Web Design Club"))
+            .removeExtracurriculars(List.of("Community Service"))
+            .parentCareers(List.of("Creative Arts"))
+            .studyAbroadPreference(true)
+            .build();
+        Map<String, Integer> marks = new HashMap<>(stored().build().getSubjectScores());
+        marks.put("Mathematics", 40);
+        marks.put("Fine Arts", 95);
+        TestSubmissionDTO expected = stored()
+            .subjectScores(marks)
+            .extracurriculars(List.of("Robotics / Coding", "Web Design Club"))
+            .parentCareers(List.of("Creative Arts"))
+            .studyAbroadPreference(true)
+            .build();
+
+        // When
+        WhatIfResultDTO result = whatIfService.whatIf(REPORT_ID, request);
+
+        // Then
+        assertEquals(List.of("subject", "practical", "context"), result.getChangedComponents());
+        assertMatchesFullScoring(expected, result, "combined");
+        assertNotEquals(result.getBaselineTopCareer(), result.getTopCareer(), "The changes should move the top career");
+    }
+
+    @Test
+    @DisplayName("Sessions are dropped when the catalog or scoring rules change")
+    void testSessionDroppedOnCatalogOrRulesChange() {
+        WhatIfRequestDTO request = WhatIfRequestDTO.builder().subjectScores(Map.of("Mathematics", 45)).build();
+
+        // Given: a session opened by the first query and reused by the second
+        whatIfService.whatIf(REPORT_ID, request);
+        whatIfService.whatIf(REPORT_ID, request);
+        verify(reportService, times(1)).getReport(REPORT_ID);
+
+        // When: the catalog changes
+        useCatalog(generator.careers(300).toList());
+        WhatIfResultDTO result = whatIfService.whatIf(REPORT_ID, request);
+
+        // Then: the report is re-scored against the new catalog
+        verify(reportService, times(2)).getReport(REPORT_ID);
+        assertEquals(300, result.getCatalogSize());
+        assertMatchesFullScoring(stored().subjectScores(withMark("Mathematics", 45)).build(), result, "new catalog");
+
+        // When: the scoring rules are reloaded
+        scoringRulesService.reload();
+        whatIfService.whatIf(REPORT_ID, request);
+
+        // Then
+        verify(reportService, times(3)).getReport(REPORT_ID);
+    }
+
+    @Test
+    @DisplayName("Unknown reports have no what-if")
+    void testUnknownReport() {
+        assertNull(whatIfService.whatIf("missing", new WhatIfRequestDTO()));
+    }
+
+    /**
+     * Rank the changed inputs from scratch, career by career, and compare to the what-if top buckets
+     */
+    private void assertMatchesFullScoring(TestSubmissionDTO submission, WhatIfResultDTO result, String message) {
+        CareerCatalog catalog = careerService.getSnapshot().getCatalog();
+        ScoringProfile profile = scoringService.compileProfile(submission, RiasecVector.fromMap(VIBE_SCORES), catalog);
+        BucketRanking expected = new BucketRanking(catalog.getBuckets().size(), 5);
+        for (CompiledCareer career : catalog.getCareers()) {
+            expected.add(career.getBucketOrdinal(), career.getIndex(), scoringService.computeFinalScore(career, profile));
+        }
+
+        int[] order = expected.rankedBuckets(5);
+        List<WhatIfResultDTO.BucketShift> ranked = result.getBuckets().stream()
+            .filter(bucket -> bucket.getRank() != null)
+            .toList();
+        assertEquals(order.length, ranked.size(), message);
+        for (int rank = 0; rank < order.length; rank++) {
+            WhatIfResultDTO.BucketShift bucket = ranked.get(rank);
+            List<String> careers = new ArrayList<>();
+            for (int c : expected.topCareers(order[rank])) {
+                careers.add(catalog.getCareers().get(c).getCareerName());
+            }
+            assertEquals(rank + 1, bucket.getRank(), message);
+            assertEquals(catalog.getBuckets().nameOf(order[rank]), bucket.getBucketName(), message);
+            assertEquals(expected.bucketScore(order[rank]), bucket.getScore(), message);
+            assertEquals(careers, bucket.getTopCareers(), message);
+        }
+        assertEquals(ranked.get(0).getTopCareers().get(0), result.getTopCareer(), message);
+    }
+
+    /**
+     * The inputs Aisha's stored report keeps (see ScoringService.submissionOf)
+     */
+    private static TestSubmissionDTO.TestSubmissionDTOBuilder stored() {
+        return TestSubmissionDTO.builder()
+            .userName("Aisha")
+            .grade(11)
+            .board("CBSE")
+            .subjectScores(Map.of("Mathematics", 88, "Physics", 82, "Chemistry", 74,
+                "Computer Science", 60, "English", 78))
+            .extracurriculars(List.of("Robotics / Coding", "Community Service"))
+            .parentCareers(List.of("IT / Software"));
+    }
+
+    private static Map<String, Integer> withMark(String subject, int mark) {
+        Map<String, Integer> marks = new HashMap<>(stored().build().getSubjectScores());
+        marks.put(subject, mark);
+        return marks;
+    }
+
+    /**
+     * Serve the given careers as a new catalog snapshot
+     */
+    private void useCatalog(List<Career> careers) {
+        when(careerService.getSnapshot()).thenReturn(new CareerService.Snapshot(++catalogVersion, careers));
+    }
+}
@@ -0,0 +1,89 @@
+package com.naviksha.synthetic;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naviksha.dto.TestSubmissionDTO;
+import com.naviksha.model.Career;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for SyntheticDataGenerator
+ *
+ * TEST CASES:
+ * - The same seed writes byte-identical career CSV, career NDJSON and
+ *   submission NDJSON, from separately built generators
+ * - A different seed writes different catalogs and cohorts
+ * - Any record generated on its own equals the same record of the stream
+ */
+class SyntheticDataGeneratorTests {
+
+    private static final int CAREERS = 300;
+    private static final int SUBMISSIONS = 200;
+
+    @Test
+    @DisplayName("The same seed writes byte-identical output")
+    void testSameSeedIsByteIdentical() throws Exception {
+        // Given: two generators built independently from the same seed
+        SyntheticDataGenerator first = SyntheticDataCli.fromClasspath(42);
+        SyntheticDataGenerator second = SyntheticDataCli.fromClasspath(42);
+
+        // Then
+        assertEquals(careersCsv(first), careersCsv(second));
+        assertEquals(careersNdjson(first), careersNdjson(second));
+        assertEquals(submissionsNdjson(first), submissionsNdjson(second));
+    }
+
+    @Test
+    @DisplayName("A different seed writes different output")
+    void testDifferentSeedDiffers() throws Exception {
+        SyntheticDataGenerator first = SyntheticDataCli.fromClasspath(42);
+        SyntheticDataGenerator other = SyntheticDataCli.fromClasspath(43);
+
+        assertNotEquals(careersCsv(first), careersCsv(other));
+        assertNotEquals(careersNdjson(first), careersNdjson(other));
+        assertNotEquals(submissionsNdjson(first), submissionsNdjson(other));
+    }
+
+    @Test
+    @DisplayName("Any record can be generated on its own")
+    void testRandomAccessMatchesStream() throws Exception {
+        // Given
+        SyntheticDataGenerator generator = SyntheticDataCli.fromClasspath(42);
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Career> careers = generator.careers(CAREERS).toList();
+        List<TestSubmissionDTO> submissions = generator.submissions(SUBMISSIONS).toList();
+
+        // Then: backwards, so nothing depends on generation order
+        for (int i = CAREERS - 1; i >= 0; i -= 7) {
+            assertEquals(careers.get(i), generator.career(i), "career " + i);
+        }
+        for (int i = SUBMISSIONS - 1; i >= 0; i -= 7) {
+            assertEquals(objectMapper.writeValueAsString(submissions.get(i)),
+                objectMapper.writeValueAsString(generator.submission(i)), "submission " + i);
+        }
+    }
+
+    private static String careersCsv(SyntheticDataGenerator generator) throws IOException {
+        StringWriter out = new StringWriter();
+        generator.writeCareersCsv(out, CAREERS);
+        return out.toString();
+    }
+
+    private static String careersNdjson(SyntheticDataGenerator generator) throws IOException {
+        StringWriter out = new StringWriter();
+        generator.writeCareersNdjson(out, CAREERS);
+        return out.toString();
+    }
+
+    private static String submissionsNdjson(SyntheticDataGenerator generator) throws IOException {
+        StringWriter out = new StringWriter();
+        generator.writeSubmissionsNdjson(out, SUBMISSIONS);
+        return out.toString();
+    }
+}